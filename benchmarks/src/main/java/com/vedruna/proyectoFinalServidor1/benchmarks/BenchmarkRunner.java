@@ -0,0 +1,91 @@
+package com.vedruna.proyectoFinalServidor1.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Entry point of {@code benchmarks.jar}.
+ * It accepts the usual JMH command line options and, besides JMH's own JSON report
+ * ({@code jmh-result.json}), writes {@code jmh-summary.json}: one line per benchmark
+ * and parameter combination, sorted and rounded, so two runs can be compared with a
+ * plain text diff.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions options = new CommandLineOptions(args);
+        Path output = Path.of(System.getProperty("benchmarks.output", "target"));
+        Files.createDirectories(output);
+
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+        if (options.getResult().hasValue()) {
+            builder.result(options.getResult().get());
+        } else {
+            builder.result(output.resolve("jmh-result.json").toString());
+        }
+        if (!options.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        Collection<RunResult> results = new Runner(builder.build()).run();
+        writeSummary(results, output.resolve("jmh-summary.json"));
+    }
+
+    private static void writeSummary(Collection<RunResult> results, Path file) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (RunResult result : results) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("benchmark", result.getParams().getBenchmark().replace(BenchmarkRunner.class.getPackageName() + ".", ""));
+            Map<String, String> params = new TreeMap<>();
+            for (String key : result.getParams().getParamsKeys()) {
+                params.put(key, result.getParams().getParam(key));
+            }
+            row.put("params", params);
+            row.put("mode", result.getParams().getMode().shortLabel());
+            row.put("score", round(result.getPrimaryResult().getScore()));
+            row.put("error", round(result.getPrimaryResult().getScoreError()));
+            row.put("unit", result.getPrimaryResult().getScoreUnit());
+            rows.add(row);
+        }
+        rows.sort(Comparator.comparing(row -> row.get("benchmark") + " " + row.get("params")));
+
+        // Una línea por resultado: los cambios entre commits aparecen línea a línea en el diff
+        ObjectMapper mapper = new ObjectMapper();
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("[\n");
+            for (int i = 0; i < rows.size(); i++) {
+                writer.write("  " + mapper.writeValueAsString(rows.get(i)) + (i + 1 < rows.size() ? ",\n" : "\n"));
+            }
+            writer.write("]\n");
+        }
+        System.out.println("Summary written to " + file.toAbsolutePath());
+    }
+
+    // Tres cifras significativas: suficiente para comparar y sin ruido en el diff
+    private static double round(double value) {
+        if (value == 0 || Double.isNaN(value) || Double.isInfinite(value)) {
+            return Double.isFinite(value) ? value : 0;
+        }
+        return new BigDecimal(value).round(new MathContext(3)).doubleValue();
+    }
+}
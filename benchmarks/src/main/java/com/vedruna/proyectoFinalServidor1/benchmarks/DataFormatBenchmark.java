@@ -0,0 +1,109 @@
+package com.vedruna.proyectoFinalServidor1.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.vedruna.proyectoFinalServidor1.dto.ProjectDTO;
+import com.vedruna.proyectoFinalServidor1.json.DataFormats;
+import com.vedruna.proyectoFinalServidor1.json.JsonFragmentModule;
+
+/**
+ * Encoding and decoding of a page of projects in each format offered by
+ * {@code GET /api/v1/projects}: JSON, Smile, CBOR and Protobuf. Decoding reads the
+ * payload into a tree, as a generic client would. The payload sizes are reported by
+ * {@link PayloadSizes}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataFormatBenchmark {
+
+    static final String[] FORMATS = {"json", "smile", "cbor", "protobuf"};
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    String format;
+
+    @Param({"10", "100"})
+    int pageSize;
+
+    private Codec codec;
+
+    private byte[] encoded;
+
+    /**
+     * Writer, reader and value of one format, configured like the application.
+     */
+    record Codec(ObjectWriter writer, ObjectReader reader, Object payload) {
+
+        byte[] encode() throws IOException {
+            return writer.writeValueAsBytes(payload);
+        }
+    }
+
+    static Codec codec(String format, int pageSize) {
+        ObjectMapper json = builder().build();
+        DataFormats formats = new DataFormats(json, builder());
+        Page<ProjectDTO> page = Fixtures.projectPage(pageSize, 4);
+        return switch (format) {
+            case "json" -> new Codec(json.writer(), json.readerFor(JsonNode.class), page);
+            case "smile" -> new Codec(formats.smile().writer(), formats.smile().readerFor(JsonNode.class), page);
+            case "cbor" -> new Codec(formats.cbor().writer(), formats.cbor().readerFor(JsonNode.class), page);
+            case "protobuf" -> {
+                // Igual que el convertidor HTTP: la página se escribe como PagedModel
+                ProtobufSchema schema = formats.protobufSchema(formats.protobufType(new TypeReference<Page<ProjectDTO>>() {}.getType()))
+                        .orElseThrow();
+                yield new Codec(formats.protobuf().writer(schema), formats.protobuf().readerFor(JsonNode.class).with(schema),
+                        DataFormats.protobufValue(page));
+            }
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    // Los módulos y las fechas como texto de la configuración de Spring Boot
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new BlackbirdModule(), new JsonFragmentModule());
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        codec = codec(format, pageSize);
+        encoded = codec.encode();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return codec.encode();
+    }
+
+    @Benchmark
+    public JsonNode decode() throws IOException {
+        return codec.reader().readValue(encoded);
+    }
+}
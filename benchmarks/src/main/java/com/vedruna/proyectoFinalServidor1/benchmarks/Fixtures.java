@@ -0,0 +1,132 @@
+package com.vedruna.proyectoFinalServidor1.benchmarks;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.vedruna.proyectoFinalServidor1.dto.ProjectDTO;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Developer;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Project;
+import com.vedruna.proyectoFinalServidor1.persistance.model.State;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Technology;
+
+/**
+ * Deterministic in-memory entity graphs for the benchmarks.
+ * Every fixture is derived from a fixed seed, so two runs (and two commits) measure
+ * exactly the same data.
+ */
+final class Fixtures {
+
+    static final long SEED = 42;
+
+    private static final String[] WORDS = {
+        "portfolio", "api", "gestor", "tienda", "blog", "chat", "agenda", "panel",
+        "reservas", "inventario", "spring", "react", "angular", "juego", "mapa", "clima"
+    };
+
+    private static final String[] TECHNOLOGIES = {
+        "Java", "Spring", "MySQL", "React", "Angular", "Vue", "Node", "Docker",
+        "Kotlin", "Python", "Django", "PostgreSQL", "Redis", "Kafka", "TypeScript", "Go"
+    };
+
+    private Fixtures() {
+    }
+
+    static State state() {
+        State state = new State();
+        state.setId(1);
+        state.setName("Development");
+        return state;
+    }
+
+    static List<Technology> technologies(int count) {
+        List<Technology> technologies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Technology technology = new Technology();
+            technology.setId(i + 1);
+            technology.setName(technologyName(i));
+            technologies.add(technology);
+        }
+        return technologies;
+    }
+
+    static List<Developer> developers(int count) {
+        List<Developer> developers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Developer developer = new Developer();
+            developer.setId(i + 1);
+            developer.setName("Dev" + i);
+            developer.setSurname("Surname" + i);
+            developer.setEmail("dev" + i + "@example.com");
+            developer.setLinkedin_url("https://www.linkedin.com/in/dev" + i);
+            developer.setGithub_url("https://github.com/dev" + i);
+            developers.add(developer);
+        }
+        return developers;
+    }
+
+    /**
+     * Builds projects with every scalar field filled and a fixed number of
+     * technologies and developers picked from the given pools.
+     */
+    static List<Project> projects(int count, int associations, List<Technology> technologies, List<Developer> developers) {
+        Random random = new Random(SEED);
+        State state = state();
+        List<Project> projects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Project project = new Project();
+            project.setId(i + 1);
+            project.setName(projectName(random, i));
+            project.setDescription("Descripción del proyecto " + i + " con algo de texto de relleno para el JSON");
+            project.setStart_date(Date.valueOf(LocalDate.of(2020, 1, 1).plusDays(random.nextInt(1500))));
+            project.setEnd_date(Date.valueOf(LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365))));
+            project.setRepository_url("https://github.com/vedruna/project-" + i);
+            project.setDemo_url("https://project-" + i + ".example.com/demo");
+            project.setPicture("https://cdn.example.com/pictures/project-" + i + ".png");
+            project.setStateProject(state);
+            for (int a = 0; a < associations && !technologies.isEmpty(); a++) {
+                project.getTechnologies().add(technologies.get(random.nextInt(technologies.size())));
+            }
+            for (int a = 0; a < associations && !developers.isEmpty(); a++) {
+                project.getDevelopers().add(developers.get(random.nextInt(developers.size())));
+            }
+            projects.add(project);
+        }
+        return projects;
+    }
+
+    /**
+     * Builds a page of project DTOs, as returned by {@code GET /api/v1/projects}, with
+     * technologies and developers picked from pools of 16.
+     */
+    static Page<ProjectDTO> projectPage(int size, int associations) {
+        List<ProjectDTO> content = new ArrayList<>(size);
+        for (Project project : projects(size, associations, technologies(16), developers(16))) {
+            content.add(new ProjectDTO(project));
+        }
+        return new PageImpl<>(content, PageRequest.of(0, size), size * 20L);
+    }
+
+    static String technologyName(int i) {
+        return i < TECHNOLOGIES.length ? TECHNOLOGIES[i] : TECHNOLOGIES[i % TECHNOLOGIES.length] + " " + i;
+    }
+
+    // Nombres de dos o tres palabras, como los que escriben los usuarios
+    static String projectName(Random random, int i) {
+        String name = capitalize(WORDS[random.nextInt(WORDS.length)]) + " " + WORDS[random.nextInt(WORDS.length)];
+        if (random.nextBoolean()) {
+            name += " " + WORDS[random.nextInt(WORDS.length)];
+        }
+        return name + " " + i;
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
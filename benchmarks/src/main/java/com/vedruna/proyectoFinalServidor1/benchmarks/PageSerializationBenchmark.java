@@ -0,0 +1,66 @@
+package com.vedruna.proyectoFinalServidor1.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.vedruna.proyectoFinalServidor1.dto.ProjectDTO;
+import com.vedruna.proyectoFinalServidor1.json.JsonFragmentModule;
+
+/**
+ * Jackson serialization of a page of projects, as returned by
+ * {@code GET /api/v1/projects}, with the plain Jackson serializers and with the
+ * application's modules (Blackbird and the technology and developer fragments).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "100"})
+    int pageSize;
+
+    @Param({"4"})
+    int associations;
+
+    @Param({"plain", "fragments"})
+    String serializers;
+
+    private ObjectMapper mapper;
+
+    private Page<ProjectDTO> page;
+
+    @Setup
+    public void setup() {
+        // Misma configuración por defecto que el ObjectMapper de Spring Boot
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (serializers.equals("fragments")) {
+            builder.modulesToInstall(new BlackbirdModule(), new JsonFragmentModule());
+        }
+        mapper = builder.build();
+        page = Fixtures.projectPage(pageSize, associations);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(page);
+    }
+}
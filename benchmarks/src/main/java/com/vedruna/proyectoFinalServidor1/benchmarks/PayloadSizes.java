@@ -0,0 +1,54 @@
+package com.vedruna.proyectoFinalServidor1.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes the size of a page of projects in each format of {@link DataFormatBenchmark},
+ * raw and gzipped (as sent with {@code Content-Encoding: gzip}), to
+ * {@code payload-sizes.json}.
+ */
+public class PayloadSizes {
+
+    public static void main(String[] args) throws IOException {
+        Path output = Path.of(System.getProperty("benchmarks.output", "target"));
+        Files.createDirectories(output);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int pageSize : new int[] {10, 100}) {
+            int json = 0;
+            for (String format : DataFormatBenchmark.FORMATS) {
+                byte[] payload = DataFormatBenchmark.codec(format, pageSize).encode();
+                json = format.equals("json") ? payload.length : json;
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("format", format);
+                row.put("pageSize", pageSize);
+                row.put("bytes", payload.length);
+                row.put("gzipBytes", gzip(payload).length);
+                row.put("ratioToJson", Math.round(1000.0 * payload.length / json) / 1000.0);
+                rows.add(row);
+                System.out.printf("%-9s %4d projects: %7d bytes, %6d gzipped%n", format, pageSize, payload.length, (int) row.get("gzipBytes"));
+            }
+        }
+        Path file = output.resolve("payload-sizes.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), rows);
+        System.out.println("Payload sizes written to " + file.toAbsolutePath());
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,54 @@
+package com.vedruna.proyectoFinalServidor1.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vedruna.proyectoFinalServidor1.dto.ProjectDTO;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Project;
+
+/**
+ * Cost of building a {@link ProjectDTO} from a fully loaded entity graph, with a
+ * growing number of technologies and developers per project.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectDTOBenchmark {
+
+    // Tecnologías y desarrolladores asociados a cada proyecto
+    @Param({"0", "4", "32"})
+    int associations;
+
+    private Project project;
+
+    @Setup
+    public void setup() {
+        List<Project> projects = Fixtures.projects(1, associations, Fixtures.technologies(64), Fixtures.developers(64));
+        project = projects.get(0);
+    }
+
+    @Benchmark
+    public ProjectDTO withState() {
+        return new ProjectDTO(project);
+    }
+
+    @Benchmark
+    public ProjectDTO withResolvedStateName() {
+        return new ProjectDTO(project, "Development");
+    }
+}
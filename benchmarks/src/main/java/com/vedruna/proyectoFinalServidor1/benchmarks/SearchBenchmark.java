@@ -0,0 +1,94 @@
+package com.vedruna.proyectoFinalServidor1.benchmarks;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vedruna.proyectoFinalServidor1.events.ProjectSavedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLink;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologySavedEvent;
+import com.vedruna.proyectoFinalServidor1.index.ProjectNameIndex;
+import com.vedruna.proyectoFinalServidor1.index.TechnologyBitmapIndex;
+
+/**
+ * The in-memory search paths behind {@code /projects/name/{name}} and
+ * {@code /projects/tec/{tech}}: trigram name lookups and technology bitmap filters.
+ * The indexes are filled through their event listeners, so no database is involved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final int TECHNOLOGIES = 32;
+
+    @Param({"1000", "100000"})
+    int projects;
+
+    private final ProjectNameIndex nameIndex = new ProjectNameIndex();
+
+    private final TechnologyBitmapIndex technologyIndex = new TechnologyBitmapIndex();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(Fixtures.SEED);
+        for (int t = 0; t < TECHNOLOGIES; t++) {
+            technologyIndex.onTechnologySaved(new TechnologySavedEvent(t + 1, Fixtures.technologyName(t)));
+        }
+        List<TechnologyLink> links = new ArrayList<>();
+        for (int id = 1; id <= projects; id++) {
+            String name = Fixtures.projectName(random, id);
+            nameIndex.put(id, name);
+            technologyIndex.onProjectSaved(new ProjectSavedEvent(id, name));
+            // Distribución sesgada: las primeras tecnologías son las más usadas
+            for (int a = 0; a < 4; a++) {
+                int technology = (int) (TECHNOLOGIES * Math.pow(random.nextDouble(), 2));
+                links.add(new TechnologyLink(technology + 1, id));
+            }
+        }
+        technologyIndex.onTechnologyLinksAdded(new TechnologyLinksAddedEvent(links));
+    }
+
+    @Benchmark
+    public List<Integer> nameShortQuery() {
+        return nameIndex.search("ap");
+    }
+
+    @Benchmark
+    public List<Integer> nameCommonWord() {
+        return nameIndex.search("portfolio");
+    }
+
+    @Benchmark
+    public List<Integer> nameSelective() {
+        return nameIndex.search("reservas mapa");
+    }
+
+    @Benchmark
+    public BitSet technologySingle() {
+        return technologyIndex.filter(List.of("Java"), List.of(), List.of());
+    }
+
+    @Benchmark
+    public BitSet technologyCombined() {
+        return technologyIndex.filter(List.of("Java", "Spring"), List.of("MySQL", "PostgreSQL"), List.of("Docker"));
+    }
+}
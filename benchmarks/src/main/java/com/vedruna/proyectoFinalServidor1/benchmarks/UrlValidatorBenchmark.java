@@ -0,0 +1,52 @@
+package com.vedruna.proyectoFinalServidor1.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vedruna.proyectoFinalServidor1.validation.UrlValidator;
+
+/**
+ * Cost of {@link UrlValidator#isValid} on typical accepted and rejected values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UrlValidatorBenchmark {
+
+    @Param({"repository", "demo", "long", "invalid"})
+    String kind;
+
+    private final UrlValidator validator = new UrlValidator();
+
+    private String url;
+
+    @Setup
+    public void setup() {
+        url = switch (kind) {
+            case "repository" -> "https://github.com/javierpolorivas/ProyectoFinalServidor1";
+            case "demo" -> "http://demo.example.com";
+            case "long" -> "https://cdn.example.com/assets/images/projects/2024/portfolio/screenshot-final.png?size=large&v=3#top";
+            case "invalid" -> "ftp://github.com/javierpolorivas/ProyectoFinalServidor1";
+            default -> throw new IllegalArgumentException("Unknown kind: " + kind);
+        };
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(url, null);
+    }
+}
@@ -0,0 +1,111 @@
+package com.vedruna.proyectoFinalServidor1.cache;
+
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLink;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLinksRemovedEvent;
+import com.vedruna.proyectoFinalServidor1.events.DevelopersDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectSavedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectsDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologiesDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLink;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksRemovedEvent;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Developer;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Project;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Technology;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps the second-level cache consistent with writes Hibernate cannot see.
+ * {@code Project.technologies} and {@code Project.developers} are the inverse sides of
+ * their associations, so Hibernate never refreshes their cached entries; JDBC imports and
+ * native association inserts bypass it completely. Entries are evicted after commit.
+ */
+@Component
+public class SecondLevelCacheInvalidator {
+
+    static final String PROJECT_TECHNOLOGIES = Project.class.getName() + ".technologies";
+    static final String PROJECT_DEVELOPERS = Project.class.getName() + ".developers";
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologyLinksAdded(TechnologyLinksAddedEvent event) {
+        Cache cache = cache();
+        for (TechnologyLink link : event.links()) {
+            cache.evictCollectionData(PROJECT_TECHNOLOGIES, link.projectId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperLinksAdded(DeveloperLinksAddedEvent event) {
+        Cache cache = cache();
+        for (DeveloperLink link : event.links()) {
+            cache.evictCollectionData(PROJECT_DEVELOPERS, link.projectId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologyLinksRemoved(TechnologyLinksRemovedEvent event) {
+        Cache cache = cache();
+        for (TechnologyLink link : event.links()) {
+            cache.evictCollectionData(PROJECT_TECHNOLOGIES, link.projectId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperLinksRemoved(DeveloperLinksRemovedEvent event) {
+        Cache cache = cache();
+        for (DeveloperLink link : event.links()) {
+            cache.evictCollectionData(PROJECT_DEVELOPERS, link.projectId());
+        }
+    }
+
+    // Los proyectos afectados no se conocen sin consultar: se vacía la región de la colección
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologiesDeleted(TechnologiesDeletedEvent event) {
+        Cache cache = cache();
+        for (Integer technologyId : event.technologyIds()) {
+            cache.evictEntityData(Technology.class, technologyId);
+        }
+        cache.evictCollectionData(PROJECT_TECHNOLOGIES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDevelopersDeleted(DevelopersDeletedEvent event) {
+        Cache cache = cache();
+        for (Integer developerId : event.developerIds()) {
+            cache.evictEntityData(Developer.class, developerId);
+        }
+        cache.evictCollectionData(PROJECT_DEVELOPERS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectSaved(ProjectSavedEvent event) {
+        evictProject(cache(), event.projectId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectsDeleted(ProjectsDeletedEvent event) {
+        Cache cache = cache();
+        for (Integer projectId : event.projectIds()) {
+            evictProject(cache, projectId);
+        }
+    }
+
+    private static void evictProject(Cache cache, int projectId) {
+        cache.evictCollectionData(PROJECT_TECHNOLOGIES, projectId);
+        cache.evictCollectionData(PROJECT_DEVELOPERS, projectId);
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+}
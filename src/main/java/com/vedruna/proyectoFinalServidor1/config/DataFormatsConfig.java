@@ -0,0 +1,54 @@
+package com.vedruna.proyectoFinalServidor1.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.vedruna.proyectoFinalServidor1.json.DataFormats;
+import com.vedruna.proyectoFinalServidor1.json.ProtobufJacksonHttpMessageConverter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Offers CBOR, Smile and Protobuf responses, chosen with the {@code Accept} header.
+ * The converters go after the JSON one, so clients that accept anything still get JSON.
+ * API responses carry {@code Vary: Accept}, so caches keep one copy per format, and the
+ * ETags carry the negotiated format (see {@link DataFormats#etagSuffix}), so a validator
+ * of one representation never revalidates another.
+ */
+@Configuration
+public class DataFormatsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    DataFormats dataFormats;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Los convertidores por defecto de Spring usan un ObjectMapper sin la configuración de Spring Boot
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(dataFormats.cbor()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(dataFormats.smile()));
+        converters.add(new ProtobufJacksonHttpMessageConverter(dataFormats));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,26 @@
+package com.vedruna.proyectoFinalServidor1.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Jackson modules added to the application's {@code ObjectMapper}.
+ * Spring Boot registers every {@code Module} bean; the fragment module is a component
+ * of its own package.
+ */
+@Configuration
+public class JsonConfig {
+
+    /**
+     * Replaces the reflective getter calls of the bean serializers and deserializers with
+     * generated lambdas, without changing their output.
+     *
+     * @return the Blackbird module
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
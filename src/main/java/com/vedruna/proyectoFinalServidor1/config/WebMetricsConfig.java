@@ -0,0 +1,23 @@
+package com.vedruna.proyectoFinalServidor1.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.vedruna.proyectoFinalServidor1.metrics.QueryBudgetInterceptor;
+
+/**
+ * Registers the per-request Hibernate metrics for the API endpoints.
+ */
+@Configuration
+public class WebMetricsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    QueryBudgetInterceptor queryBudgetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,43 @@
+// Paquete donde reside este controlador, encargado de exponer el estado de la caché de segundo nivel.
+package com.vedruna.proyectoFinalServidor1.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.vedruna.proyectoFinalServidor1.dto.CacheRegionStatsDTO;
+import com.vedruna.proyectoFinalServidor1.dto.ResponseDTO;
+import com.vedruna.proyectoFinalServidor1.services.CacheServiceI;
+
+@RestController // Indica que esta clase manejará las solicitudes HTTP y devolverá respuestas JSON.
+@RequestMapping("/api/v1") // Mapea todas las solicitudes bajo el prefijo /api/v1.
+@CrossOrigin // Permite peticiones desde diferentes orígenes.
+public class CacheController {
+
+    @Autowired // Inyección del servicio de la caché de segundo nivel.
+    private CacheServiceI cacheService;
+
+    /**
+     * Obtiene los aciertos, fallos e inserciones de cada región de la caché.
+     *
+     * @return la lista de estadísticas por región.
+     */
+    @GetMapping("/cache/stats")
+    public List<CacheRegionStatsDTO> getCacheStats() {
+        return cacheService.regionStatistics();
+    }
+
+    /**
+     * Vacía todas las regiones de la caché, por ejemplo después de modificar la base
+     * de datos fuera de la aplicación.
+     *
+     * @return una respuesta con un mensaje de éxito.
+     */
+    @DeleteMapping("/cache")
+    public ResponseEntity<ResponseDTO<String>> evictCache() {
+        cacheService.evictAll();
+        return ResponseEntity.ok(new ResponseDTO<>("Cache cleared", null));
+    }
+}
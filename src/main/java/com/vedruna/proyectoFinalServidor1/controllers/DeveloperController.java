@@ -2,16 +2,27 @@
 package com.vedruna.proyectoFinalServidor1.controllers;
 
 // Importaciones necesarias para el controlador y los servicios que utiliza
+import java.io.InputStream;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired; 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity; 
 import org.springframework.web.bind.annotation.*; 
 
+import com.vedruna.proyectoFinalServidor1.dto.AssociationResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.DeveloperDTO;
+import com.vedruna.proyectoFinalServidor1.dto.ImportReportDTO;
 import com.vedruna.proyectoFinalServidor1.dto.ResponseDTO; 
+import com.vedruna.proyectoFinalServidor1.index.DeveloperCollaborationGraph;
 import com.vedruna.proyectoFinalServidor1.persistance.model.Developer; 
-import com.vedruna.proyectoFinalServidor1.persistance.model.Project; 
 import com.vedruna.proyectoFinalServidor1.services.DeveloperServiceI; 
-import com.vedruna.proyectoFinalServidor1.services.ProjectServiceI; 
+import com.vedruna.proyectoFinalServidor1.services.ImportServiceI;
+
+import reactor.core.publisher.Flux;
 
 // Indica que esta clase es un controlador REST y manejará peticiones HTTP
 @RestController
@@ -25,9 +36,20 @@ public class DeveloperController {
     @Autowired
     private DeveloperServiceI developerService;
 
-    // Inyección del servicio para manejar la lógica de negocio de los proyectos
+    // Inyección del servicio de importación masiva
     @Autowired
-    private ProjectServiceI projectService;
+    private ImportServiceI importService;
+
+    /**
+     * Emite todos los desarrolladores como NDJSON o como Server-Sent Events según la cabecera Accept.
+     *
+     * @return Flux con los desarrolladores ordenados por ID
+     */
+    @GetMapping(value = "/developers/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<DeveloperDTO> streamDevelopers() {
+        // Lectura reactiva por lotes, al ritmo del cliente
+        return developerService.streamDevelopers();
+    }
 
     /**
      * Maneja la creación de un nuevo desarrollador.
@@ -47,6 +69,19 @@ public class DeveloperController {
                 .body(response);
     }
 
+    /**
+     * Importa desarrolladores de forma masiva desde un array JSON o un cuerpo NDJSON.
+     *
+     * @param body El cuerpo de la petición con los desarrolladores
+     * @return ResponseEntity con el informe de la importación y el estado HTTP 200 (OK)
+     */
+    @PostMapping(value = "/developers/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ResponseDTO<ImportReportDTO>> importDevelopers(InputStream body) {
+        // Importa los desarrolladores por lotes; los errores se informan registro a registro
+        ImportReportDTO report = importService.importDevelopers(body);
+        return ResponseEntity.ok(new ResponseDTO<>("Import finished", report));
+    }
+
     /**
      * Maneja la eliminación de un desarrollador por su ID.
      *
@@ -68,6 +103,19 @@ public class DeveloperController {
         return ResponseEntity.status(HttpStatus.OK).body(response); // Cambié NO_CONTENT por OK
     }
 
+    /**
+     * Maneja la eliminación de varios desarrolladores, por IDs o por un filtro de nombre.
+     *
+     * @param request Los IDs de los desarrolladores a eliminar o el filtro
+     * @return ResponseEntity con los IDs eliminados, los IDs pedidos que no existen y el estado HTTP 200 (OK)
+     */
+    @DeleteMapping("/developers")
+    public ResponseEntity<ResponseDTO<BulkDeleteResultDTO>> deleteDevelopers(@RequestBody BulkDeleteDTO request) {
+        // Borra las asociaciones y los desarrolladores con sentencias por conjuntos
+        BulkDeleteResultDTO result = developerService.deleteDevelopers(request);
+        return ResponseEntity.ok(new ResponseDTO<>("Developers successfully removed", result));
+    }
+
     /**
      * Asocia un desarrollador a un proyecto.
      *
@@ -77,33 +125,75 @@ public class DeveloperController {
      */
     @PostMapping("/developers/worked/{developerId}/{projectId}")
     public ResponseEntity<?> addDeveloperToProject(@PathVariable int developerId, @PathVariable int projectId) {
-        // Busca el desarrollador por su ID utilizando el servicio
-        Developer developer = developerService.findById(developerId);
-        // Busca el proyecto por su ID utilizando el servicio
-        Project project = projectService.findById(projectId);
-
-        // Si no se encuentra el desarrollador, devuelve una respuesta de error
-        if (developer == null) {
-            return ResponseEntity.badRequest().body("Developer not found");
-        }
-
-        // Si no se encuentra el proyecto, devuelve una respuesta de error
-        if (project == null) {
+        // Inserta la fila de la relación solo si no existía; el servicio comprueba que el proyecto existe
+        AssociationResultDTO result;
+        try {
+            result = developerService.associateDevelopersWithProject(projectId, List.of(developerId));
+        } catch (IllegalArgumentException e) {
+            // Si no se encuentra el proyecto, devuelve una respuesta de error
             return ResponseEntity.badRequest().body("Project not found");
         }
 
-        // Verifica si el desarrollador ya está asociado al proyecto
-        if (!project.getDevelopers().contains(developer)) {
-            // Si no está asociado, lo agrega a la lista de desarrolladores del proyecto
-            project.getDevelopers().add(developer);
-            // También agrega el proyecto a la lista de proyectos del desarrollador
-            developer.getProjectsDevelopers().add(project);
-            // Guarda los cambios en ambos objetos utilizando los servicios
-            projectService.saveProject(project);
-            developerService.saveDeveloper(developer);
+        // Si no se encuentra el desarrollador, devuelve una respuesta de error
+        if (!result.getNotFound().isEmpty()) {
+            return ResponseEntity.badRequest().body("Developer not found");
         }
 
         // Devuelve una respuesta indicando que la operación fue exitosa
         return ResponseEntity.ok("Developer added to project");
     }
+
+    /**
+     * Asocia varios desarrolladores a un proyecto con una única inserción idempotente.
+     *
+     * @param projectId El ID del proyecto al que se asociarán los desarrolladores
+     * @param developerIds Los IDs de los desarrolladores, recibidos como array JSON
+     * @return ResponseEntity con los IDs añadidos, los ya asociados y los inexistentes
+     */
+    @PostMapping("/developers/worked/{projectId}")
+    public ResponseEntity<ResponseDTO<AssociationResultDTO>> addDevelopersToProject(@PathVariable int projectId, @RequestBody List<Integer> developerIds) {
+        AssociationResultDTO result = developerService.associateDevelopersWithProject(projectId, developerIds);
+        return ResponseEntity.ok(new ResponseDTO<>("Developers associated with project", result));
+    }
+
+    /**
+     * Obtiene los desarrolladores que han trabajado en algún proyecto con un desarrollador.
+     * Se leen del grafo de colaboraciones en memoria, sin consultar la base de datos.
+     *
+     * @param id El ID del desarrollador
+     * @return ResponseEntity con los colaboradores ordenados por ID y el número de proyectos compartidos
+     */
+    @GetMapping("/developers/{id}/collaborators")
+    public ResponseEntity<ResponseDTO<List<DeveloperCollaborationGraph.Collaborator>>> getCollaborators(@PathVariable int id) {
+        return ResponseEntity.ok(new ResponseDTO<>("Collaborators of developer " + id, developerService.findCollaborators(id)));
+    }
+
+    /**
+     * Obtiene los desarrolladores que más proyectos comparten con un desarrollador.
+     *
+     * @param id El ID del desarrollador
+     * @param limit El número máximo de colaboradores a devolver (10 por defecto, hasta 100)
+     * @return ResponseEntity con los colaboradores ordenados por proyectos compartidos
+     */
+    @GetMapping("/developers/{id}/collaborators/top")
+    public ResponseEntity<ResponseDTO<List<DeveloperCollaborationGraph.Collaborator>>> getTopCollaborators(@PathVariable int id,
+            @RequestParam(defaultValue = "10") int limit) {
+        // Un límite fuera de rango se responde con un 400 en ExceptionController
+        return ResponseEntity.ok(new ResponseDTO<>("Top collaborators of developer " + id, developerService.findTopCollaborators(id, limit)));
+    }
+
+    /**
+     * Busca la cadena de colaboraciones más corta entre dos desarrolladores: cada uno ha
+     * trabajado en algún proyecto con el siguiente.
+     *
+     * @param id El ID del primer desarrollador
+     * @param otherId El ID del último desarrollador
+     * @return ResponseEntity con los IDs de la cadena, o 404 si los desarrolladores no están conectados
+     */
+    @GetMapping("/developers/{id}/path/{otherId}")
+    public ResponseEntity<ResponseDTO<List<Integer>>> getCollaborationPath(@PathVariable int id, @PathVariable int otherId) {
+        return developerService.findCollaborationPath(id, otherId)
+                .map(path -> ResponseEntity.ok(new ResponseDTO<>("Collaboration path", path)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ResponseDTO<>("Developers are not connected", null)));
+    }
 }
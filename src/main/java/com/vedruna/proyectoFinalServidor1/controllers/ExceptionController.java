@@ -2,12 +2,16 @@
 package com.vedruna.proyectoFinalServidor1.controllers;
 
 // Importaciones necesarias para manejar excepciones y construir respuestas HTTP
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.vedruna.proyectoFinalServidor1.dto.ResponseDTO;
+import com.vedruna.proyectoFinalServidor1.exceptions.PreconditionFailedException;
 
 /**
  * Clase controladora global para el manejo de excepciones.
@@ -16,6 +20,8 @@ import com.vedruna.proyectoFinalServidor1.dto.ResponseDTO;
 @RestControllerAdvice
 public class ExceptionController {
 
+    private static final Logger log = LoggerFactory.getLogger(ExceptionController.class);
+
     /**
      * Maneja excepciones específicas de tipo `IllegalArgumentException`.
      *
@@ -30,6 +36,30 @@ public class ExceptionController {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response); 
     }
 
+    /**
+     * Maneja las peticiones condicionales cuyo If-Match no coincide con la versión actual.
+     *
+     * @param ex La excepción `PreconditionFailedException` lanzada por el servicio.
+     * @return ResponseEntity con un mensaje de error y el estado HTTP 412 (Precondition Failed).
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ResponseDTO<String>> handlePreconditionFailedException(PreconditionFailedException ex) {
+        ResponseDTO<String> response = new ResponseDTO<>("Precondition Failed", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+    }
+
+    /**
+     * Maneja las peticiones cuya cabecera Accept no admite ningún formato disponible para
+     * la respuesta, por ejemplo Protobuf en un endpoint que devuelve una lista.
+     *
+     * @param ex La excepción `HttpMediaTypeNotAcceptableException` lanzada al elegir el formato.
+     * @return ResponseEntity sin cuerpo (no hay formato aceptable) y el estado HTTP 406 (Not Acceptable).
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> handleHttpMediaTypeNotAcceptableException(HttpMediaTypeNotAcceptableException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+
     /**
      * Maneja excepciones generales (de tipo `Exception`).
      * Este método es un mecanismo de respaldo para capturar errores no específicos.
@@ -39,6 +69,7 @@ public class ExceptionController {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ResponseDTO<String>> handleGeneralException(Exception ex) {
+        log.error("Unexpected error", ex); // Registra la traza completa, que no se devuelve al cliente
         // Crea un objeto de respuesta con un mensaje de error genérico
         ResponseDTO<String> response = new ResponseDTO<>(
             "Internal Server Error", // Título del error
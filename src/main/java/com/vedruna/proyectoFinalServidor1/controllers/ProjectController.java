@@ -2,54 +2,152 @@
 package com.vedruna.proyectoFinalServidor1.controllers;
 
 // Importaciones necesarias para trabajar con datos, servicios y validación.
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.CursorPageDTO;
+import com.vedruna.proyectoFinalServidor1.dto.ImportReportDTO;
 import com.vedruna.proyectoFinalServidor1.dto.ProjectDTO;
 import com.vedruna.proyectoFinalServidor1.dto.ResponseDTO;
+import com.vedruna.proyectoFinalServidor1.dto.StateTransitionDTO;
+import com.vedruna.proyectoFinalServidor1.dto.StateTransitionResultDTO;
+import com.vedruna.proyectoFinalServidor1.json.DataFormats;
 import com.vedruna.proyectoFinalServidor1.persistance.model.Project;
+import com.vedruna.proyectoFinalServidor1.services.ImportServiceI;
 import com.vedruna.proyectoFinalServidor1.services.ProjectServiceI;
 
 import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
 
 @RestController // Indica que esta clase manejará las solicitudes HTTP y devolverá respuestas JSON.
 @RequestMapping("/api/v1") // Mapea todas las solicitudes bajo el prefijo /api/v1.
 @CrossOrigin // Permite peticiones desde diferentes orígenes (habilitado por si se usa en un entorno con frontend separado).
 public class ProjectController {
 
+    private static final Logger log = LoggerFactory.getLogger(ProjectController.class);
+
     @Autowired // Inyección de dependencia para el servicio de proyectos.
     private ProjectServiceI projectService; // Instancia del servicio de proyectos.
 
+    @Autowired // Inyección de dependencia para el servicio de importación masiva.
+    private ImportServiceI importService;
+
     /**
      * Obtiene todos los proyectos con soporte de paginación.
      *
      * @param page el número de la página (por defecto 0).
      * @param size el tamaño de la página (por defecto 3).
-     * @return una lista de proyectos paginada.
+     * @param request la petición, usada para comprobar la cabecera If-None-Match.
+     * @return una lista de proyectos paginada, o 304 si el cliente ya tiene esta versión.
      */
     @GetMapping("/projects")
     public Page<ProjectDTO> getAllProjects(
         @RequestParam(defaultValue = "0") int page,  // Página predeterminada es 0.
-        @RequestParam(defaultValue = "3") int size // Tamaño predeterminado de la página es 3.
+        @RequestParam(defaultValue = "3") int size, // Tamaño predeterminado de la página es 3.
+        WebRequest request
     ) {
+        MediaType format = DataFormats.responseFormat(request.getHeader(HttpHeaders.ACCEPT)); // Cada formato tiene su ETag.
+        if (request.checkNotModified(projectService.projectsETag(page, size, format))) {
+            return null; // 304 Not Modified sin consultar la base de datos.
+        }
         return projectService.showAllProjects(page, size); // Llama al servicio para obtener los proyectos.
     }
 
+    /**
+     * Obtiene los proyectos usando paginación por cursor.
+     * Cada respuesta incluye el cursor de la siguiente página, por lo que las páginas
+     * profundas cuestan lo mismo que la primera.
+     *
+     * @param after el cursor devuelto por la página anterior (vacío para la primera).
+     * @param size el tamaño de la página, entre 1 y 100 (por defecto 3).
+     * @param withTotal si se incluye el total aproximado de proyectos.
+     * @return la página de proyectos con el cursor siguiente.
+     */
+    @GetMapping("/projects/cursor")
+    public CursorPageDTO<ProjectDTO> getProjectsAfter(
+        @RequestParam(required = false) String after, // Cursor opaco de la página anterior.
+        @RequestParam(defaultValue = "3") int size, // Tamaño predeterminado de la página es 3.
+        @RequestParam(defaultValue = "false") boolean withTotal // El total sale de la caché, no de un count(*).
+    ) {
+        return projectService.showProjectsAfter(after, size, withTotal); // Llama al servicio para obtener la página.
+    }
+
+    /**
+     * Exporta todos los proyectos con sus tecnologías, desarrolladores y estado
+     * en formato NDJSON (un objeto JSON por línea) o, según la cabecera Accept, como
+     * secuencia CBOR, valores Smile consecutivos o mensajes Protobuf precedidos de su
+     * longitud. La respuesta se escribe por lotes según se leen de la base de datos,
+     * sin cargar toda la tabla en memoria.
+     *
+     * @param accept la cabecera Accept de la petición.
+     * @return el flujo con todos los proyectos.
+     */
+    @GetMapping(value = "/projects/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, DataFormats.CBOR_SEQ_VALUE,
+        DataFormats.SMILE_VALUE, DataFormats.PROTOBUF_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportProjects(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType format = DataFormats.exportFormat(accept); // NDJSON si el cliente acepta cualquier formato.
+        StreamingResponseBody body = out -> projectService.exportProjects(out, format); // Se ejecuta al escribir la respuesta.
+        return ResponseEntity.ok().contentType(format).body(body);
+    }
+
+    /**
+     * Emite todos los proyectos como NDJSON o como Server-Sent Events según la cabecera Accept.
+     * Se leen con R2DBC por lotes y solo al ritmo al que el cliente consume la respuesta.
+     *
+     * @return el flujo de proyectos ordenado por ID.
+     */
+    @GetMapping(value = "/projects/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<ProjectDTO> streamProjects() {
+        return projectService.streamProjects(); // Cada lote se consulta cuando el anterior se ha enviado.
+    }
+
+    /**
+     * Busca proyectos cuyo nombre contiene el texto indicado, ordenados por relevancia.
+     *
+     * @param name el texto a buscar en el nombre de los proyectos.
+     * @param page el número de la página (por defecto 0).
+     * @param size el tamaño de la página (por defecto 3).
+     * @return una lista paginada de los proyectos encontrados.
+     */
+    @GetMapping("/projects/search")
+    public Page<ProjectDTO> searchProjects(
+        @RequestParam String name, // Texto a buscar en el nombre.
+        @RequestParam(defaultValue = "0") int page,  // Página predeterminada es 0.
+        @RequestParam(defaultValue = "3") int size // Tamaño predeterminado de la página es 3.
+    ) {
+        return projectService.searchProjectsByName(name, page, size); // Llama al servicio para buscar en el índice.
+    }
+
     /**
      * Obtiene un proyecto por su nombre.
      *
      * @param name el nombre del proyecto.
-     * @return el proyecto encontrado o un 404 si no se encuentra.
+     * @param request la petición, usada para comprobar la cabecera If-None-Match.
+     * @return el proyecto encontrado, 304 si el cliente ya tiene esta versión o un 404 si no se encuentra.
      */
     @GetMapping("/projects/{name}")
-    public ResponseEntity<ResponseDTO<ProjectDTO>> showProjectByName(@PathVariable String name) {
+    public ResponseEntity<ResponseDTO<ProjectDTO>> showProjectByName(@PathVariable String name, WebRequest request) {
+        String etag = projectService.projectETag(name, DataFormats.responseFormat(request.getHeader(HttpHeaders.ACCEPT))); // Versión calculada en memoria.
+        if (etag != null && request.checkNotModified(etag)) {
+            return null; // 304 Not Modified sin consultar la base de datos.
+        }
         ProjectDTO project = projectService.showProjectByName(name); // Llama al servicio para obtener el proyecto.
         ResponseDTO<ProjectDTO> response = new ResponseDTO<>("Project found successfully", project); // Crea una respuesta con el proyecto.
         return ResponseEntity.ok(response); // Devuelve el proyecto con estado HTTP 200.
@@ -90,6 +188,20 @@ public class ProjectController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response); // Devuelve estado 201 con mensaje de éxito.
     }
 
+    /**
+     * Importa proyectos de forma masiva desde un array JSON o un cuerpo NDJSON.
+     * Los registros erróneos se informan uno a uno sin deshacer el resto del fichero;
+     * como al crear un proyecto, se rechazan las fechas de inicio anteriores a hoy.
+     *
+     * @param body el cuerpo de la petición con los proyectos.
+     * @return un informe con los registros importados y los errores.
+     */
+    @PostMapping(value = "/projects/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ResponseDTO<ImportReportDTO>> importProjects(InputStream body) {
+        ImportReportDTO report = importService.importProjects(body); // Llama al servicio para importar los proyectos.
+        return ResponseEntity.ok(new ResponseDTO<>("Import finished", report)); // Devuelve el informe con estado HTTP 200.
+    }
+
     /**
      * Elimina un proyecto.
      *
@@ -106,6 +218,19 @@ public class ProjectController {
         return ResponseEntity.status(HttpStatus.OK).body(response); // Devuelve estado 200 con el mensaje.
     }
 
+    /**
+     * Elimina varios proyectos de una vez, por IDs o por un filtro (nombre, estado y/o tecnologías).
+     * Las tablas de unión y los proyectos se borran con una sentencia DELETE cada una.
+     *
+     * @param request los IDs de los proyectos a eliminar o el filtro.
+     * @return una respuesta con los IDs eliminados y los IDs pedidos que no existen.
+     */
+    @DeleteMapping("/projects")
+    public ResponseEntity<ResponseDTO<BulkDeleteResultDTO>> deleteProjects(@RequestBody BulkDeleteDTO request) {
+        BulkDeleteResultDTO result = projectService.deleteProjects(request); // Borrado por conjuntos.
+        return ResponseEntity.ok(new ResponseDTO<>("Projects deleted successfully", result)); // Devuelve estado 200 con el resultado.
+    }
+
     /**
      * Actualiza un proyecto existente.
      *
@@ -139,6 +264,30 @@ public class ProjectController {
         return ResponseEntity.status(HttpStatus.OK).body(response); // Devuelve estado 200 con el proyecto actualizado.
     }
 
+    /**
+     * Modifica parcialmente un proyecto con un JSON Merge Patch (RFC 7396).
+     * Solo se escriben las columnas presentes en el documento; las tecnologías y los
+     * desarrolladores solo se tocan si el documento los incluye.
+     *
+     * @param id el ID del proyecto a modificar.
+     * @param patch el documento merge patch.
+     * @param ifMatch el ETag que debe tener el proyecto para aplicar el cambio (opcional).
+     * @param accept la cabecera Accept de la petición, que decide el formato del nuevo ETag.
+     * @return una respuesta con el nuevo ETag, 404 si no existe o 412 si el ETag no coincide.
+     */
+    @PatchMapping(value = "/projects/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ResponseDTO<Object>> patchProject(@PathVariable int id, @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        boolean projectPatched = projectService.patchProject(id, patch, ifMatch); // Una única sentencia UPDATE con las columnas enviadas.
+        if (!projectPatched) { // Si el proyecto no existe.
+            ResponseDTO<Object> response = new ResponseDTO<>("Error", "There isn't any project with the ID: " + id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        ResponseDTO<Object> response = new ResponseDTO<>("Project patched successfully", null);
+        return ResponseEntity.ok().eTag(projectService.projectETagById(id, DataFormats.responseFormat(accept))).body(response); // Devuelve el nuevo ETag.
+    }
+
     /**
      * Mueve un proyecto al estado de prueba.
      *
@@ -157,6 +306,7 @@ public class ProjectController {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("No projects were moved to testing"); // Si no se movió el proyecto.
             }
         } catch (Exception e) {
+            log.error("Error moving project {} to testing", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error occurred while moving projects to testing: " + e.getMessage()); // Si hay error en el proceso.
         }
     }
@@ -179,10 +329,51 @@ public class ProjectController {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("No projects were moved to testing"); // Si no se movió el proyecto.
             }
         } catch (Exception e) {
+            log.error("Error moving project {} to production", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error occurred while moving projects to production: " + e.getMessage()); // Si hay error en el proceso.
         }
     }
 
+    /**
+     * Mueve varios proyectos a otro estado con una única sentencia UPDATE.
+     * El cuerpo indica el estado destino y, o bien los IDs de los proyectos, o bien un
+     * filtro, por ejemplo {@code {"state":"Production","fromState":"Testing"}}.
+     *
+     * @param request el estado destino y los proyectos a mover.
+     * @return una respuesta con los IDs movidos y los que no existen.
+     */
+    @PatchMapping("/projects/state")
+    public ResponseEntity<ResponseDTO<StateTransitionResultDTO>> changeProjectsState(@RequestBody StateTransitionDTO request) {
+        StateTransitionResultDTO result = projectService.changeProjectsState(request); // Los errores de validación los convierte en 400 ExceptionController.
+        return ResponseEntity.ok(new ResponseDTO<>("Projects state changed", result));
+    }
+
+    /**
+     * Filtra proyectos combinando tecnologías, por ejemplo
+     * {@code /projects/tec?all=Java,Spring&none=Angular}.
+     *
+     * @param all tecnologías que deben usar todos los proyectos.
+     * @param any tecnologías de las que cada proyecto debe usar al menos una.
+     * @param none tecnologías que no puede usar ningún proyecto.
+     * @param page el número de la página (por defecto 0).
+     * @param size el tamaño de la página (por defecto 3).
+     * @return una lista paginada de los proyectos que cumplen el filtro.
+     */
+    @GetMapping("/projects/tec")
+    public Page<ProjectDTO> filterProjectsByTechnologies(
+        @RequestParam(required = false) List<String> all, // Condición AND.
+        @RequestParam(required = false) List<String> any, // Condición OR.
+        @RequestParam(required = false) List<String> none, // Condición NOT.
+        @RequestParam(defaultValue = "0") int page,  // Página predeterminada es 0.
+        @RequestParam(defaultValue = "3") int size // Tamaño predeterminado de la página es 3.
+    ) {
+        return projectService.filterProjectsByTechnologies( // Llama al servicio para aplicar el filtro.
+            all == null ? List.of() : all,
+            any == null ? List.of() : any,
+            none == null ? List.of() : none,
+            page, size);
+    }
+
     /**
      * Obtiene proyectos por una tecnología específica.
      * 
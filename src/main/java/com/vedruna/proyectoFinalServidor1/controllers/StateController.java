@@ -0,0 +1,42 @@
+// Paquete donde reside este controlador, encargado de exponer el registro de estados.
+package com.vedruna.proyectoFinalServidor1.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.vedruna.proyectoFinalServidor1.dto.ResponseDTO;
+import com.vedruna.proyectoFinalServidor1.index.StateRegistry;
+
+@RestController // Indica que esta clase manejará las solicitudes HTTP y devolverá respuestas JSON.
+@RequestMapping("/api/v1") // Mapea todas las solicitudes bajo el prefijo /api/v1.
+@CrossOrigin // Permite peticiones desde diferentes orígenes.
+public class StateController {
+
+    @Autowired // Inyección del registro de estados cargado al arrancar.
+    private StateRegistry stateRegistry;
+
+    /**
+     * Obtiene todos los estados desde el registro en memoria, sin consultar la base de datos.
+     *
+     * @return la lista de estados ordenada por ID.
+     */
+    @GetMapping("/states")
+    public List<StateRegistry.Entry> getStates() {
+        return stateRegistry.all();
+    }
+
+    /**
+     * Recarga el registro de estados desde la base de datos.
+     * Se usa después de modificar la tabla de estados fuera de la aplicación.
+     *
+     * @return una respuesta con los estados recargados.
+     */
+    @PostMapping("/states/refresh")
+    public ResponseEntity<ResponseDTO<List<StateRegistry.Entry>>> refreshStates() {
+        stateRegistry.refresh();
+        return ResponseEntity.ok(new ResponseDTO<>("States reloaded", stateRegistry.all()));
+    }
+}
@@ -0,0 +1,141 @@
+// Paquete donde reside este controlador, encargado de exponer las estadísticas de los proyectos.
+package com.vedruna.proyectoFinalServidor1.controllers;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.vedruna.proyectoFinalServidor1.dto.ResponseDTO;
+import com.vedruna.proyectoFinalServidor1.index.ProjectStatistics;
+
+@RestController // Indica que esta clase manejará las solicitudes HTTP y devolverá respuestas JSON.
+@RequestMapping("/api/v1/stats") // Mapea todas las solicitudes bajo el prefijo /api/v1/stats.
+@CrossOrigin // Permite peticiones desde diferentes orígenes.
+public class StatsController {
+
+    @Autowired // Inyección de los contadores mantenidos en memoria.
+    private ProjectStatistics projectStatistics;
+
+    /**
+     * Obtiene el número total de proyectos.
+     *
+     * @return una respuesta con el número de proyectos.
+     */
+    @GetMapping("/projects")
+    public ResponseEntity<ResponseDTO<Integer>> countProjects() {
+        return ResponseEntity.ok(new ResponseDTO<>("Projects", projectStatistics.projects()));
+    }
+
+    /**
+     * Obtiene el número de proyectos de cada tecnología, de la más usada a la menos usada.
+     *
+     * @return una respuesta con los recuentos por tecnología.
+     */
+    @GetMapping("/technologies")
+    public ResponseEntity<ResponseDTO<List<ProjectStatistics.Count>>> countByTechnology() {
+        return ResponseEntity.ok(new ResponseDTO<>("Projects per technology", projectStatistics.byTechnology()));
+    }
+
+    /**
+     * Obtiene el número de proyectos que usan una tecnología.
+     *
+     * @param id el ID de la tecnología.
+     * @return una respuesta con el número de proyectos (0 si la tecnología no existe).
+     */
+    @GetMapping("/technologies/{id}")
+    public ResponseEntity<ResponseDTO<Integer>> countByTechnology(@PathVariable int id) {
+        return ResponseEntity.ok(new ResponseDTO<>("Projects using technology " + id, projectStatistics.projectsWithTechnology(id)));
+    }
+
+    /**
+     * Obtiene el número de proyectos de cada estado, ordenados por ID de estado.
+     *
+     * @return una respuesta con los recuentos por estado.
+     */
+    @GetMapping("/states")
+    public ResponseEntity<ResponseDTO<List<ProjectStatistics.Count>>> countByState() {
+        return ResponseEntity.ok(new ResponseDTO<>("Projects per state", projectStatistics.byState()));
+    }
+
+    /**
+     * Obtiene el número de proyectos que están en un estado.
+     *
+     * @param id el ID del estado.
+     * @return una respuesta con el número de proyectos.
+     */
+    @GetMapping("/states/{id}")
+    public ResponseEntity<ResponseDTO<Integer>> countByState(@PathVariable int id) {
+        return ResponseEntity.ok(new ResponseDTO<>("Projects in state " + id, projectStatistics.projectsInState(id)));
+    }
+
+    /**
+     * Obtiene el número de proyectos de cada desarrollador con al menos un proyecto.
+     *
+     * @return una respuesta con los recuentos por desarrollador.
+     */
+    @GetMapping("/developers")
+    public ResponseEntity<ResponseDTO<List<ProjectStatistics.Count>>> countByDeveloper() {
+        return ResponseEntity.ok(new ResponseDTO<>("Projects per developer", projectStatistics.byDeveloper()));
+    }
+
+    /**
+     * Obtiene el número de proyectos en los que ha trabajado un desarrollador.
+     *
+     * @param id el ID del desarrollador.
+     * @return una respuesta con el número de proyectos (0 si el desarrollador no existe).
+     */
+    @GetMapping("/developers/{id}")
+    public ResponseEntity<ResponseDTO<Integer>> countByDeveloper(@PathVariable int id) {
+        return ResponseEntity.ok(new ResponseDTO<>("Projects of developer " + id, projectStatistics.projectsOfDeveloper(id)));
+    }
+
+    /**
+     * Obtiene el número de proyectos iniciados cada mes, en orden cronológico.
+     *
+     * @param from el primer mes (yyyy-MM), opcional.
+     * @param to el último mes (yyyy-MM), opcional.
+     * @return una respuesta con los recuentos por mes.
+     */
+    @GetMapping("/months")
+    public ResponseEntity<ResponseDTO<List<ProjectStatistics.Count>>> countByStartMonth(@RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        return ResponseEntity.ok(new ResponseDTO<>("Projects started per month",
+                projectStatistics.byStartMonth(from == null ? null : month(from), to == null ? null : month(to))));
+    }
+
+    /**
+     * Obtiene el número de proyectos iniciados en un mes.
+     *
+     * @param month el mes (yyyy-MM).
+     * @return una respuesta con el número de proyectos.
+     */
+    @GetMapping("/months/{month}")
+    public ResponseEntity<ResponseDTO<Integer>> countByStartMonth(@PathVariable String month) {
+        return ResponseEntity.ok(new ResponseDTO<>("Projects started in " + month, projectStatistics.projectsStartedIn(month(month))));
+    }
+
+    /**
+     * Compara los contadores con la base de datos y los reconstruye si no coinciden.
+     * La comprobación también se ejecuta periódicamente en segundo plano.
+     *
+     * @return una respuesta con el número de contadores de cada tipo que no coincidían.
+     */
+    @PostMapping("/reconcile")
+    public ResponseEntity<ResponseDTO<ProjectStatistics.Drift>> reconcile() {
+        ProjectStatistics.Drift drift = projectStatistics.reconcile();
+        return ResponseEntity.ok(new ResponseDTO<>(drift.total() == 0 ? "Statistics are up to date" : "Statistics rebuilt", drift));
+    }
+
+    // Convierte un mes yyyy-MM; el formato incorrecto se responde con un 400
+    private static YearMonth month(String value) {
+        try {
+            return YearMonth.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid month, expected yyyy-MM: " + value);
+        }
+    }
+}
@@ -2,15 +2,28 @@
 package com.vedruna.proyectoFinalServidor1.controllers;
 
 // Importaciones necesarias para trabajar con datos, servicios y validación.
+import java.io.InputStream;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.vedruna.proyectoFinalServidor1.dto.AssociationResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.ImportReportDTO;
 import com.vedruna.proyectoFinalServidor1.dto.ResponseDTO;
+import com.vedruna.proyectoFinalServidor1.dto.TechnologyDTO;
+import com.vedruna.proyectoFinalServidor1.index.TechnologyCooccurrence;
 import com.vedruna.proyectoFinalServidor1.persistance.model.Technology;
+import com.vedruna.proyectoFinalServidor1.services.ImportServiceI;
 import com.vedruna.proyectoFinalServidor1.services.TechnologyServiceI;
 
+import reactor.core.publisher.Flux;
+
 @RestController // Indica que esta clase manejará las solicitudes HTTP y devolverá respuestas JSON.
 @RequestMapping("/api/v1") // Mapea todas las solicitudes bajo el prefijo /api/v1.
 @CrossOrigin // Permite peticiones desde diferentes orígenes (habilitado por si se usa en un entorno con frontend separado).
@@ -19,6 +32,9 @@ public class TechnologyController {
     @Autowired // Inyección de dependencia para el servicio de tecnologías.
     private TechnologyServiceI technologyService; // Instancia del servicio de tecnologías.
 
+    @Autowired // Inyección de dependencia para el servicio de importación masiva.
+    private ImportServiceI importService;
+
     /**
      * Guarda una nueva tecnología junto con los proyectos asociados.
      *
@@ -36,6 +52,28 @@ public class TechnologyController {
         }
     }
 
+    /**
+     * Emite todas las tecnologías como NDJSON o como Server-Sent Events según la cabecera Accept.
+     *
+     * @return el flujo de tecnologías ordenado por ID.
+     */
+    @GetMapping(value = "/technologies/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<TechnologyDTO> streamTechnologies() {
+        return technologyService.streamTechnologies(); // Lectura reactiva por lotes.
+    }
+
+    /**
+     * Importa tecnologías de forma masiva desde un array JSON o un cuerpo NDJSON.
+     *
+     * @param body el cuerpo de la petición con las tecnologías.
+     * @return una respuesta HTTP con el informe de la importación.
+     */
+    @PostMapping(value = "/technologies/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ResponseDTO<ImportReportDTO>> importTechnologies(InputStream body) {
+        ImportReportDTO report = importService.importTechnologies(body); // Llama al servicio para importar las tecnologías.
+        return ResponseEntity.ok(new ResponseDTO<>("Import finished", report)); // Devuelve el informe con estado HTTP 200.
+    }
+
     /**
      * Elimina una tecnología por su ID.
      *
@@ -53,6 +91,34 @@ public class TechnologyController {
         return ResponseEntity.status(HttpStatus.OK).body(response); // Responde con estado 200 (OK).
     }
 
+    /**
+     * Elimina varias tecnologías de una vez, por IDs o por un filtro de nombre.
+     *
+     * @param request los IDs de las tecnologías a eliminar o el filtro.
+     * @return una respuesta HTTP con los IDs eliminados y los IDs pedidos que no existen.
+     */
+    @DeleteMapping("/technologies")
+    public ResponseEntity<ResponseDTO<BulkDeleteResultDTO>> deleteTechnologies(@RequestBody BulkDeleteDTO request) {
+        BulkDeleteResultDTO result = technologyService.deleteTechnologies(request); // Borrado por conjuntos.
+        return ResponseEntity.ok(new ResponseDTO<>("Technologies successfully removed", result)); // Responde con estado 200 (OK).
+    }
+
+    /**
+     * Obtiene las tecnologías que más se usan en los mismos proyectos que una tecnología.
+     * El ranking se lee de la matriz de coocurrencias en memoria, sin consultar la base de datos.
+     *
+     * @param name el nombre de la tecnología.
+     * @param limit el número máximo de tecnologías a devolver (10 por defecto, hasta 100).
+     * @return una respuesta con las tecnologías y el número de proyectos compartidos, o 404 si la tecnología no existe.
+     */
+    @GetMapping("/technologies/{name}/used-with")
+    public ResponseEntity<ResponseDTO<List<TechnologyCooccurrence.Related>>> getTechnologiesUsedWith(@PathVariable String name,
+            @RequestParam(defaultValue = "10") int limit) {
+        return technologyService.findTechnologiesUsedWith(name, limit) // Un límite fuera de rango se responde con un 400 en ExceptionController.
+                .map(related -> ResponseEntity.ok(new ResponseDTO<>("Technologies used with " + name, related)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ResponseDTO<>("Technology not found", null)));
+    }
+
     /**
      * Asocia una tecnología con un proyecto específico.
      *
@@ -70,4 +136,17 @@ public class TechnologyController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
+
+    /**
+     * Asocia varias tecnologías con un proyecto mediante una única inserción idempotente.
+     *
+     * @param projectId el ID del proyecto.
+     * @param technologyIds los IDs de las tecnologías, recibidos como array JSON.
+     * @return una respuesta HTTP con los IDs añadidos, los ya asociados y los inexistentes.
+     */
+    @PostMapping("/technologies/used/{projectId}")
+    public ResponseEntity<ResponseDTO<AssociationResultDTO>> associateTechnologiesWithProject(@PathVariable int projectId, @RequestBody List<Integer> technologyIds) {
+        AssociationResultDTO result = technologyService.associateTechnologiesWithProject(projectId, technologyIds); // Si el proyecto no existe, ExceptionController responde 400.
+        return ResponseEntity.ok(new ResponseDTO<>("Technologies associated with project", result));
+    }
 }
@@ -0,0 +1,19 @@
+package com.vedruna.proyectoFinalServidor1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AssociationResultDTO {
+
+    private int projectId;
+    private List<Integer> added; // IDs asociados en esta petición
+    private List<Integer> alreadyAssociated; // IDs que ya estaban asociados
+    private List<Integer> notFound; // IDs que no existen
+
+}
@@ -0,0 +1,19 @@
+package com.vedruna.proyectoFinalServidor1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDeleteDTO {
+
+    private List<Integer> ids; // Registros a eliminar (excluyente con el filtro)
+    private String name; // Filtro: el nombre contiene este texto
+    private String state; // Filtro (solo proyectos): proyectos en este estado
+    private List<String> technologies; // Filtro (solo proyectos): proyectos que usan todas estas tecnologías
+
+}
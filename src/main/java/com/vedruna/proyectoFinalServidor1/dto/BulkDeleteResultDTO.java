@@ -0,0 +1,17 @@
+package com.vedruna.proyectoFinalServidor1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDeleteResultDTO {
+
+    private List<Integer> deleted; // IDs eliminados realmente
+    private List<Integer> missing; // IDs pedidos que no existen
+
+}
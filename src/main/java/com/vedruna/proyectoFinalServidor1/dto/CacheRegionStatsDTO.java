@@ -0,0 +1,19 @@
+package com.vedruna.proyectoFinalServidor1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheRegionStatsDTO {
+
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private double hitRatio; // Aciertos / (aciertos + fallos), 0 si no ha habido accesos
+    private long elementCount; // -1 si el proveedor no lo expone
+
+}
@@ -0,0 +1,20 @@
+package com.vedruna.proyectoFinalServidor1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor; // Token opaco para pedir la siguiente página (null si no hay más)
+    private Long totalElements; // Total aproximado servido desde caché (null si no se ha pedido)
+
+}
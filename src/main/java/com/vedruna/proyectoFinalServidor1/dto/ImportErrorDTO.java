@@ -0,0 +1,15 @@
+package com.vedruna.proyectoFinalServidor1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportErrorDTO {
+
+    private int index; // Posición del registro en el fichero (empezando en 0)
+    private String message;
+
+}
@@ -0,0 +1,19 @@
+package com.vedruna.proyectoFinalServidor1.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportReportDTO {
+
+    private int received; // Registros leídos del fichero
+    private int imported; // Registros insertados
+    private List<ImportErrorDTO> errors = new ArrayList<>(); // Registros rechazados y el motivo
+
+}
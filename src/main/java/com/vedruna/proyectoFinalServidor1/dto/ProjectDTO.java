@@ -30,6 +30,17 @@ public class ProjectDTO {
     private List<DeveloperDTO> developers;
 
     public ProjectDTO(Project p) {
+        this(p, p.getStateProject() != null ? p.getStateProject().getName() : null); // Obtener el nombre del estado
+    }
+
+    /**
+     * Builds the DTO with an already resolved state name, so the state of the
+     * project is never loaded.
+     *
+     * @param p the project to convert
+     * @param stateProjectName the name of the project's state, or null
+     */
+    public ProjectDTO(Project p, String stateProjectName) {
         this.id = p.getId();
         this.name = p.getName();
         this.description = p.getDescription();
@@ -38,7 +49,7 @@ public class ProjectDTO {
         this.repository_url = p.getRepository_url();
         this.demo_url = p.getDemo_url();
         this.picture = p.getPicture();
-        this.stateProjectName = p.getStateProject() != null ? p.getStateProject().getName() : null; // Obtener el nombre del estado
+        this.stateProjectName = stateProjectName;
         this.technologies = technologiesDTO(p.getTechnologies());
         this.developers = developersDTO(p.getDevelopers());
     }
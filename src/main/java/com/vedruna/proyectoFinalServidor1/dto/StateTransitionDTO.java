@@ -0,0 +1,19 @@
+package com.vedruna.proyectoFinalServidor1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StateTransitionDTO {
+
+    private String state; // Nombre del estado destino
+    private List<Integer> ids; // Proyectos a mover (excluyente con el filtro)
+    private String fromState; // Filtro: proyectos que están ahora en este estado
+    private List<String> technologies; // Filtro: proyectos que usan todas estas tecnologías
+
+}
@@ -0,0 +1,18 @@
+package com.vedruna.proyectoFinalServidor1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StateTransitionResultDTO {
+
+    private String state;
+    private List<Integer> moved; // IDs cuyo estado se ha actualizado
+    private List<Integer> missing; // IDs pedidos que no existen
+
+}
@@ -0,0 +1,10 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+/**
+ * A row of the developers_worked_on_projects join table.
+ *
+ * @param developerId the ID of the developer
+ * @param projectId the ID of the project the developer worked on
+ */
+public record DeveloperLink(int developerId, int projectId) {
+}
@@ -0,0 +1,11 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+import java.util.Collection;
+
+/**
+ * Published after developers have been associated with projects.
+ *
+ * @param links the new developer-project associations
+ */
+public record DeveloperLinksAddedEvent(Collection<DeveloperLink> links) {
+}
@@ -0,0 +1,11 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+import java.util.Collection;
+
+/**
+ * Published after developer-project associations have been removed.
+ *
+ * @param links the removed developer-project associations
+ */
+public record DeveloperLinksRemovedEvent(Collection<DeveloperLink> links) {
+}
@@ -0,0 +1,10 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+/**
+ * Published after an existing developer row has been replaced, so its name, email or
+ * profile URLs may have changed in every project that embeds it.
+ *
+ * @param developerId the ID of the saved developer
+ */
+public record DeveloperSavedEvent(int developerId) {
+}
@@ -0,0 +1,11 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+import java.util.Collection;
+
+/**
+ * Published after one or more developer rows have been removed.
+ *
+ * @param developerIds the IDs of the removed developers
+ */
+public record DevelopersDeletedEvent(Collection<Integer> developerIds) {
+}
@@ -0,0 +1,12 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+import java.util.Set;
+
+/**
+ * Published after a merge patch has updated some fields of a project.
+ *
+ * @param projectId the ID of the patched project
+ * @param fields the names of the patched fields
+ */
+public record ProjectPatchedEvent(int projectId, Set<String> fields) {
+}
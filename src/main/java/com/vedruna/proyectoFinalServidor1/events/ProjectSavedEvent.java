@@ -0,0 +1,11 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+/**
+ * Published after a project row has been inserted or updated.
+ * The in-memory indexes listen to it to stay in sync with the database.
+ *
+ * @param projectId the ID of the saved project
+ * @param name the current name of the project
+ */
+public record ProjectSavedEvent(int projectId, String name) {
+}
@@ -0,0 +1,12 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+import java.time.LocalDate;
+
+/**
+ * Published after the start date of a project has been written, on creation or on update.
+ *
+ * @param projectId the ID of the project
+ * @param startDate the new start date, or null if the project has none
+ */
+public record ProjectStartDateChangedEvent(int projectId, LocalDate startDate) {
+}
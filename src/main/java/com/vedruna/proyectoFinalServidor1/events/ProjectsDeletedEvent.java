@@ -0,0 +1,11 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+import java.util.Collection;
+
+/**
+ * Published after one or more project rows have been removed.
+ *
+ * @param projectIds the IDs of the removed projects
+ */
+public record ProjectsDeletedEvent(Collection<Integer> projectIds) {
+}
@@ -0,0 +1,12 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+import java.util.Collection;
+
+/**
+ * Published after one or more projects have been moved to another state.
+ *
+ * @param projectIds the IDs of the moved projects
+ * @param stateId the ID of the state they were moved to
+ */
+public record ProjectsStateChangedEvent(Collection<Integer> projectIds, int stateId) {
+}
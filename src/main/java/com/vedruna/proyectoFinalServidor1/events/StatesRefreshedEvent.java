@@ -0,0 +1,7 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+/**
+ * Published after the state registry has been reloaded from the database.
+ */
+public record StatesRefreshedEvent() {
+}
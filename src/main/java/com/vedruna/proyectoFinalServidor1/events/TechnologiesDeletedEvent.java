@@ -0,0 +1,11 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+import java.util.Collection;
+
+/**
+ * Published after one or more technology rows have been removed.
+ *
+ * @param technologyIds the IDs of the removed technologies
+ */
+public record TechnologiesDeletedEvent(Collection<Integer> technologyIds) {
+}
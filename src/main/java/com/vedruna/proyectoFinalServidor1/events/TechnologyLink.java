@@ -0,0 +1,10 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+/**
+ * A row of the technologies_used_in_projects join table.
+ *
+ * @param technologyId the ID of the technology
+ * @param projectId the ID of the project that uses it
+ */
+public record TechnologyLink(int technologyId, int projectId) {
+}
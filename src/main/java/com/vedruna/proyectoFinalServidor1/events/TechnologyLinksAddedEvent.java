@@ -0,0 +1,11 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+import java.util.Collection;
+
+/**
+ * Published after technologies have been associated with projects.
+ *
+ * @param links the new technology-project associations
+ */
+public record TechnologyLinksAddedEvent(Collection<TechnologyLink> links) {
+}
@@ -0,0 +1,11 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+import java.util.Collection;
+
+/**
+ * Published after technology-project associations have been removed.
+ *
+ * @param links the removed technology-project associations
+ */
+public record TechnologyLinksRemovedEvent(Collection<TechnologyLink> links) {
+}
@@ -0,0 +1,10 @@
+package com.vedruna.proyectoFinalServidor1.events;
+
+/**
+ * Published after a technology row has been inserted or updated.
+ *
+ * @param technologyId the ID of the saved technology
+ * @param name the current name of the technology
+ */
+public record TechnologySavedEvent(int technologyId, String name) {
+}
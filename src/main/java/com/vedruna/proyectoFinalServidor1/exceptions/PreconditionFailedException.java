@@ -0,0 +1,12 @@
+package com.vedruna.proyectoFinalServidor1.exceptions;
+
+/**
+ * Thrown when a conditional request (If-Match) does not match the current
+ * version of the resource. It is answered with HTTP 412.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,461 @@
+package com.vedruna.proyectoFinalServidor1.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLink;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLinksRemovedEvent;
+import com.vedruna.proyectoFinalServidor1.events.DevelopersDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectsDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.DeveloperLinkView;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.DeveloperRepositoryI;
+
+/**
+ * In-memory graph of the developers who have worked on the same projects, weighted by
+ * the number of projects they share.
+ * <p>
+ * The adjacency is stored in compressed sparse row (CSR) form: the developer IDs that
+ * have collaborators, sorted, an offsets array into one array of neighbour IDs (sorted
+ * within each row) and a parallel array of weights. Each collaboration is stored in both
+ * rows, at 8 bytes per entry, so a million collaborating pairs take about 16 MB and the
+ * neighbour array walked by the path search half of that, with no per-edge objects.
+ * <p>
+ * Association changes patch the graph without rebuilding it: the rows they touch are
+ * copied into a small overlay that takes precedence over the CSR arrays, and once the
+ * overlay grows past a fraction of the graph it is folded back into new arrays in memory.
+ * The developers of each project are kept too, so that adding or removing a link only
+ * adjusts the edges to the project's other developers.
+ */
+@Component
+public class DeveloperCollaborationGraph {
+
+    // Filas parcheadas a partir de las cuales se compactan en nuevos arrays
+    private static final int MIN_COMPACTION_ROWS = 256;
+
+    private static final Row EMPTY = new Row(new int[0], new int[0], 0, 0);
+
+    @Autowired
+    DeveloperRepositoryI developerRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // CSR: la fila de vertices[i] ocupa [offsets[i], offsets[i + 1]) en neighbors y weights
+    private int[] vertices = new int[0];
+    private int[] offsets = {0};
+    private int[] neighbors = new int[0];
+    private int[] weights = new int[0];
+
+    // Filas modificadas desde la última compactación (vacías si el desarrollador ya no colabora)
+    private Map<Integer, Row> patched = new HashMap<>();
+
+    // ID del proyecto -> desarrolladores que han trabajado en él, ordenados
+    private Map<Integer, int[]> developersOfProject = new HashMap<>();
+
+    /**
+     * Rebuilds the graph from the developers_worked_on_projects join table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Integer, List<Integer>> members = new HashMap<>();
+        try (Stream<DeveloperLinkView> rows = developerRepository.streamAllLinks()) {
+            rows.forEach(row -> members.computeIfAbsent(row.getProjectId(), id -> new ArrayList<>(4)).add(row.getDeveloperId()));
+        }
+        Map<Integer, int[]> newDevelopers = new HashMap<>(members.size() * 4 / 3 + 1);
+        members.forEach((projectId, developers) -> newDevelopers.put(projectId, developers.stream().mapToInt(Integer::intValue).sorted().distinct().toArray()));
+
+        // Vértices: los desarrolladores con al menos un compañero
+        int[] newVertices = newDevelopers.values().stream().filter(developers -> developers.length > 1)
+                .flatMapToInt(Arrays::stream).sorted().distinct().toArray();
+
+        // Cada proyecto con k desarrolladores añade k - 1 entradas (con repeticiones) a la fila de cada uno
+        int[] counts = new int[newVertices.length + 1];
+        for (int[] developers : newDevelopers.values()) {
+            if (developers.length > 1) {
+                for (int developer : developers) {
+                    counts[Arrays.binarySearch(newVertices, developer) + 1] += developers.length - 1;
+                }
+            }
+        }
+        for (int i = 0; i < newVertices.length; i++) {
+            counts[i + 1] += counts[i];
+        }
+        int[] entries = new int[counts[newVertices.length]];
+        int[] next = Arrays.copyOf(counts, newVertices.length);
+        for (int[] developers : newDevelopers.values()) {
+            if (developers.length > 1) {
+                for (int developer : developers) {
+                    int vertex = Arrays.binarySearch(newVertices, developer);
+                    for (int other : developers) {
+                        if (other != developer) {
+                            entries[next[vertex]++] = other;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Ordena cada fila y agrupa las repeticiones en pesos
+        int[] newOffsets = new int[newVertices.length + 1];
+        int[] newWeights = new int[entries.length];
+        int size = 0;
+        for (int i = 0; i < newVertices.length; i++) {
+            Arrays.sort(entries, counts[i], counts[i + 1]);
+            for (int j = counts[i]; j < counts[i + 1]; j++) {
+                if (size > newOffsets[i] && entries[size - 1] == entries[j]) {
+                    newWeights[size - 1]++;
+                } else {
+                    entries[size] = entries[j];
+                    newWeights[size++] = 1;
+                }
+            }
+            newOffsets[i + 1] = size;
+        }
+        int[] newNeighbors = Arrays.copyOf(entries, size);
+        int[] trimmedWeights = Arrays.copyOf(newWeights, size);
+
+        lock.writeLock().lock();
+        try {
+            vertices = newVertices;
+            offsets = newOffsets;
+            neighbors = newNeighbors;
+            weights = trimmedWeights;
+            patched = new HashMap<>();
+            developersOfProject = newDevelopers;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperLinksAdded(DeveloperLinksAddedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (DeveloperLink link : event.links()) {
+                int[] developers = developersOfProject.getOrDefault(link.projectId(), EMPTY.neighbors());
+                int position = Arrays.binarySearch(developers, link.developerId());
+                if (position < 0) {
+                    for (int other : developers) {
+                        adjust(link.developerId(), other, 1);
+                        adjust(other, link.developerId(), 1);
+                    }
+                    developersOfProject.put(link.projectId(), insert(developers, -position - 1, link.developerId()));
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperLinksRemoved(DeveloperLinksRemovedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (DeveloperLink link : event.links()) {
+                int[] developers = developersOfProject.get(link.projectId());
+                int position = developers == null ? -1 : Arrays.binarySearch(developers, link.developerId());
+                if (position >= 0) {
+                    int[] remaining = remove(developers, position);
+                    for (int other : remaining) {
+                        adjust(link.developerId(), other, -1);
+                        adjust(other, link.developerId(), -1);
+                    }
+                    developersOfProject.put(link.projectId(), remaining);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectsDeleted(ProjectsDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Integer projectId : event.projectIds()) {
+                int[] developers = developersOfProject.remove(projectId);
+                if (developers != null) {
+                    for (int developer : developers) {
+                        for (int other : developers) {
+                            if (other != developer) {
+                                adjust(developer, other, -1);
+                            }
+                        }
+                    }
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDevelopersDeleted(DevelopersDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Set<Integer> deleted = Set.copyOf(event.developerIds());
+            for (Integer developerId : deleted) {
+                Row row = rowOf(developerId);
+                for (int i = row.from(); i < row.to(); i++) {
+                    adjust(row.neighbors()[i], developerId, -row.weights()[i]);
+                }
+                patched.put(developerId, EMPTY);
+            }
+            // Operación poco frecuente: recorre todos los proyectos
+            developersOfProject.replaceAll((projectId, developers) ->
+                    Arrays.stream(developers).filter(developer -> !deleted.contains(developer)).toArray());
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Fila actual de un desarrollador: la parcheada si existe y si no la de los arrays CSR
+    private Row rowOf(int developerId) {
+        Row row = patched.get(developerId);
+        if (row != null) {
+            return row;
+        }
+        int vertex = Arrays.binarySearch(vertices, developerId);
+        return vertex < 0 ? EMPTY : new Row(neighbors, weights, offsets[vertex], offsets[vertex + 1]);
+    }
+
+    // Suma delta al peso de la arista developer -> other, creándola o eliminándola si hace falta
+    private void adjust(int developer, int other, int delta) {
+        Row row = rowOf(developer);
+        int position = Arrays.binarySearch(row.neighbors(), row.from(), row.to(), other);
+        boolean owned = patched.get(developer) == row && row != EMPTY;
+        if (position >= 0) {
+            int weight = row.weights()[position] + delta;
+            if (weight > 0 && owned) {
+                row.weights()[position] = weight;  // La fila ya es una copia propia
+            } else if (weight > 0) {
+                int[] newWeights = Arrays.copyOfRange(row.weights(), row.from(), row.to());
+                newWeights[position - row.from()] = weight;
+                patched.put(developer, new Row(Arrays.copyOfRange(row.neighbors(), row.from(), row.to()), newWeights, 0, row.to() - row.from()));
+            } else {
+                int index = position - row.from();
+                int[] newNeighbors = remove(Arrays.copyOfRange(row.neighbors(), row.from(), row.to()), index);
+                int[] newWeights = remove(Arrays.copyOfRange(row.weights(), row.from(), row.to()), index);
+                patched.put(developer, new Row(newNeighbors, newWeights, 0, newNeighbors.length));
+            }
+        } else if (delta > 0) {
+            int index = -position - 1 - row.from();
+            int[] newNeighbors = insert(Arrays.copyOfRange(row.neighbors(), row.from(), row.to()), index, other);
+            int[] newWeights = insert(Arrays.copyOfRange(row.weights(), row.from(), row.to()), index, delta);
+            patched.put(developer, new Row(newNeighbors, newWeights, 0, newNeighbors.length));
+        }
+    }
+
+    private static int[] insert(int[] values, int index, int value) {
+        int[] result = new int[values.length + 1];
+        System.arraycopy(values, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(values, index, result, index + 1, values.length - index);
+        return result;
+    }
+
+    private static int[] remove(int[] values, int index) {
+        int[] result = new int[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+
+    // Vuelca las filas parcheadas en nuevos arrays CSR cuando son demasiadas
+    private void compactIfNeeded() {
+        if (patched.size() < Math.max(MIN_COMPACTION_ROWS, vertices.length / 8)) {
+            return;
+        }
+        int[] newVertices = Stream.concat(Arrays.stream(vertices).boxed(), patched.keySet().stream())
+                .mapToInt(Integer::intValue).filter(developer -> rowOf(developer).to() > rowOf(developer).from())
+                .sorted().distinct().toArray();
+        int[] newOffsets = new int[newVertices.length + 1];
+        for (int i = 0; i < newVertices.length; i++) {
+            Row row = rowOf(newVertices[i]);
+            newOffsets[i + 1] = newOffsets[i] + row.to() - row.from();
+        }
+        int[] newNeighbors = new int[newOffsets[newVertices.length]];
+        int[] newWeights = new int[newNeighbors.length];
+        for (int i = 0; i < newVertices.length; i++) {
+            Row row = rowOf(newVertices[i]);
+            System.arraycopy(row.neighbors(), row.from(), newNeighbors, newOffsets[i], row.to() - row.from());
+            System.arraycopy(row.weights(), row.from(), newWeights, newOffsets[i], row.to() - row.from());
+        }
+        vertices = newVertices;
+        offsets = newOffsets;
+        neighbors = newNeighbors;
+        weights = newWeights;
+        patched = new HashMap<>();
+    }
+
+    /**
+     * Returns the developers who have worked on at least one project with a developer.
+     *
+     * @param developerId the ID of the developer
+     * @return the collaborators ordered by ID, empty for unknown developers
+     */
+    public List<Collaborator> collaborators(int developerId) {
+        lock.readLock().lock();
+        try {
+            Row row = rowOf(developerId);
+            List<Collaborator> result = new ArrayList<>(row.to() - row.from());
+            for (int i = row.from(); i < row.to(); i++) {
+                result.add(new Collaborator(row.neighbors()[i], row.weights()[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the developers who share the most projects with a developer.
+     *
+     * @param developerId the ID of the developer
+     * @param limit the maximum number of collaborators to return
+     * @return the collaborators ordered by shared projects (ties by ID)
+     */
+    public List<Collaborator> topCollaborators(int developerId, int limit) {
+        lock.readLock().lock();
+        try {
+            Row row = rowOf(developerId);
+            // Montículo de los K mejores: la cabeza es el peor de los que se quedan
+            PriorityQueue<Collaborator> top = new PriorityQueue<>(Collaborator.MOST_PROJECTS_FIRST.reversed());
+            for (int i = row.from(); i < row.to(); i++) {
+                top.add(new Collaborator(row.neighbors()[i], row.weights()[i]));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Collaborator> result = new ArrayList<>(top);
+            result.sort(Collaborator.MOST_PROJECTS_FIRST);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds a shortest chain of collaborations between two developers with a
+     * bidirectional breadth-first search: both ends advance one level at a time, always
+     * the end with the smaller frontier, until the searches meet.
+     *
+     * @param from the ID of the first developer
+     * @param to the ID of the last developer
+     * @return the developer IDs from {@code from} to {@code to}, or empty if they are not connected
+     */
+    public Optional<List<Integer>> shortestPath(int from, int to) {
+        if (from == to) {
+            return Optional.of(List.of(from));
+        }
+        lock.readLock().lock();
+        try {
+            Search forward = new Search(from);
+            Search backward = new Search(to);
+            while (!forward.frontier.isEmpty() && !backward.frontier.isEmpty()) {
+                Search near = forward.frontier.size() <= backward.frontier.size() ? forward : backward;
+                Search far = near == forward ? backward : forward;
+                Integer meeting = expand(near, far);
+                if (meeting != null) {
+                    List<Integer> path = forward.pathTo(meeting);
+                    Collections.reverse(path);
+                    List<Integer> rest = backward.pathTo(meeting);
+                    path.addAll(rest.subList(1, rest.size()));
+                    return Optional.of(path);
+                }
+            }
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Avanza un nivel completo y devuelve el punto de encuentro del camino más corto, si lo hay
+    private Integer expand(Search near, Search far) {
+        Integer meeting = null;
+        int best = Integer.MAX_VALUE;
+        ArrayDeque<Integer> next = new ArrayDeque<>();
+        for (Integer developer : near.frontier) {
+            Row row = rowOf(developer);
+            int depth = near.depths.get(developer) + 1;
+            for (int i = row.from(); i < row.to(); i++) {
+                int other = row.neighbors()[i];
+                if (!near.parents.containsKey(other)) {
+                    near.parents.put(other, developer);
+                    near.depths.put(other, depth);
+                    next.add(other);
+                }
+                Integer farDepth = far.depths.get(other);
+                if (farDepth != null && near.depths.get(other) + farDepth < best) {
+                    best = near.depths.get(other) + farDepth;
+                    meeting = other;
+                }
+            }
+        }
+        near.frontier = next;
+        return meeting;
+    }
+
+    // Estado de una de las dos búsquedas en anchura
+    private static final class Search {
+        final Map<Integer, Integer> parents = new HashMap<>();
+        final Map<Integer, Integer> depths = new HashMap<>();
+        ArrayDeque<Integer> frontier = new ArrayDeque<>();
+
+        Search(int start) {
+            parents.put(start, start);
+            depths.put(start, 0);
+            frontier.add(start);
+        }
+
+        // Camino desde el desarrollador hasta el origen de la búsqueda
+        List<Integer> pathTo(int developer) {
+            List<Integer> path = new ArrayList<>();
+            for (int current = developer;; current = parents.get(current)) {
+                path.add(current);
+                if (parents.get(current) == current) {
+                    return path;
+                }
+            }
+        }
+    }
+
+    // Vista de una fila: [from, to) dentro de los arrays
+    private record Row(int[] neighbors, int[] weights, int from, int to) {
+    }
+
+    /**
+     * A developer who has worked with another one.
+     *
+     * @param id the ID of the collaborator
+     * @param projects the number of projects both have worked on
+     */
+    public record Collaborator(int id, int projects) {
+
+        static final Comparator<Collaborator> MOST_PROJECTS_FIRST = Comparator.comparingInt(Collaborator::projects).reversed()
+                .thenComparingInt(Collaborator::id);
+    }
+}
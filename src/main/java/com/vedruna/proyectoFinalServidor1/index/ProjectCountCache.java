@@ -0,0 +1,39 @@
+package com.vedruna.proyectoFinalServidor1.index;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.vedruna.proyectoFinalServidor1.persistance.repository.ProjectRepositoryI;
+
+/**
+ * Keeps the total number of projects in memory.
+ * The value is refreshed in the background, so cursor pagination can report an
+ * approximate total without running count(*) on every request.
+ */
+@Component
+public class ProjectCountCache {
+
+    @Autowired
+    ProjectRepositoryI projectRepository;
+
+    // Último total conocido (null hasta el primer refresco)
+    private volatile Long total;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${projects.count.refresh-ms:30000}", initialDelayString = "${projects.count.refresh-ms:30000}")
+    public void refresh() {
+        total = projectRepository.count();
+    }
+
+    /**
+     * Returns the cached number of projects.
+     *
+     * @return the last known total, or null if it has not been computed yet
+     */
+    public Long getTotal() {
+        return total;
+    }
+}
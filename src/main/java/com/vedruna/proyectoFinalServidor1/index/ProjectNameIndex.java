@@ -0,0 +1,220 @@
+package com.vedruna.proyectoFinalServidor1.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vedruna.proyectoFinalServidor1.events.ProjectSavedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectsDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.ProjectNameView;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.ProjectRepositoryI;
+
+/**
+ * In-memory trigram index over project names.
+ * It answers case- and accent-insensitive substring searches by intersecting the posting
+ * lists of the query trigrams, so only candidate projects are verified and nothing is read
+ * from the database.
+ */
+@Component
+public class ProjectNameIndex {
+
+    // Longitud de los n-gramas indexados
+    private static final int GRAM = 3;
+
+    // Marcas diacríticas que quedan separadas de su letra al descomponer el texto
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    @Autowired
+    ProjectRepositoryI projectRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // ID del proyecto -> nombre normalizado
+    private Map<Integer, String> names = new HashMap<>();
+
+    // Trigrama -> IDs de los proyectos cuyo nombre lo contiene
+    private Map<String, Set<Integer>> postings = new HashMap<>();
+
+    /**
+     * Rebuilds the whole index from the projects table.
+     * It runs once at startup and can be called again to resynchronize.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Integer, String> newNames = new HashMap<>();
+        Map<String, Set<Integer>> newPostings = new HashMap<>();
+        try (Stream<ProjectNameView> rows = projectRepository.streamAllNames()) {
+            rows.forEach(row -> {
+                String name = normalize(row.getName());
+                newNames.put(row.getId(), name);
+                for (String gram : grams(name)) {
+                    newPostings.computeIfAbsent(gram, g -> new HashSet<>()).add(row.getId());
+                }
+            });
+        }
+        lock.writeLock().lock();
+        try {
+            names = newNames;
+            postings = newPostings;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectSaved(ProjectSavedEvent event) {
+        put(event.projectId(), event.name());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectsDeleted(ProjectsDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.projectIds().forEach(this::removeUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces the name of a project in the index.
+     *
+     * @param projectId the ID of the project
+     * @param name the current name of the project
+     */
+    public void put(int projectId, String name) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(projectId);
+            String normalized = normalize(name);
+            names.put(projectId, normalized);
+            for (String gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(projectId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of all projects whose name contains the query, best matches first.
+     * Exact matches rank before prefix matches, prefix before word-start matches and
+     * those before any other occurrence; ties are broken by position, name length and ID.
+     *
+     * @param query the substring to look for
+     * @return the ranked list of matching project IDs
+     */
+    public List<Integer> search(String query) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Collection<Integer> candidates = candidates(q);
+            List<Match> matches = new ArrayList<>();
+            for (Integer id : candidates) {
+                String name = names.get(id);
+                int position = name == null ? -1 : name.indexOf(q);
+                if (position >= 0) {
+                    matches.add(new Match(id, rank(name, q, position), position, name.length()));
+                }
+            }
+            matches.sort(Comparator.comparingInt(Match::rank)
+                    .thenComparingInt(Match::position)
+                    .thenComparingInt(Match::length)
+                    .thenComparingInt(Match::id));
+            List<Integer> result = new ArrayList<>(matches.size());
+            for (Match match : matches) {
+                result.add(match.id());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Intersecta las listas de los trigramas de la consulta, empezando por la más corta
+    private Collection<Integer> candidates(String q) {
+        if (q.length() < GRAM) {
+            return names.keySet();  // Consultas cortas: se verifican todos los nombres en memoria
+        }
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String gram : grams(q)) {
+            Set<Integer> list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Integer> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private void removeUnlocked(int projectId) {
+        String old = names.remove(projectId);
+        if (old == null) {
+            return;
+        }
+        for (String gram : grams(old)) {
+            Set<Integer> list = postings.get(gram);
+            if (list != null) {
+                list.remove(projectId);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static int rank(String name, String q, int position) {
+        if (name.length() == q.length()) {
+            return 0;
+        }
+        if (position == 0) {
+            return 1;
+        }
+        return Character.isLetterOrDigit(name.charAt(position - 1)) ? 3 : 2;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // Sin mayúsculas ni tildes: "Gestión" y "gestion" se indexan igual
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private record Match(int id, int rank, int position, int length) {
+    }
+}
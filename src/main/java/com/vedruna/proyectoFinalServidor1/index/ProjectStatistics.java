@@ -0,0 +1,578 @@
+package com.vedruna.proyectoFinalServidor1.index;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLink;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLinksRemovedEvent;
+import com.vedruna.proyectoFinalServidor1.events.DevelopersDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectSavedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectStartDateChangedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectsDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectsStateChangedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologiesDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLink;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksRemovedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologySavedEvent;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.DeveloperLinkView;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.DeveloperRepositoryI;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.GroupCountView;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.ProjectRepositoryI;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.ProjectStatsView;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.TechnologyLinkView;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.TechnologyNameView;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.TechnologyRepositoryI;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory project counts per technology, state, developer and start month.
+ * The counters are built at startup from the projects, status and join tables and then
+ * follow the events of the service layer, so reading a count is a map lookup and never
+ * touches the database. Each project keeps the facts it is counted by (state, start
+ * month, technologies and developers), which lets deletions and state changes decrement
+ * the right counters without asking the database what the project looked like.
+ * <p>
+ * {@link #reconcile()} runs periodically, compares the counters with GROUP BY queries
+ * and rebuilds them when they have drifted, e.g. after rows were changed outside the
+ * application.
+ */
+@Component
+public class ProjectStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectStatistics.class);
+
+    // Intentos de comparar sin escrituras concurrentes antes de comparar de todos modos
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    @Autowired
+    ProjectRepositoryI projectRepository;
+
+    @Autowired
+    TechnologyRepositoryI technologyRepository;
+
+    @Autowired
+    DeveloperRepositoryI developerRepository;
+
+    @Autowired
+    StateRegistry stateRegistry;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Snapshot snapshot = new Snapshot();
+
+    // Cambios aplicados desde el arranque; la reconciliación descarta comparaciones con escrituras a medias
+    private long modifications;
+
+    /**
+     * Rebuilds every counter from the projects, technologies and join tables.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Snapshot rebuilt = new Snapshot();
+        try (Stream<ProjectStatsView> rows = projectRepository.streamAllStats()) {
+            rows.forEach(row -> {
+                Facts facts = rebuilt.register(row.getId());
+                rebuilt.moveState(facts, row.getStateId());
+                rebuilt.moveMonth(facts, row.getStartDate() == null ? null : YearMonth.from(row.getStartDate().toLocalDate()));
+            });
+        }
+        try (Stream<TechnologyNameView> rows = technologyRepository.streamAllNames()) {
+            rows.forEach(row -> rebuilt.technologyNames.put(row.getId(), row.getName()));
+        }
+        try (Stream<TechnologyLinkView> rows = technologyRepository.streamAllLinks()) {
+            rows.forEach(row -> rebuilt.linkTechnology(row.getTechnologyId(), row.getProjectId()));
+        }
+        try (Stream<DeveloperLinkView> rows = developerRepository.streamAllLinks()) {
+            rows.forEach(row -> rebuilt.linkDeveloper(row.getDeveloperId(), row.getProjectId()));
+        }
+        lock.writeLock().lock();
+        try {
+            snapshot = rebuilt;
+            modifications++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compares the counters with the database and rebuilds them if any count differs.
+     * Writes that commit while the comparison runs can make it see a difference that the
+     * pending events are about to fix, so the comparison is repeated a few times until no
+     * event arrives in between; a false alarm only costs a rebuild. The queries run
+     * outside a transaction so that every attempt sees the latest committed rows.
+     *
+     * @return the number of counters of each kind that differed from the database
+     */
+    @Scheduled(fixedDelayString = "${stats.reconcile-ms:600000}", initialDelayString = "${stats.reconcile-ms:600000}")
+    public Drift reconcile() {
+        Drift drift = null;
+        for (int attempt = 0; attempt < RECONCILE_ATTEMPTS && drift == null; attempt++) {
+            long before = modifications();
+            Map<Integer, Integer> technologies = counts(technologyRepository.countProjects());
+            Map<Integer, Integer> states = counts(projectRepository.countByState());
+            Map<Integer, Integer> developers = counts(developerRepository.countProjects());
+            Map<Integer, Integer> months = counts(projectRepository.countByStartMonth());
+            lock.readLock().lock();
+            try {
+                if (modifications == before || attempt == RECONCILE_ATTEMPTS - 1) {
+                    drift = new Drift(differences(technologies, snapshot.projectsByTechnology),
+                            differences(states, snapshot.projectsByState),
+                            differences(developers, snapshot.projectsByDeveloper),
+                            differences(months, monthKeys(snapshot.projectsByMonth)));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        if (drift.total() > 0) {
+            log.warn("Project statistics drifted from the database ({} technology, {} state, {} developer and {} month counts differ), rebuilding",
+                    drift.technologies(), drift.states(), drift.developers(), drift.months());
+            recordDrift("technologies", drift.technologies());
+            recordDrift("states", drift.states());
+            recordDrift("developers", drift.developers());
+            recordDrift("months", drift.months());
+            transactionTemplate.executeWithoutResult(status -> rebuild());  // Las lecturas en streaming necesitan una transacción
+        }
+        return drift;
+    }
+
+    private long modifications() {
+        lock.readLock().lock();
+        try {
+            return modifications;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<Integer, Integer> counts(List<GroupCountView> rows) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (GroupCountView row : rows) {
+            counts.put(row.getId(), row.getProjects().intValue());
+        }
+        return counts;
+    }
+
+    // Claves con un recuento distinto; en memoria solo se guardan los recuentos mayores que cero
+    private static <K> int differences(Map<K, Integer> expected, Map<K, Integer> actual) {
+        Set<K> keys = new HashSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+        int differences = 0;
+        for (K key : keys) {
+            if (expected.getOrDefault(key, 0).intValue() != actual.getOrDefault(key, 0).intValue()) {
+                differences++;
+            }
+        }
+        return differences;
+    }
+
+    private static Map<Integer, Integer> monthKeys(Map<YearMonth, Integer> projectsByMonth) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        projectsByMonth.forEach((month, projects) -> counts.put(monthKey(month), projects));
+        return counts;
+    }
+
+    private void recordDrift(String kind, int differences) {
+        if (differences > 0) {
+            Counter.builder("stats.drift")
+                    .description("Project counters found out of step with the database")
+                    .tag("counter", kind)
+                    .register(meterRegistry)
+                    .increment(differences);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectSaved(ProjectSavedEvent event) {
+        write(snapshot -> snapshot.register(event.projectId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectStartDateChanged(ProjectStartDateChangedEvent event) {
+        LocalDate startDate = event.startDate();
+        write(snapshot -> snapshot.moveMonth(snapshot.register(event.projectId()), startDate == null ? null : YearMonth.from(startDate)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectsStateChanged(ProjectsStateChangedEvent event) {
+        write(snapshot -> {
+            for (Integer projectId : event.projectIds()) {
+                snapshot.moveState(snapshot.register(projectId), event.stateId());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectsDeleted(ProjectsDeletedEvent event) {
+        write(snapshot -> event.projectIds().forEach(snapshot::unregister));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologySaved(TechnologySavedEvent event) {
+        write(snapshot -> snapshot.technologyNames.put(event.technologyId(), event.name()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologyLinksAdded(TechnologyLinksAddedEvent event) {
+        write(snapshot -> {
+            for (TechnologyLink link : event.links()) {
+                snapshot.linkTechnology(link.technologyId(), link.projectId());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologyLinksRemoved(TechnologyLinksRemovedEvent event) {
+        write(snapshot -> {
+            for (TechnologyLink link : event.links()) {
+                snapshot.unlinkTechnology(link.technologyId(), link.projectId());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologiesDeleted(TechnologiesDeletedEvent event) {
+        write(snapshot -> {
+            Set<Integer> ids = Set.copyOf(event.technologyIds());
+            snapshot.projects.values().forEach(facts -> facts.technologies.removeAll(ids));  // Operación poco frecuente
+            snapshot.projectsByTechnology.keySet().removeAll(ids);
+            snapshot.technologyNames.keySet().removeAll(ids);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperLinksAdded(DeveloperLinksAddedEvent event) {
+        write(snapshot -> {
+            for (DeveloperLink link : event.links()) {
+                snapshot.linkDeveloper(link.developerId(), link.projectId());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperLinksRemoved(DeveloperLinksRemovedEvent event) {
+        write(snapshot -> {
+            for (DeveloperLink link : event.links()) {
+                snapshot.unlinkDeveloper(link.developerId(), link.projectId());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDevelopersDeleted(DevelopersDeletedEvent event) {
+        write(snapshot -> {
+            Set<Integer> ids = Set.copyOf(event.developerIds());
+            snapshot.projects.values().forEach(facts -> facts.developers.removeAll(ids));  // Operación poco frecuente
+            snapshot.projectsByDeveloper.keySet().removeAll(ids);
+        });
+    }
+
+    private void write(Consumer<Snapshot> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(snapshot);
+            modifications++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T read(Function<Snapshot, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(snapshot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of projects.
+     *
+     * @return the number of projects
+     */
+    public int projects() {
+        return read(snapshot -> snapshot.projects.size());
+    }
+
+    /**
+     * Returns the number of projects that use a technology.
+     *
+     * @param technologyId the ID of the technology
+     * @return the number of projects, 0 for unknown technologies
+     */
+    public int projectsWithTechnology(int technologyId) {
+        return read(snapshot -> snapshot.projectsByTechnology.getOrDefault(technologyId, 0));
+    }
+
+    /**
+     * Returns the number of projects a developer has worked on.
+     *
+     * @param developerId the ID of the developer
+     * @return the number of projects, 0 for unknown developers
+     */
+    public int projectsOfDeveloper(int developerId) {
+        return read(snapshot -> snapshot.projectsByDeveloper.getOrDefault(developerId, 0));
+    }
+
+    /**
+     * Returns the number of projects in a state.
+     *
+     * @param stateId the ID of the state, or null for the projects without a state
+     * @return the number of projects
+     */
+    public int projectsInState(Integer stateId) {
+        return read(snapshot -> snapshot.projectsByState.getOrDefault(stateId, 0));
+    }
+
+    /**
+     * Returns the number of projects started in a month.
+     *
+     * @param month the month of the start date
+     * @return the number of projects
+     */
+    public int projectsStartedIn(YearMonth month) {
+        return read(snapshot -> snapshot.projectsByMonth.getOrDefault(month, 0));
+    }
+
+    /**
+     * Returns the number of projects of every known technology, including the unused
+     * ones, from the most used to the least.
+     *
+     * @return the counts, named after the technologies
+     */
+    public List<Count> byTechnology() {
+        List<Count> counts = read(snapshot -> {
+            List<Count> result = new ArrayList<>(snapshot.technologyNames.size());
+            snapshot.technologyNames.forEach((id, name) -> result.add(new Count(id, name, snapshot.projectsByTechnology.getOrDefault(id, 0))));
+            return result;
+        });
+        counts.sort(Count.MOST_PROJECTS_FIRST);
+        return counts;
+    }
+
+    /**
+     * Returns the number of projects of every registered state, ordered by state ID.
+     * Projects without a state are counted in a last entry without ID or name, present
+     * only when there are such projects.
+     *
+     * @return the counts, named after the states
+     */
+    public List<Count> byState() {
+        Map<Integer, Integer> projectsByState = read(snapshot -> new HashMap<>(snapshot.projectsByState));
+        List<Count> counts = new ArrayList<>();
+        for (StateRegistry.Entry state : stateRegistry.all()) {
+            counts.add(new Count(state.id(), state.name(), projectsByState.getOrDefault(state.id(), 0)));
+            projectsByState.remove(state.id());
+        }
+        projectsByState.forEach((id, projects) -> {
+            if (id != null) {
+                counts.add(new Count(id, null, projects));  // Estado creado después de la última recarga del registro
+            }
+        });
+        if (projectsByState.containsKey(null)) {
+            counts.add(new Count(null, null, projectsByState.get(null)));
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the number of projects of every developer with at least one project,
+     * from the most projects to the least.
+     *
+     * @return the counts, identified by developer ID
+     */
+    public List<Count> byDeveloper() {
+        List<Count> counts = read(snapshot -> {
+            List<Count> result = new ArrayList<>(snapshot.projectsByDeveloper.size());
+            snapshot.projectsByDeveloper.forEach((id, projects) -> result.add(new Count(id, null, projects)));
+            return result;
+        });
+        counts.sort(Count.MOST_PROJECTS_FIRST);
+        return counts;
+    }
+
+    /**
+     * Returns the number of projects started in each month of a range, in chronological
+     * order. Months without projects are left out.
+     *
+     * @param from the first month, or null for no lower bound
+     * @param to the last month, or null for no upper bound
+     * @return the counts, identified by {@code yyyyMM} and named {@code yyyy-MM}
+     */
+    public List<Count> byStartMonth(YearMonth from, YearMonth to) {
+        List<Count> counts = read(snapshot -> {
+            List<Count> result = new ArrayList<>();
+            snapshot.projectsByMonth.forEach((month, projects) -> {
+                if ((from == null || !month.isBefore(from)) && (to == null || !month.isAfter(to))) {
+                    result.add(new Count(monthKey(month), month.toString(), projects));
+                }
+            });
+            return result;
+        });
+        counts.sort(Comparator.comparing(Count::id));
+        return counts;
+    }
+
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    /**
+     * Number of projects of one technology, state, developer or month.
+     *
+     * @param id the ID of the group, or null for the projects without a state
+     * @param name the name of the group, or null when it has none
+     * @param projects the number of projects in the group
+     */
+    public record Count(Integer id, String name, int projects) {
+
+        static final Comparator<Count> MOST_PROJECTS_FIRST = Comparator.comparingInt(Count::projects).reversed()
+                .thenComparing(Count::id);
+    }
+
+    /**
+     * Result of a reconciliation: how many counters of each kind differed from the database.
+     *
+     * @param technologies differing per-technology counts
+     * @param states differing per-state counts
+     * @param developers differing per-developer counts
+     * @param months differing per-month counts
+     */
+    public record Drift(int technologies, int states, int developers, int months) {
+
+        public int total() {
+            return technologies + states + developers + months;
+        }
+    }
+
+    // Datos por los que se cuenta un proyecto
+    private static final class Facts {
+        Integer stateId;
+        YearMonth month;
+        final Set<Integer> technologies = new HashSet<>(4);
+        final Set<Integer> developers = new HashSet<>(4);
+    }
+
+    // Estado mutable protegido por el cerrojo; se sustituye entero al reconstruir
+    private static final class Snapshot {
+        final Map<Integer, Facts> projects = new HashMap<>();
+        final Map<Integer, String> technologyNames = new HashMap<>();
+        // Solo recuentos mayores que cero (la clave null del estado son los proyectos sin estado)
+        final Map<Integer, Integer> projectsByTechnology = new HashMap<>();
+        final Map<Integer, Integer> projectsByDeveloper = new HashMap<>();
+        final Map<Integer, Integer> projectsByState = new HashMap<>();
+        final Map<YearMonth, Integer> projectsByMonth = new HashMap<>();
+
+        Facts register(int projectId) {
+            Facts facts = projects.get(projectId);
+            if (facts == null) {
+                facts = new Facts();
+                projects.put(projectId, facts);
+                increment(projectsByState, null);
+            }
+            return facts;
+        }
+
+        void unregister(int projectId) {
+            Facts facts = projects.remove(projectId);
+            if (facts == null) {
+                return;
+            }
+            decrement(projectsByState, facts.stateId);
+            if (facts.month != null) {
+                decrement(projectsByMonth, facts.month);
+            }
+            facts.technologies.forEach(id -> decrement(projectsByTechnology, id));
+            facts.developers.forEach(id -> decrement(projectsByDeveloper, id));
+        }
+
+        void moveState(Facts facts, Integer stateId) {
+            if (!Objects.equals(facts.stateId, stateId)) {
+                decrement(projectsByState, facts.stateId);
+                increment(projectsByState, stateId);
+                facts.stateId = stateId;
+            }
+        }
+
+        void moveMonth(Facts facts, YearMonth month) {
+            if (!Objects.equals(facts.month, month)) {
+                if (facts.month != null) {
+                    decrement(projectsByMonth, facts.month);
+                }
+                if (month != null) {
+                    increment(projectsByMonth, month);
+                }
+                facts.month = month;
+            }
+        }
+
+        void linkTechnology(int technologyId, int projectId) {
+            if (register(projectId).technologies.add(technologyId)) {
+                increment(projectsByTechnology, technologyId);
+            }
+        }
+
+        void unlinkTechnology(int technologyId, int projectId) {
+            Facts facts = projects.get(projectId);
+            if (facts != null && facts.technologies.remove(technologyId)) {
+                decrement(projectsByTechnology, technologyId);
+            }
+        }
+
+        void linkDeveloper(int developerId, int projectId) {
+            if (register(projectId).developers.add(developerId)) {
+                increment(projectsByDeveloper, developerId);
+            }
+        }
+
+        void unlinkDeveloper(int developerId, int projectId) {
+            Facts facts = projects.get(projectId);
+            if (facts != null && facts.developers.remove(developerId)) {
+                decrement(projectsByDeveloper, developerId);
+            }
+        }
+
+        private static <K> void increment(Map<K, Integer> counts, K key) {
+            counts.merge(key, 1, Integer::sum);
+        }
+
+        private static <K> void decrement(Map<K, Integer> counts, K key) {
+            counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.vedruna.proyectoFinalServidor1.index;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLink;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLinksRemovedEvent;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperSavedEvent;
+import com.vedruna.proyectoFinalServidor1.events.DevelopersDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectPatchedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectSavedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectsDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectsStateChangedEvent;
+import com.vedruna.proyectoFinalServidor1.events.StatesRefreshedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologiesDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLink;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksRemovedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologySavedEvent;
+
+/**
+ * Version counters used to build the ETags of project reads.
+ * Every committed write that can change a project representation bumps a single
+ * monotonic counter: the list version is the counter itself, and each project remembers
+ * the value of its last change. Writes whose affected projects are unknown (a technology
+ * renamed or deleted, a developer replaced or deleted, states reloaded) raise an epoch
+ * shared by all projects. Reading a version never touches the database.
+ */
+@Component
+public class ProjectVersionTracker {
+
+    // Se siembra con la hora para que las versiones no se repitan tras un reinicio
+    private final AtomicLong counter = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    // Versión del último cambio que afecta a todos los proyectos
+    private volatile long epoch = counter.get();
+
+    // ID del proyecto -> versión de su último cambio
+    private final Map<Integer, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the version of the project listings: it changes on every project write.
+     *
+     * @return the current list version
+     */
+    public long listVersion() {
+        return counter.get();
+    }
+
+    /**
+     * Returns the version of a single project.
+     *
+     * @param projectId the ID of the project
+     * @return the current version of the project
+     */
+    public long projectVersion(int projectId) {
+        return Math.max(epoch, versions.getOrDefault(projectId, 0L));
+    }
+
+    /**
+     * Gives a project a new version immediately, inside the current transaction.
+     * A conditional write calls it while it holds the project's row lock, so a concurrent
+     * request with the same If-Match value sees the new version once the lock is released.
+     *
+     * @param projectId the ID of the project
+     */
+    public void claim(int projectId) {
+        versions.put(projectId, counter.incrementAndGet());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectSaved(ProjectSavedEvent event) {
+        versions.put(event.projectId(), counter.incrementAndGet());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectPatched(ProjectPatchedEvent event) {
+        versions.put(event.projectId(), counter.incrementAndGet());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectsDeleted(ProjectsDeletedEvent event) {
+        counter.incrementAndGet();
+        event.projectIds().forEach(versions::remove);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectsStateChanged(ProjectsStateChangedEvent event) {
+        bump(event.projectIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologyLinksAdded(TechnologyLinksAddedEvent event) {
+        long version = counter.incrementAndGet();
+        for (TechnologyLink link : event.links()) {
+            versions.put(link.projectId(), version);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperLinksAdded(DeveloperLinksAddedEvent event) {
+        long version = counter.incrementAndGet();
+        for (DeveloperLink link : event.links()) {
+            versions.put(link.projectId(), version);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologyLinksRemoved(TechnologyLinksRemovedEvent event) {
+        bump(event.links().stream().map(TechnologyLink::projectId).toList());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperLinksRemoved(DeveloperLinksRemovedEvent event) {
+        bump(event.links().stream().map(DeveloperLink::projectId).toList());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologySaved(TechnologySavedEvent event) {
+        bumpAll();  // Un cambio de nombre afecta a todos los proyectos que la usan
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologiesDeleted(TechnologiesDeletedEvent event) {
+        bumpAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperSaved(DeveloperSavedEvent event) {
+        bumpAll();  // Sus datos aparecen en todos los proyectos en los que ha trabajado
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDevelopersDeleted(DevelopersDeletedEvent event) {
+        bumpAll();
+    }
+
+    @EventListener
+    public void onStatesRefreshed(StatesRefreshedEvent event) {
+        bumpAll();
+    }
+
+    private void bump(Collection<Integer> projectIds) {
+        long version = counter.incrementAndGet();
+        for (Integer projectId : projectIds) {
+            versions.put(projectId, version);
+        }
+    }
+
+    private void bumpAll() {
+        epoch = counter.incrementAndGet();
+    }
+}
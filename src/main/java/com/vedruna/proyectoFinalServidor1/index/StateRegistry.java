@@ -0,0 +1,112 @@
+package com.vedruna.proyectoFinalServidor1.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.vedruna.proyectoFinalServidor1.events.StatesRefreshedEvent;
+import com.vedruna.proyectoFinalServidor1.persistance.model.State;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.StateRepositoryI;
+
+/**
+ * Immutable in-process copy of the {@code status} table.
+ * The table is tiny and almost never changes, so it is loaded once at startup and
+ * swapped atomically on {@link #refresh()}; lookups by ID or name never hit the database.
+ */
+@Component
+public class StateRegistry {
+
+    @Autowired
+    StateRepositoryI stateRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    // Instantánea inmutable: se sustituye entera en cada recarga
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of(), List.of());
+
+    /**
+     * Reloads every state from the database and replaces the current snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void refresh() {
+        Map<Integer, Entry> byId = new HashMap<>();
+        Map<String, Entry> byName = new HashMap<>();
+        List<Entry> all = new ArrayList<>();
+        for (State state : stateRepository.findAll()) {
+            Entry entry = new Entry(state.getId(), state.getName());
+            byId.put(entry.id(), entry);
+            byName.putIfAbsent(normalize(entry.name()), entry);
+            all.add(entry);
+        }
+        all.sort(Comparator.comparingInt(Entry::id));
+        snapshot = new Snapshot(Map.copyOf(byId), Map.copyOf(byName), List.copyOf(all));
+        eventPublisher.publishEvent(new StatesRefreshedEvent());
+    }
+
+    /**
+     * Finds a state by its ID.
+     *
+     * @param id the ID of the state
+     * @return the state, or empty if it is not registered
+     */
+    public Optional<Entry> byId(int id) {
+        return Optional.ofNullable(snapshot.byId().get(id));
+    }
+
+    /**
+     * Finds a state by its name, ignoring case and surrounding blanks.
+     *
+     * @param name the name of the state
+     * @return the state, or empty if it is not registered
+     */
+    public Optional<Entry> byName(String name) {
+        return Optional.ofNullable(snapshot.byName().get(normalize(name)));
+    }
+
+    /**
+     * Returns the name of the state of a project without initializing the state proxy.
+     * States created after the last refresh fall back to the entity itself.
+     *
+     * @param state the state reference of a project, possibly an uninitialized proxy
+     * @return the name of the state, or null if the project has no state
+     */
+    public String nameOf(State state) {
+        if (state == null) {
+            return null;
+        }
+        Entry entry = snapshot.byId().get(state.getId());  // getId() no inicializa el proxy
+        return entry != null ? entry.name() : state.getName();
+    }
+
+    /**
+     * Returns every registered state ordered by ID.
+     *
+     * @return an immutable list of states
+     */
+    public List<Entry> all() {
+        return snapshot.all();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record Entry(int id, String name) {
+    }
+
+    private record Snapshot(Map<Integer, Entry> byId, Map<String, Entry> byName, List<Entry> all) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.vedruna.proyectoFinalServidor1.index;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vedruna.proyectoFinalServidor1.events.ProjectSavedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectsDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologiesDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLink;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksRemovedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologySavedEvent;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.ProjectRepositoryI;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.TechnologyLinkView;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.TechnologyNameView;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.TechnologyRepositoryI;
+
+/**
+ * In-memory bitmap index from technology to the projects that use it.
+ * Each technology owns a bitset addressed by project ID, so AND/OR/NOT filters are
+ * word-wise bit operations. Project IDs are dense auto-increment values, which keeps
+ * the bitsets at roughly one bit per project.
+ */
+@Component
+public class TechnologyBitmapIndex {
+
+    @Autowired
+    TechnologyRepositoryI technologyRepository;
+
+    @Autowired
+    ProjectRepositoryI projectRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // ID de la tecnología -> proyectos que la usan
+    private Map<Integer, BitSet> projectsByTechnology = new HashMap<>();
+
+    // Nombre normalizado de la tecnología -> ID
+    private Map<String, Integer> technologyIds = new HashMap<>();
+
+    // Todos los proyectos existentes (necesario para los filtros NOT)
+    private BitSet allProjects = new BitSet();
+
+    /**
+     * Rebuilds the index from the technologies, projects and join tables.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Integer, BitSet> newProjects = new HashMap<>();
+        Map<String, Integer> newIds = new HashMap<>();
+        BitSet newAll = new BitSet();
+        try (Stream<TechnologyNameView> rows = technologyRepository.streamAllNames()) {
+            rows.forEach(row -> {
+                newIds.put(normalize(row.getName()), row.getId());
+                newProjects.put(row.getId(), new BitSet());
+            });
+        }
+        try (Stream<TechnologyLinkView> rows = technologyRepository.streamAllLinks()) {
+            rows.forEach(row -> newProjects.computeIfAbsent(row.getTechnologyId(), id -> new BitSet()).set(row.getProjectId()));
+        }
+        try (Stream<Integer> ids = projectRepository.streamAllIds()) {
+            ids.forEach(newAll::set);
+        }
+        lock.writeLock().lock();
+        try {
+            projectsByTechnology = newProjects;
+            technologyIds = newIds;
+            allProjects = newAll;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectSaved(ProjectSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            allProjects.set(event.projectId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectsDeleted(ProjectsDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Integer projectId : event.projectIds()) {
+                allProjects.clear(projectId);
+                for (BitSet projects : projectsByTechnology.values()) {
+                    projects.clear(projectId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologySaved(TechnologySavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            technologyIds.values().remove(event.technologyId());  // Por si ha cambiado de nombre
+            technologyIds.put(normalize(event.name()), event.technologyId());
+            projectsByTechnology.computeIfAbsent(event.technologyId(), id -> new BitSet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologyLinksAdded(TechnologyLinksAddedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (TechnologyLink link : event.links()) {
+                projectsByTechnology.computeIfAbsent(link.technologyId(), id -> new BitSet()).set(link.projectId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologyLinksRemoved(TechnologyLinksRemovedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (TechnologyLink link : event.links()) {
+                BitSet projects = projectsByTechnology.get(link.technologyId());
+                if (projects != null) {
+                    projects.clear(link.projectId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologiesDeleted(TechnologiesDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Integer technologyId : event.technologyIds()) {
+                projectsByTechnology.remove(technologyId);
+                technologyIds.values().remove(technologyId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluates a technology filter.
+     * Projects must use every technology in {@code all}, at least one in {@code any}
+     * (when it is not empty) and none of the technologies in {@code none}.
+     * Unknown names in {@code all} match nothing; unknown names in {@code any} and
+     * {@code none} are ignored.
+     *
+     * @param all names of the technologies that must all be used
+     * @param any names of the technologies of which at least one must be used
+     * @param none names of the technologies that must not be used
+     * @return a new bitset with the IDs of the matching projects
+     */
+    public BitSet filter(Collection<String> all, Collection<String> any, Collection<String> none) {
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) allProjects.clone();
+            for (String name : all) {
+                BitSet projects = projectsOf(name);
+                if (projects == null) {
+                    return new BitSet();
+                }
+                result.and(projects);
+            }
+            if (!any.isEmpty()) {
+                BitSet union = new BitSet();
+                for (String name : any) {
+                    BitSet projects = projectsOf(name);
+                    if (projects != null) {
+                        union.or(projects);
+                    }
+                }
+                result.and(union);
+            }
+            for (String name : none) {
+                BitSet projects = projectsOf(name);
+                if (projects != null) {
+                    result.andNot(projects);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet projectsOf(String name) {
+        Integer technologyId = technologyIds.get(normalize(name));
+        return technologyId == null ? null : projectsByTechnology.get(technologyId);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,268 @@
+package com.vedruna.proyectoFinalServidor1.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vedruna.proyectoFinalServidor1.events.ProjectsDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologiesDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLink;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksRemovedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologySavedEvent;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.TechnologyLinkView;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.TechnologyNameView;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.TechnologyRepositoryI;
+
+/**
+ * Sparse, symmetric co-occurrence matrix over technology IDs: the cell of two
+ * technologies holds the number of projects that use both. Only the pairs that occur
+ * are stored, one row per technology, so the technologies used together with another
+ * are read from its row and a top-K query costs O(row size · log K) whatever the number
+ * of projects. The technologies of each project are kept as well, so adding a link
+ * increments the cells of the new technology with the project's other technologies and
+ * deleting a project decrements every pair it contributed.
+ */
+@Component
+public class TechnologyCooccurrence {
+
+    @Autowired
+    TechnologyRepositoryI technologyRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // ID de la tecnología -> (ID de otra tecnología -> proyectos que usan las dos)
+    private Map<Integer, Map<Integer, Integer>> matrix = new HashMap<>();
+
+    // ID del proyecto -> tecnologías que usa
+    private Map<Integer, Set<Integer>> technologiesOfProject = new HashMap<>();
+
+    private Map<Integer, String> names = new HashMap<>();
+
+    // Nombre normalizado de la tecnología -> ID
+    private Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * Rebuilds the matrix from the technologies and their join table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Integer, String> newNames = new HashMap<>();
+        Map<String, Integer> newIds = new HashMap<>();
+        Map<Integer, Set<Integer>> newTechnologies = new HashMap<>();
+        try (Stream<TechnologyNameView> rows = technologyRepository.streamAllNames()) {
+            rows.forEach(row -> {
+                newNames.put(row.getId(), row.getName());
+                newIds.put(normalize(row.getName()), row.getId());
+            });
+        }
+        try (Stream<TechnologyLinkView> rows = technologyRepository.streamAllLinks()) {
+            rows.forEach(row -> newTechnologies.computeIfAbsent(row.getProjectId(), id -> new HashSet<>(4)).add(row.getTechnologyId()));
+        }
+        // Cada proyecto suma uno a cada par de sus tecnologías
+        Map<Integer, Map<Integer, Integer>> newMatrix = new HashMap<>();
+        for (Set<Integer> technologies : newTechnologies.values()) {
+            for (Integer technology : technologies) {
+                for (Integer other : technologies) {
+                    if (!technology.equals(other)) {
+                        newMatrix.computeIfAbsent(technology, id -> new HashMap<>()).merge(other, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            matrix = newMatrix;
+            technologiesOfProject = newTechnologies;
+            names = newNames;
+            ids = newIds;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologySaved(TechnologySavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            ids.values().remove(event.technologyId());  // Por si ha cambiado de nombre
+            ids.put(normalize(event.name()), event.technologyId());
+            names.put(event.technologyId(), event.name());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologyLinksAdded(TechnologyLinksAddedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (TechnologyLink link : event.links()) {
+                Set<Integer> technologies = technologiesOfProject.computeIfAbsent(link.projectId(), id -> new HashSet<>(4));
+                if (technologies.add(link.technologyId())) {
+                    for (Integer other : technologies) {
+                        if (other != link.technologyId()) {
+                            adjust(link.technologyId(), other, 1);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologyLinksRemoved(TechnologyLinksRemovedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (TechnologyLink link : event.links()) {
+                Set<Integer> technologies = technologiesOfProject.get(link.projectId());
+                if (technologies != null && technologies.remove(link.technologyId())) {
+                    for (Integer other : technologies) {
+                        adjust(link.technologyId(), other, -1);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectsDeleted(ProjectsDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Integer projectId : event.projectIds()) {
+                Set<Integer> technologies = technologiesOfProject.remove(projectId);
+                if (technologies == null) {
+                    continue;
+                }
+                for (Integer technology : technologies) {
+                    for (Integer other : technologies) {
+                        if (technology < other) {
+                            adjust(technology, other, -1);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologiesDeleted(TechnologiesDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Integer technologyId : event.technologyIds()) {
+                Map<Integer, Integer> row = matrix.remove(technologyId);
+                if (row != null) {
+                    for (Integer other : row.keySet()) {
+                        removeCell(other, technologyId);
+                    }
+                }
+                names.remove(technologyId);
+                ids.values().remove(technologyId);
+            }
+            Set<Integer> deleted = Set.copyOf(event.technologyIds());
+            technologiesOfProject.values().forEach(technologies -> technologies.removeAll(deleted));  // Operación poco frecuente
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Modifica las dos celdas simétricas de un par; las que llegan a cero se eliminan
+    private void adjust(int technology, int other, int delta) {
+        adjustCell(technology, other, delta);
+        adjustCell(other, technology, delta);
+    }
+
+    private void adjustCell(int technology, int other, int delta) {
+        Map<Integer, Integer> row = matrix.computeIfAbsent(technology, id -> new HashMap<>());
+        int count = row.getOrDefault(other, 0) + delta;
+        if (count > 0) {
+            row.put(other, count);
+        } else {
+            row.remove(other);
+        }
+        if (row.isEmpty()) {
+            matrix.remove(technology);
+        }
+    }
+
+    private void removeCell(int technology, int other) {
+        Map<Integer, Integer> row = matrix.get(technology);
+        if (row != null) {
+            row.remove(other);
+            if (row.isEmpty()) {
+                matrix.remove(technology);
+            }
+        }
+    }
+
+    /**
+     * Returns the technologies most often used in the same projects as a technology.
+     *
+     * @param name the name of the technology, ignoring case and surrounding blanks
+     * @param limit the maximum number of technologies to return
+     * @return the technologies ordered by the number of shared projects (ties by ID),
+     *         or empty if no technology has that name
+     */
+    public Optional<List<Related>> usedWith(String name, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer technologyId = ids.get(normalize(name));
+            if (technologyId == null) {
+                return Optional.empty();
+            }
+            // Montículo de los K mejores: la cabeza es el peor de los que se quedan
+            PriorityQueue<Related> top = new PriorityQueue<>(Related.MOST_PROJECTS_FIRST.reversed());
+            matrix.getOrDefault(technologyId, Map.of()).forEach((other, projects) -> {
+                top.add(new Related(other, names.get(other), projects));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            });
+            List<Related> result = new ArrayList<>(top);
+            result.sort(Related.MOST_PROJECTS_FIRST);
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A technology used together with another one.
+     *
+     * @param id the ID of the technology
+     * @param name the name of the technology
+     * @param projects the number of projects that use both technologies
+     */
+    public record Related(int id, String name, int projects) {
+
+        static final Comparator<Related> MOST_PROJECTS_FIRST = Comparator.comparingInt(Related::projects).reversed()
+                .thenComparingInt(Related::id);
+    }
+}
@@ -0,0 +1,329 @@
+package com.vedruna.proyectoFinalServidor1.json;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * The formats the API can answer in besides JSON: CBOR, Smile and Protobuf.
+ * All of them are Jackson mappers configured like the application's {@code ObjectMapper},
+ * so they write the same fields and values; CBOR and Smile keep the exact JSON structure,
+ * while Protobuf needs a schema, which is generated from the response type and cached.
+ */
+@Component
+public class DataFormats {
+
+    private static final Logger log = LoggerFactory.getLogger(DataFormats.class);
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+
+    /** Concatenated CBOR items (RFC 8742), used by the export. */
+    public static final String CBOR_SEQ_VALUE = "application/cbor-seq";
+    public static final MediaType CBOR_SEQ = MediaType.valueOf(CBOR_SEQ_VALUE);
+
+    /** Protobuf messages; the export writes them length-delimited, one per project. */
+    public static final String PROTOBUF_VALUE = "application/x-protobuf";
+    public static final MediaType PROTOBUF = MediaType.valueOf(PROTOBUF_VALUE);
+
+    /** Formats of the API responses, in the order of their message converters. */
+    public static final List<MediaType> RESPONSE_FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE, PROTOBUF);
+
+    /** Formats of the export, in order of preference when the client accepts several. */
+    public static final List<MediaType> EXPORT_FORMATS = List.of(MediaType.APPLICATION_NDJSON, CBOR_SEQ, SMILE, PROTOBUF);
+
+    private final ObjectMapper json;
+    private final CBORMapper cbor;
+    private final SmileMapper smile;
+    private final ProtobufMapper protobuf;
+
+    // Esquema generado para cada tipo de respuesta; vacío si el tipo no se puede representar
+    private final ConcurrentMap<JavaType, Optional<ProtobufSchema>> schemas = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DataFormats(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+        this.json = objectMapper;
+        this.cbor = configure(builder, new CBORMapper());
+        this.smile = configure(builder, new SmileMapper());
+        this.protobuf = configure(builder, new ProtobufMapper());
+    }
+
+    private static <M extends ObjectMapper> M configure(Jackson2ObjectMapperBuilder builder, M mapper) {
+        builder.configure(mapper);
+        return mapper;
+    }
+
+    public CBORMapper cbor() {
+        return cbor;
+    }
+
+    public SmileMapper smile() {
+        return smile;
+    }
+
+    public ProtobufMapper protobuf() {
+        return protobuf;
+    }
+
+    /**
+     * Returns the type written as Protobuf for a response type. Pages are written as a
+     * {@link PagedModel}, whose structure (content and page metadata) does not depend on
+     * the implementation of {@link Page}.
+     *
+     * @param type the declared type of the response body
+     * @return the type to generate the schema for
+     */
+    public JavaType protobufType(Type type) {
+        JavaType javaType = protobuf.constructType(type);
+        if (javaType.isTypeOrSubTypeOf(Page.class)) {
+            JavaType[] content = protobuf.getTypeFactory().findTypeParameters(javaType, Page.class);
+            return protobuf.getTypeFactory().constructParametricType(PagedModel.class, content.length == 1 ? content[0] : protobuf.constructType(Object.class));
+        }
+        return javaType;
+    }
+
+    /**
+     * Converts a response body to the value written as Protobuf.
+     *
+     * @param value the response body
+     * @return the value matching {@link #protobufType(Type)}
+     */
+    public static Object protobufValue(Object value) {
+        return value instanceof Page<?> page ? new PagedModel<>(page) : value;
+    }
+
+    /**
+     * Returns the Protobuf schema of a type, generating it the first time.
+     * Types without a message structure (lists, scalars, untyped values) have no schema.
+     *
+     * @param type a type returned by {@link #protobufType(Type)}
+     * @return the schema, or empty if the type cannot be written as Protobuf
+     */
+    public Optional<ProtobufSchema> protobufSchema(JavaType type) {
+        return schemas.computeIfAbsent(type, key -> {
+            try {
+                return Optional.of(protobuf.generateSchemaFor(key));
+            } catch (Exception e) {
+                log.debug("No Protobuf schema for {}: {}", key, e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Chooses the export format for an {@code Accept} header: the one with the highest
+     * quality, and NDJSON when the header is missing or accepts anything.
+     *
+     * @param accept the {@code Accept} header, or null
+     * @return one of the {@link #EXPORT_FORMATS}
+     */
+    public static MediaType exportFormat(String accept) {
+        List<MediaType> accepted = new ArrayList<>(accept == null ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(accept));
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());  // Orden estable dentro de cada calidad
+        for (MediaType type : accepted) {
+            for (MediaType format : EXPORT_FORMATS) {
+                if (type.includes(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_NDJSON;
+    }
+
+    /**
+     * Predicts the format the message converters choose for an {@code Accept} header,
+     * following Spring's negotiation: the accepted types are ordered by quality and
+     * specificity and matched against the {@link #RESPONSE_FORMATS} in converter order.
+     * Conditional requests need it before the response body exists.
+     *
+     * @param accept the {@code Accept} header, or null
+     * @return one of the {@link #RESPONSE_FORMATS}; JSON when the header is invalid or
+     *         accepts none of them
+     */
+    public static MediaType responseFormat(String accept) {
+        List<MediaType> compatible = new ArrayList<>();
+        try {
+            List<MediaType> accepted = new ArrayList<>(accept == null ? List.of() : MediaType.parseMediaTypes(accept));
+            if (accepted.isEmpty()) {
+                return MediaType.APPLICATION_JSON;
+            }
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType type : accepted) {
+                for (MediaType format : RESPONSE_FORMATS) {
+                    if (type.isCompatibleWith(format)) {
+                        compatible.add(format.copyQualityValue(type));
+                    }
+                }
+            }
+            MimeTypeUtils.sortBySpecificity(compatible);
+        } catch (IllegalArgumentException e) {
+            return MediaType.APPLICATION_JSON;  // Spring responderá 400 o 406 sin usar el ETag
+        }
+        return compatible.isEmpty() ? MediaType.APPLICATION_JSON : compatible.get(0).removeQualityValue();
+    }
+
+    /**
+     * Returns the suffix that tells apart the ETags of the same version of a resource in
+     * each format: none for JSON, {@code -cbor}, {@code -smile} or {@code -protobuf}.
+     *
+     * @param format one of the {@link #RESPONSE_FORMATS}
+     * @return the suffix to append to the ETag value
+     */
+    public static String etagSuffix(MediaType format) {
+        if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(format)) {
+            return "-cbor";
+        }
+        if (SMILE.equalsTypeAndSubtype(format)) {
+            return "-smile";
+        }
+        if (PROTOBUF.equalsTypeAndSubtype(format)) {
+            return "-protobuf";
+        }
+        return "";
+    }
+
+    /**
+     * Opens a writer of consecutive values in one of the {@link #EXPORT_FORMATS}.
+     * The stream is not closed with the writer.
+     *
+     * @param format the format to write
+     * @param type the type of the values
+     * @param out the stream to write to
+     * @return the writer
+     * @throws IOException if the writer cannot be opened
+     * @throws IllegalArgumentException if the format is not one of the export formats
+     */
+    public SequenceWriter sequenceWriter(MediaType format, Class<?> type, OutputStream out) throws IOException {
+        if (MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(format)) {
+            return new GeneratorSequenceWriter(json, out, true);
+        }
+        if (CBOR_SEQ.equalsTypeAndSubtype(format)) {
+            return new GeneratorSequenceWriter(cbor, out, false);
+        }
+        if (SMILE.equalsTypeAndSubtype(format)) {
+            return new GeneratorSequenceWriter(smile, out, false);
+        }
+        if (PROTOBUF.equalsTypeAndSubtype(format)) {
+            ProtobufSchema schema = protobufSchema(protobuf.constructType(type))
+                    .orElseThrow(() -> new IllegalArgumentException("No Protobuf schema for " + type.getName()));
+            return new DelimitedProtobufWriter(protobuf.writer(schema), out);
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + format);
+    }
+
+    /**
+     * Writes values one after another to a stream.
+     */
+    public interface SequenceWriter extends Closeable {
+
+        void write(Object value) throws IOException;
+
+        /**
+         * Sends the values written so far to the stream.
+         *
+         * @throws IOException if writing fails
+         */
+        void flush() throws IOException;
+    }
+
+    // JSON (un objeto por línea), CBOR y Smile: valores raíz consecutivos con un solo generador
+    private static final class GeneratorSequenceWriter implements SequenceWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter writer;
+        private final boolean lines;
+
+        GeneratorSequenceWriter(ObjectMapper mapper, OutputStream out, boolean lines) throws IOException {
+            this.generator = mapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (lines) {
+                this.generator.setRootValueSeparator(null);  // El salto de línea se escribe tras cada objeto
+            }
+            this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.lines = lines;
+        }
+
+        @Override
+        public void write(Object value) throws IOException {
+            writer.writeValue(generator, value);
+            if (lines) {
+                generator.writeRaw('\n');
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    // Protobuf no tiene secuencias: cada mensaje va precedido de su longitud en varint
+    private static final class DelimitedProtobufWriter implements SequenceWriter {
+
+        private final ObjectWriter writer;
+        private final OutputStream out;
+        private final ByteArrayOutputStream message = new ByteArrayOutputStream(1024);
+
+        DelimitedProtobufWriter(ObjectWriter writer, OutputStream out) {
+            this.writer = writer;
+            this.out = new BufferedOutputStream(out, 8192);
+        }
+
+        @Override
+        public void write(Object value) throws IOException {
+            message.reset();
+            writer.writeValue(message, value);
+            int length = message.size();
+            while ((length & ~0x7F) != 0) {
+                out.write((length & 0x7F) | 0x80);
+                length >>>= 7;
+            }
+            out.write(length);
+            message.writeTo(out);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
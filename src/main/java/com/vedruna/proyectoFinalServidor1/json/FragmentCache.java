@@ -0,0 +1,72 @@
+package com.vedruna.proyectoFinalServidor1.json;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * Serialized JSON of the last version seen of each entity of one DTO type, keyed by ID.
+ * A fragment is only reused for a value equal to the one it was rendered from, so a
+ * renamed or edited entity is rendered again and replaces its old fragment; deleting
+ * the entity just frees the memory.
+ *
+ * @param <T> the DTO type
+ */
+final class FragmentCache<T> {
+
+    /**
+     * A rendered value and its JSON.
+     *
+     * @param value a private copy of the rendered value
+     * @param features the generator features the JSON was rendered with
+     * @param json the JSON, already encoded as UTF-8
+     */
+    record Fragment<T>(T value, int features, SerializedString json) {
+    }
+
+    private final Class<T> type;
+    private final ToIntFunction<T> id;
+    private final UnaryOperator<T> copy;
+    private final ConcurrentMap<Integer, Fragment<T>> fragments = new ConcurrentHashMap<>();
+
+    FragmentCache(Class<T> type, ToIntFunction<T> id, UnaryOperator<T> copy) {
+        this.type = type;
+        this.id = id;
+        this.copy = copy;
+    }
+
+    Class<T> type() {
+        return type;
+    }
+
+    /**
+     * Returns the JSON of a value if it was rendered before with the same features.
+     *
+     * @param value the value to serialize
+     * @param features the feature mask of the generator that will write it
+     * @return the JSON, or {@code null} if it has to be rendered
+     */
+    SerializedString get(T value, int features) {
+        Fragment<T> fragment = fragments.get(id.applyAsInt(value));
+        return fragment != null && fragment.features() == features && fragment.value().equals(value) ? fragment.json() : null;
+    }
+
+    void put(T value, int features, String json) {
+        SerializedString fragment = new SerializedString(json);
+        // Codifica el UTF-8 ahora: las escrituras copian directamente estos bytes
+        fragment.asUnquotedUTF8();
+        fragments.put(id.applyAsInt(value), new Fragment<>(copy.apply(value), features, fragment));
+    }
+
+    void evict(Collection<Integer> ids) {
+        fragments.keySet().removeAll(ids);
+    }
+
+    int size() {
+        return fragments.size();
+    }
+}
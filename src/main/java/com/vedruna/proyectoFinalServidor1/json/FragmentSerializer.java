@@ -0,0 +1,103 @@
+package com.vedruna.proyectoFinalServidor1.json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes a DTO from its cached JSON fragment, rendering it with the regular bean
+ * serializer the first time.
+ * Fragments are UTF-8 bytes, so they are only spliced into compact JSON written as UTF-8
+ * (HTTP responses, the export): text output escapes some characters differently, and
+ * pretty printing, custom escaping and binary formats always go through the regular
+ * serializer.
+ */
+final class FragmentSerializer<T> extends StdSerializer<T> implements ContextualSerializer, ResolvableSerializer {
+
+    private final FragmentCache<T> cache;
+    private final JsonSerializer<Object> delegate;
+
+    FragmentSerializer(FragmentCache<T> cache, JsonSerializer<Object> delegate) {
+        super(cache.type());
+        this.cache = cache;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (!(gen instanceof UTF8JsonGenerator json) || json.getPrettyPrinter() != null || json.getCharacterEscapes() != null
+                || json.getHighestEscapedChar() != 0 || !(gen.getCodec() instanceof ObjectMapper mapper)) {
+            delegate.serialize(value, gen, provider);
+            return;
+        }
+        SerializedString fragment = cache.get(value, gen.getFeatureMask());
+        if (fragment == null) {
+            render(value, mapper, provider);
+            fragment = cache.get(value, gen.getFeatureMask());
+        }
+        if (fragment == null) {
+            // El generador tiene características distintas de las de la configuración
+            delegate.serialize(value, gen, provider);
+            return;
+        }
+        gen.writeRawValue(fragment);
+    }
+
+    // Serializa el valor aparte, con la misma configuración, y guarda el resultado
+    private void render(T value, ObjectMapper mapper, SerializerProvider provider) throws IOException {
+        try (ByteArrayBuilder buffer = new ByteArrayBuilder();
+                JsonGenerator out = mapper.getFactory().createGenerator(buffer, JsonEncoding.UTF8)) {
+            provider.getConfig().initialize(out);
+            if (out.getPrettyPrinter() == null) {
+                delegate.serialize(value, out, provider);
+                out.flush();
+                cache.put(value, out.getFeatureMask(), new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Override
+    public void serializeWithType(T value, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+        delegate.serializeWithType(value, gen, provider, typeSer);
+    }
+
+    @Override
+    public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType type) throws JsonMappingException {
+        delegate.acceptJsonFormatVisitor(visitor, type);
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, T value) {
+        return delegate.isEmpty(provider, value);
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        JsonSerializer<Object> contextual = (JsonSerializer<Object>) provider.handlePrimaryContextualization(delegate, property);
+        return contextual == delegate ? this : new FragmentSerializer<>(cache, contextual);
+    }
+}
@@ -0,0 +1,80 @@
+package com.vedruna.proyectoFinalServidor1.json;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.vedruna.proyectoFinalServidor1.dto.DeveloperDTO;
+import com.vedruna.proyectoFinalServidor1.dto.TechnologyDTO;
+import com.vedruna.proyectoFinalServidor1.events.DevelopersDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologiesDeletedEvent;
+
+/**
+ * Jackson module that serializes each technology and developer once and splices the
+ * cached JSON into every project that references it.
+ * A page of projects repeats the same few technologies and developers many times; with
+ * the fragments, each of them costs a byte copy instead of a bean serialization. The
+ * output is byte-for-byte the one of the regular serializers, which still render every
+ * fragment the first time.
+ */
+@Component
+public class JsonFragmentModule extends SimpleModule {
+
+    private final FragmentCache<TechnologyDTO> technologies = new FragmentCache<>(TechnologyDTO.class,
+            TechnologyDTO::getId, t -> new TechnologyDTO(t.getId(), t.getName()));
+
+    private final FragmentCache<DeveloperDTO> developers = new FragmentCache<>(DeveloperDTO.class, DeveloperDTO::getId,
+            d -> new DeveloperDTO(d.getId(), d.getName(), d.getSurname(), d.getEmail(), d.getLinkedin_url(), d.getGithub_url()));
+
+    public JsonFragmentModule() {
+        super(JsonFragmentModule.class.getSimpleName());
+        List<FragmentCache<?>> caches = List.of(technologies, developers);
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+                for (FragmentCache<?> cache : caches) {
+                    if (beanDesc.getBeanClass() == cache.type()) {
+                        return new FragmentSerializer<>(cache, (JsonSerializer<Object>) serializer);
+                    }
+                }
+                return serializer;
+            }
+        });
+    }
+
+    /**
+     * Frees the fragments of removed technologies.
+     *
+     * @param event the removed technologies
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTechnologiesDeleted(TechnologiesDeletedEvent event) {
+        technologies.evict(event.technologyIds());
+    }
+
+    /**
+     * Frees the fragments of removed developers.
+     *
+     * @param event the removed developers
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDevelopersDeleted(DevelopersDeletedEvent event) {
+        developers.evict(event.developerIds());
+    }
+
+    /**
+     * Returns the number of cached technology and developer fragments.
+     *
+     * @return the number of fragments
+     */
+    public int fragments() {
+        return technologies.size() + developers.size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.vedruna.proyectoFinalServidor1.json;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+
+/**
+ * Writes response bodies as Protobuf messages with the schema generated for their type.
+ * Only responses whose type maps to a message (DTOs, {@code ResponseDTO}, pages) can be
+ * written; for any other type the converter declines and the client gets a 406. Request
+ * bodies are not read: the binary formats are only offered on reads.
+ */
+public class ProtobufJacksonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final DataFormats dataFormats;
+
+    public ProtobufJacksonHttpMessageConverter(DataFormats dataFormats) {
+        super(DataFormats.PROTOBUF);
+        this.dataFormats = dataFormats;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(mediaType) && dataFormats.protobufSchema(dataFormats.protobufType(type != null ? type : clazz)).isPresent();
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        JavaType javaType = dataFormats.protobufType(type != null ? type : object.getClass());
+        ProtobufSchema schema = dataFormats.protobufSchema(javaType)
+                .orElseThrow(() -> new HttpMessageNotWritableException("No Protobuf schema for " + javaType));
+        dataFormats.protobuf().writer(schema).writeValue(StreamUtils.nonClosing(outputMessage.getBody()), DataFormats.protobufValue(object));
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+}
@@ -0,0 +1,28 @@
+package com.vedruna.proyectoFinalServidor1.metrics;
+
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+/**
+ * Adds the controller method and the query budget outcome to the
+ * {@code http.server.requests} timers, so every endpoint gets its own latency
+ * percentiles even when several methods share a URI.
+ */
+@Component
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        Object budget = context.getCarrier().getAttribute(QueryBudgetInterceptor.BUDGET_ATTRIBUTE);
+        return super.getLowCardinalityKeyValues(context).and(
+                KeyValue.of("handler", handler instanceof HandlerMethod method ? QueryBudgetInterceptor.handlerName(method) : "none"),
+                KeyValue.of("query.budget", budget != null ? budget.toString() : "none"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.vedruna.proyectoFinalServidor1.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Attributes Hibernate activity to the controller method that handled each request.
+ * The statement, query, entity load and collection fetch counts are recorded as
+ * {@code hibernate.request.*} distribution summaries tagged with the handler, and
+ * requests that run more statements than {@code metrics.query-budget} (a typical N+1
+ * symptom) are logged, counted and tagged on {@code http.server.requests}.
+ */
+@Component
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    // Atributo de la petición con el resultado de la comprobación del presupuesto
+    static final String BUDGET_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".budget";
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${metrics.query-budget:20}")
+    int queryBudget;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestStatistics.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return;
+        }
+        RequestStatistics.Snapshot statistics = RequestStatistics.snapshot();
+        String name = handlerName(method);
+        record("hibernate.request.statements", "JDBC statements per request", name, statistics.statements());
+        record("hibernate.request.queries", "Queries per request", name, statistics.queries());
+        record("hibernate.request.entity.loads", "Entities loaded per request", name, statistics.entityLoads());
+        record("hibernate.request.collection.fetches", "Lazy collections fetched per request", name, statistics.collectionFetches());
+
+        boolean exceeded = statistics.statements() > queryBudget;
+        request.setAttribute(BUDGET_ATTRIBUTE, exceeded ? "exceeded" : "within");
+        if (exceeded) {
+            Counter.builder("hibernate.request.budget.exceeded")
+                    .description("Requests that ran more statements than the query budget")
+                    .tag("handler", name)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} ({}) ran {} SQL statements, over the budget of {}: {} queries, {} entity loads, {} collection fetches",
+                    request.getMethod(), request.getRequestURI(), name, statistics.statements(), queryBudget,
+                    statistics.queries(), statistics.entityLoads(), statistics.collectionFetches());
+        }
+    }
+
+    private void record(String meter, String description, String handler, long value) {
+        DistributionSummary.builder(meter)
+                .description(description)
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(value);
+    }
+
+    static String handlerName(HandlerMethod method) {
+        return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+    }
+}
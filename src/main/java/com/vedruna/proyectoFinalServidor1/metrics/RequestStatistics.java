@@ -0,0 +1,59 @@
+package com.vedruna.proyectoFinalServidor1.metrics;
+
+/**
+ * Hibernate activity of the request being handled by the current thread.
+ * {@link RequestStatisticsFactory} adds every statement, query, entity load and
+ * collection fetch to these counters besides the global statistics, and
+ * {@link QueryBudgetInterceptor} resets them when a request starts. Work done on
+ * other threads (asynchronous exports, reactive streams) is not attributed.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<Counters> CURRENT = ThreadLocal.withInitial(Counters::new);
+
+    private RequestStatistics() {
+    }
+
+    /**
+     * Starts counting from zero on the current thread.
+     */
+    public static void reset() {
+        Counters counters = CURRENT.get();
+        counters.statements = 0;
+        counters.queries = 0;
+        counters.entityLoads = 0;
+        counters.collectionFetches = 0;
+    }
+
+    /**
+     * Returns the counts accumulated on the current thread since the last reset.
+     *
+     * @return a snapshot of the current counters
+     */
+    public static Snapshot snapshot() {
+        Counters counters = CURRENT.get();
+        return new Snapshot(counters.statements, counters.queries, counters.entityLoads, counters.collectionFetches);
+    }
+
+    static Counters current() {
+        return CURRENT.get();
+    }
+
+    static final class Counters {
+        long statements;
+        long queries;
+        long entityLoads;
+        long collectionFetches;
+    }
+
+    /**
+     * Hibernate activity of one request.
+     *
+     * @param statements JDBC statements prepared
+     * @param queries HQL, criteria and native queries executed
+     * @param entityLoads entities loaded from the database
+     * @param collectionFetches lazy collections initialized with their own query
+     */
+    public record Snapshot(long statements, long queries, long entityLoads, long collectionFetches) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.vedruna.proyectoFinalServidor1.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Builds Hibernate's regular statistics, additionally counting per request.
+ * Registered through {@code hibernate.stats.factory}; it only sees events while
+ * {@code hibernate.generate_statistics} is enabled.
+ */
+public class RequestStatisticsFactory implements StatisticsFactory {
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new StatisticsImpl(sessionFactory) {
+
+            @Override
+            public void prepareStatement() {
+                super.prepareStatement();
+                RequestStatistics.current().statements++;
+            }
+
+            @Override
+            public void queryExecuted(String hql, int rows, long time) {
+                super.queryExecuted(hql, rows, time);
+                RequestStatistics.current().queries++;
+            }
+
+            @Override
+            public void loadEntity(String entityName) {
+                super.loadEntity(entityName);
+                RequestStatistics.current().entityLoads++;
+            }
+
+            @Override
+            public void fetchCollection(String role) {
+                super.fetchCollection(role);
+                RequestStatistics.current().collectionFetches++;
+            }
+        };
+    }
+}
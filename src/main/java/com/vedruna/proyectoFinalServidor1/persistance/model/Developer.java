@@ -6,6 +6,10 @@ import java.util.List;
 
 import com.vedruna.proyectoFinalServidor1.validation.ValidUrl;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -16,6 +20,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -28,6 +33,8 @@ import lombok.NoArgsConstructor;
 // Anotación para indicar que esta clase es una entidad en la base de datos.
 @Entity
 // Define el nombre de la tabla en la base de datos para esta entidad.
+@Cacheable // Entidad guardada en la caché de segundo nivel
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "developers") // Región configurada en hibernate-caffeine.conf
 @Table(name="developers")
 public class Developer implements Serializable {
 
@@ -76,7 +83,9 @@ public class Developer implements Serializable {
     @JoinTable(
         name="developers_worked_on_projects", 
         joinColumns={@JoinColumn(name="developers_dev_id")}, 
-        inverseJoinColumns={@JoinColumn(name="projects_project_id")}
+        inverseJoinColumns={@JoinColumn(name="projects_project_id")},
+        // Cada par desarrollador-proyecto se guarda una sola vez
+        uniqueConstraints={@UniqueConstraint(columnNames={"developers_dev_id", "projects_project_id"})}
     )
     // Lista de proyectos en los que el desarrollador ha trabajado.
     private List<Project> projectsDevelopers = new ArrayList<>();
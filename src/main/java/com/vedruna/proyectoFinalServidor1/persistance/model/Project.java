@@ -5,6 +5,9 @@ import java.sql.Date;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.vedruna.proyectoFinalServidor1.validation.ValidUrl;
 
 import jakarta.persistence.CascadeType;
@@ -69,11 +72,13 @@ public class Project implements Serializable {
     private State stateProject;
 
     // Relación Muchos a Muchos (Many-to-Many) con la entidad Technology
-    @ManyToMany(cascade = {CascadeType.ALL}, mappedBy="projectsTechnologies") // Relación bidireccional con la entidad Technology
+    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, mappedBy="projectsTechnologies") // Relación bidireccional con la entidad Technology
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project-technologies") // IDs de las tecnologías en caché
     private List<Technology> technologies = new ArrayList<>();
 
     // Relación Muchos a Muchos (Many-to-Many) con la entidad Developer
-    @ManyToMany(cascade = {CascadeType.ALL}, mappedBy="projectsDevelopers") // Relación bidireccional con la entidad Developer
+    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, mappedBy="projectsDevelopers") // Relación bidireccional con la entidad Developer
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project-developers") // IDs de los desarrolladores en caché
     private List<Developer> developers = new ArrayList<>();
 
 }
@@ -2,6 +2,10 @@ package com.vedruna.proyectoFinalServidor1.persistance.model;
 
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -17,6 +21,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor // Genera un constructor sin parámetros
 @Data // Lombok genera los métodos getter, setter, toString, equals, hashCode automáticamente
 @Entity // Marca la clase como una entidad JPA que se mapea a una tabla en la base de datos
+@Cacheable // Entidad guardada en la caché de segundo nivel
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "states") // Región configurada en hibernate-caffeine.conf
 @Table(name="status") // Especifica el nombre de la tabla en la base de datos
 public class State {
 
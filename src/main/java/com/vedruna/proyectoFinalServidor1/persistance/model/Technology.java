@@ -4,6 +4,10 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,6 +16,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,6 +24,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor // Genera un constructor sin parámetros
 @Data // Lombok genera automáticamente los métodos getter, setter, toString, equals, hashCode
 @Entity // Marca la clase como una entidad JPA (se mapea a una tabla de la base de datos)
+@Cacheable // Entidad guardada en la caché de segundo nivel
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "technologies") // Región configurada en hibernate-caffeine.conf
 @Table(name="technologies") // Especifica el nombre de la tabla en la base de datos
 public class Technology implements Serializable {
 
@@ -34,7 +41,8 @@ public class Technology implements Serializable {
     @ManyToMany(cascade = {CascadeType.PERSIST}) // Indica que puede haber múltiples proyectos asociados a esta tecnología
     @JoinTable(name="technologies_used_in_projects", // Define la tabla de unión en la base de datos para la relación
         joinColumns={@JoinColumn(name="technologies_tech_id")}, // Especifica el nombre de la columna para la tecnología en la tabla de unión
-        inverseJoinColumns={@JoinColumn(name="projects_project_id")}) // Especifica el nombre de la columna para el proyecto en la tabla de unión
+        inverseJoinColumns={@JoinColumn(name="projects_project_id")}, // Especifica el nombre de la columna para el proyecto en la tabla de unión
+        uniqueConstraints={@UniqueConstraint(columnNames={"technologies_tech_id", "projects_project_id"})}) // Cada par se guarda una sola vez
     private List<Project> projectsTechnologies = new ArrayList<>(); // Lista de proyectos asociados a esta tecnología
 
 }
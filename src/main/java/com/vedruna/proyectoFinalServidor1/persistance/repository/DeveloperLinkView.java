@@ -0,0 +1,11 @@
+package com.vedruna.proyectoFinalServidor1.persistance.repository;
+
+/**
+ * Proyección de una fila de la tabla developers_worked_on_projects.
+ */
+public interface DeveloperLinkView {
+
+    Integer getDeveloperId();
+
+    Integer getProjectId();
+}
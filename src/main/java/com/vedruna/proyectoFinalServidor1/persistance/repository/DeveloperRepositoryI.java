@@ -1,10 +1,62 @@
 package com.vedruna.proyectoFinalServidor1.persistance.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.vedruna.proyectoFinalServidor1.persistance.model.Developer;
 
+import jakarta.persistence.QueryHint;
+
 public interface DeveloperRepositoryI extends JpaRepository<Developer, Integer> {
-    
+    @Query("SELECT d.id AS developerId, p.id AS projectId FROM Developer d JOIN d.projectsDevelopers p")
+    Stream<DeveloperLinkView> streamAllLinks();
+    @Query("SELECT d.id AS id, count(p) AS projects FROM Developer d JOIN d.projectsDevelopers p GROUP BY d.id")
+    List<GroupCountView> countProjects();
+
+
+    // Asociación por conjuntos: solo se leen y escriben las filas pedidas
+    @Query("SELECT d.id FROM Developer d WHERE d.id IN :ids")
+    List<Integer> findExistingIds(Collection<Integer> ids);
+    @Query("SELECT d.id FROM Developer d JOIN d.projectsDevelopers p WHERE p.id = :projectId AND d.id IN :ids")
+    List<Integer> findIdsLinkedToProject(int projectId, Collection<Integer> ids);
+    // Solo se invalidan las regiones de caché que dependen de la tabla de unión
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "developers_worked_on_projects"))
+    @Modifying
+    // Con el proyecto bloqueado basta NOT EXISTS; la clave única (db/join-table-unique-keys.sql) descarta además cualquier duplicado
+    @Query(value = "INSERT IGNORE INTO developers_worked_on_projects (developers_dev_id, projects_project_id) "
+            + "SELECT d.dev_id, :projectId FROM developers d WHERE d.dev_id IN (:ids) AND NOT EXISTS ("
+            + "SELECT 1 FROM developers_worked_on_projects l WHERE l.developers_dev_id = d.dev_id AND l.projects_project_id = :projectId)",
+            nativeQuery = true)
+    int linkToProject(int projectId, Collection<Integer> ids);
+    @Query("SELECT d.id FROM Developer d JOIN d.projectsDevelopers p WHERE p.id = :projectId")
+    List<Integer> findIdsByProjectId(int projectId);
+    @Query("SELECT p.id FROM Developer d JOIN d.projectsDevelopers p WHERE d.id = :developerId")
+    List<Integer> findProjectIdsByDeveloperId(int developerId);
+    // Lectura con bloqueo: devuelve las filas confirmadas más recientes, no la instantánea de la transacción
+    @Query(value = "SELECT projects_project_id FROM developers_worked_on_projects WHERE developers_dev_id = :developerId FOR UPDATE",
+            nativeQuery = true)
+    List<Integer> lockProjectIdsByDeveloperId(int developerId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "developers_worked_on_projects"))
+    @Modifying
+    @Query(value = "DELETE FROM developers_worked_on_projects WHERE projects_project_id = :projectId AND developers_dev_id IN (:ids)", nativeQuery = true)
+    int unlinkFromProject(int projectId, Collection<Integer> ids);
+    // Borrado por conjuntos: primero la tabla de unión y después las filas de los desarrolladores
+    @Query("SELECT d.id FROM Developer d WHERE lower(concat(d.name, ' ', d.surname)) LIKE lower(concat('%', :name, '%')) ORDER BY d.id")
+    List<Integer> findIdsByNameContaining(String name);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "developers_worked_on_projects"))
+    @Modifying
+    @Query(value = "DELETE FROM developers_worked_on_projects WHERE developers_dev_id IN (:ids)", nativeQuery = true)
+    int unlinkAll(Collection<Integer> ids);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "developers"))
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM developers WHERE dev_id IN (:ids)", nativeQuery = true)
+    int deleteByIdIn(Collection<Integer> ids);
     
 } 
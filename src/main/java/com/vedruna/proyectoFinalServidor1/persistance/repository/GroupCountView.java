@@ -0,0 +1,11 @@
+package com.vedruna.proyectoFinalServidor1.persistance.repository;
+
+/**
+ * Proyección de un GROUP BY: la clave del grupo y el número de proyectos que contiene.
+ */
+public interface GroupCountView {
+
+    Integer getId();
+
+    Long getProjects();
+}
@@ -0,0 +1,12 @@
+package com.vedruna.proyectoFinalServidor1.persistance.repository;
+
+/**
+ * Proyección mínima de un proyecto (solo ID y nombre), usada para construir
+ * el índice de búsqueda sin cargar entidades completas.
+ */
+public interface ProjectNameView {
+
+    Integer getId();
+
+    String getName();
+}
@@ -1,21 +1,88 @@
 package com.vedruna.proyectoFinalServidor1.persistance.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import com.vedruna.proyectoFinalServidor1.dto.ProjectDTO;
 import com.vedruna.proyectoFinalServidor1.persistance.model.Project;
+import com.vedruna.proyectoFinalServidor1.persistance.model.State;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 
 public interface ProjectRepositoryI extends JpaRepository<Project, Integer> {
     public Optional<Project> findByName(String name);
     Page<Project> findAll(Pageable pageable);
-    @Query("SELECT p FROM Project p JOIN p.technologies t WHERE t.name = :techName")
-    List<ProjectDTO> findProjectsByTechnology(String techName);
+    @Query("SELECT p.id AS id, p.name AS name FROM Project p")
+    Stream<ProjectNameView> streamAllNames();
+    // Cursor de solo avance: el driver trae las filas por bloques en lugar de todo el resultado
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.id FROM Project p ORDER BY p.id")
+    Stream<Integer> streamAllIds();
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.id AS id, s.id AS stateId, p.start_date AS startDate FROM Project p LEFT JOIN p.stateProject s")
+    Stream<ProjectStatsView> streamAllStats();
+
+    // Recuentos agrupados con los que se comprueban las estadísticas en memoria
+    @Query("SELECT s.id AS id, count(p) AS projects FROM Project p LEFT JOIN p.stateProject s GROUP BY s.id")
+    List<GroupCountView> countByState();
+    @Query("SELECT year(p.start_date) * 100 + month(p.start_date) AS id, count(p) AS projects FROM Project p "
+            + "WHERE p.start_date IS NOT NULL GROUP BY year(p.start_date) * 100 + month(p.start_date)")
+    List<GroupCountView> countByStartMonth();
+
+    // Plan de carga de una página: primero los IDs y después las asociaciones en lote
+    @Query(value = "SELECT p.id FROM Project p ORDER BY p.id", countQuery = "SELECT count(p) FROM Project p")
+    Page<Integer> findPageOfIds(Pageable pageable);
+    // Paginación por cursor: sin OFFSET ni count(*)
+    @Query("SELECT p.id FROM Project p WHERE p.id > :after ORDER BY p.id")
+    List<Integer> findIdsAfter(int after, Limit limit);
+    @Query("SELECT DISTINCT p FROM Project p LEFT JOIN FETCH p.technologies WHERE p.id IN :ids")
+    List<Project> findWithTechnologiesByIdIn(Collection<Integer> ids);
+    @Query("SELECT DISTINCT p FROM Project p LEFT JOIN FETCH p.developers WHERE p.id IN :ids")
+    List<Project> findWithDevelopersByIdIn(Collection<Integer> ids);
+
+    // Cambios de estado masivos: se resuelven los IDs y se actualizan con una sola sentencia
+    @Query("SELECT p.id FROM Project p WHERE p.id IN :ids ORDER BY p.id")
+    List<Integer> findExistingIds(Collection<Integer> ids);
+    @Query("SELECT p.id FROM Project p WHERE p.stateProject.id = :stateId ORDER BY p.id")
+    List<Integer> findIdsByStateId(int stateId);
+    @Query("SELECT p.id FROM Project p WHERE p.stateProject.id = :stateId AND p.id IN :ids ORDER BY p.id")
+    List<Integer> findIdsByStateIdAndIdIn(int stateId, Collection<Integer> ids);
+    // Bloquea la fila del proyecto durante las escrituras condicionales (If-Match)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Project p WHERE p.id = :id")
+    Optional<Integer> lockById(int id);
+    // Bloquea varios proyectos en orden de ID, el mismo orden en todas las transacciones para evitar interbloqueos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id IN :ids ORDER BY p.id")
+    List<Project> lockAllById(Collection<Integer> ids);
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Project p SET p.stateProject = :state WHERE p.id IN :ids")
+    int updateStateByIdIn(State state, Collection<Integer> ids);
+    // Borrado por conjuntos: primero las tablas de unión y después las filas de los proyectos
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES, value = "technologies_used_in_projects"))
+    @Modifying
+    @Query(value = "DELETE FROM technologies_used_in_projects WHERE projects_project_id IN (:ids)", nativeQuery = true)
+    int unlinkTechnologies(Collection<Integer> ids);
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES, value = "developers_worked_on_projects"))
+    @Modifying
+    @Query(value = "DELETE FROM developers_worked_on_projects WHERE projects_project_id IN (:ids)", nativeQuery = true)
+    int unlinkDevelopers(Collection<Integer> ids);
+    // En SQL nativo: el DELETE de JPQL volvería a limpiar las tablas de unión con subconsultas
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES, value = "projects"))
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM projects WHERE project_id IN (:ids)", nativeQuery = true)
+    int deleteByIdIn(Collection<Integer> ids);
     
 } 
@@ -0,0 +1,16 @@
+package com.vedruna.proyectoFinalServidor1.persistance.repository;
+
+import java.sql.Date;
+
+/**
+ * Proyección de los datos de un proyecto que se agregan en las estadísticas:
+ * su estado y su fecha de inicio.
+ */
+public interface ProjectStatsView {
+
+    Integer getId();
+
+    Integer getStateId();
+
+    Date getStartDate();
+}
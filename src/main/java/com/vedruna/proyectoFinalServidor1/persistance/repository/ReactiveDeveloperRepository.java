@@ -0,0 +1,55 @@
+package com.vedruna.proyectoFinalServidor1.persistance.repository;
+
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.vedruna.proyectoFinalServidor1.dto.DeveloperDTO;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+
+/**
+ * Lecturas reactivas (R2DBC) de los desarrolladores y de la tabla developers_worked_on_projects.
+ */
+@Repository
+public class ReactiveDeveloperRepository {
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    // Paginación por cursor: cada lote empieza después del último ID leído
+    public Flux<DeveloperDTO> findAfter(int after, int limit) {
+        return databaseClient.sql("SELECT dev_id, dev_name, dev_surname, email, linkedin_url, github_url "
+                        + "FROM developers WHERE dev_id > :after ORDER BY dev_id LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveDeveloperRepository::toDTO)
+                .all();
+    }
+
+    // Desarrolladores de un lote de proyectos con una sola consulta
+    public Flux<ProjectDeveloper> findByProjectIds(Collection<Integer> projectIds) {
+        return databaseClient.sql("SELECT j.projects_project_id, d.dev_id, d.dev_name, d.dev_surname, d.email, d.linkedin_url, d.github_url "
+                        + "FROM developers_worked_on_projects j JOIN developers d ON d.dev_id = j.developers_dev_id "
+                        + "WHERE j.projects_project_id IN (:projectIds) ORDER BY j.projects_project_id, d.dev_id")
+                .bind("projectIds", projectIds)
+                .map(row -> new ProjectDeveloper(row.get("projects_project_id", Integer.class), toDTO(row)))
+                .all();
+    }
+
+    private static DeveloperDTO toDTO(Readable row) {
+        return new DeveloperDTO(
+                row.get("dev_id", Integer.class),
+                row.get("dev_name", String.class),
+                row.get("dev_surname", String.class),
+                row.get("email", String.class),
+                row.get("linkedin_url", String.class),
+                row.get("github_url", String.class));
+    }
+
+    public record ProjectDeveloper(int projectId, DeveloperDTO developer) {
+    }
+}
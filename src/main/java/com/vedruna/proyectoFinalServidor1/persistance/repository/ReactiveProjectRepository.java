@@ -0,0 +1,56 @@
+package com.vedruna.proyectoFinalServidor1.persistance.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.vedruna.proyectoFinalServidor1.dto.ProjectDTO;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Lecturas reactivas (R2DBC) de la tabla de proyectos, por lotes ordenados por ID.
+ */
+@Repository
+public class ReactiveProjectRepository {
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    // Paginación por cursor: cada lote empieza después del último ID leído
+    public Flux<ProjectRow> findAfter(int after, int limit) {
+        return databaseClient.sql("SELECT project_id, project_name, description, start_date, end_date, repository_url, demo_url, picture, status_status_id "
+                        + "FROM projects WHERE project_id > :after ORDER BY project_id LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(row -> new ProjectRow(
+                        new ProjectDTO(
+                                row.get("project_id", Integer.class),
+                                row.get("project_name", String.class),
+                                row.get("description", String.class),
+                                toDate(row.get("start_date", LocalDate.class)),
+                                toDate(row.get("end_date", LocalDate.class)),
+                                row.get("repository_url", String.class),
+                                row.get("demo_url", String.class),
+                                row.get("picture", String.class),
+                                null,
+                                new ArrayList<>(),
+                                new ArrayList<>()),
+                        row.get("status_status_id", Integer.class)))
+                .all();
+    }
+
+    private static Date toDate(LocalDate value) {
+        return value == null ? null : Date.valueOf(value);
+    }
+
+    /**
+     * Fila de un proyecto sin asociaciones; el nombre del estado se resuelve después.
+     */
+    public record ProjectRow(ProjectDTO project, Integer stateId) {
+    }
+}
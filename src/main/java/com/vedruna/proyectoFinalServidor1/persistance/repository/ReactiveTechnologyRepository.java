@@ -0,0 +1,45 @@
+package com.vedruna.proyectoFinalServidor1.persistance.repository;
+
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.vedruna.proyectoFinalServidor1.dto.TechnologyDTO;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Lecturas reactivas (R2DBC) de las tecnologías y de la tabla technologies_used_in_projects.
+ */
+@Repository
+public class ReactiveTechnologyRepository {
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    // Paginación por cursor: cada lote empieza después del último ID leído
+    public Flux<TechnologyDTO> findAfter(int after, int limit) {
+        return databaseClient.sql("SELECT tech_id, tech_name FROM technologies WHERE tech_id > :after ORDER BY tech_id LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(row -> new TechnologyDTO(row.get("tech_id", Integer.class), row.get("tech_name", String.class)))
+                .all();
+    }
+
+    // Tecnologías de un lote de proyectos con una sola consulta
+    public Flux<ProjectTechnology> findByProjectIds(Collection<Integer> projectIds) {
+        return databaseClient.sql("SELECT j.projects_project_id, t.tech_id, t.tech_name FROM technologies_used_in_projects j "
+                        + "JOIN technologies t ON t.tech_id = j.technologies_tech_id "
+                        + "WHERE j.projects_project_id IN (:projectIds) ORDER BY j.projects_project_id, t.tech_id")
+                .bind("projectIds", projectIds)
+                .map(row -> new ProjectTechnology(
+                        row.get("projects_project_id", Integer.class),
+                        new TechnologyDTO(row.get("tech_id", Integer.class), row.get("tech_name", String.class))))
+                .all();
+    }
+
+    public record ProjectTechnology(int projectId, TechnologyDTO technology) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.vedruna.proyectoFinalServidor1.persistance.repository;
+
+/**
+ * Proyección de una fila de la tabla technologies_used_in_projects.
+ */
+public interface TechnologyLinkView {
+
+    Integer getTechnologyId();
+
+    Integer getProjectId();
+}
@@ -0,0 +1,11 @@
+package com.vedruna.proyectoFinalServidor1.persistance.repository;
+
+/**
+ * Proyección mínima de una tecnología (solo ID y nombre).
+ */
+public interface TechnologyNameView {
+
+    Integer getId();
+
+    String getName();
+}
@@ -1,10 +1,57 @@
 package com.vedruna.proyectoFinalServidor1.persistance.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.vedruna.proyectoFinalServidor1.persistance.model.Technology;
 
+import jakarta.persistence.QueryHint;
+
 public interface TechnologyRepositoryI extends JpaRepository<Technology, Integer> {
-    
+    @Query("SELECT t.id AS id, t.name AS name FROM Technology t")
+    Stream<TechnologyNameView> streamAllNames();
+    @Query("SELECT t.id AS technologyId, p.id AS projectId FROM Technology t JOIN t.projectsTechnologies p")
+    Stream<TechnologyLinkView> streamAllLinks();
+    @Query("SELECT t.id AS id, count(p) AS projects FROM Technology t JOIN t.projectsTechnologies p GROUP BY t.id")
+    List<GroupCountView> countProjects();
+
+    // Asociación por conjuntos: solo se leen y escriben las filas pedidas
+    @Query("SELECT t.id FROM Technology t WHERE t.id IN :ids")
+    List<Integer> findExistingIds(Collection<Integer> ids);
+    @Query("SELECT t.id FROM Technology t JOIN t.projectsTechnologies p WHERE p.id = :projectId AND t.id IN :ids")
+    List<Integer> findIdsLinkedToProject(int projectId, Collection<Integer> ids);
+    // Solo se invalidan las regiones de caché que dependen de la tabla de unión
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "technologies_used_in_projects"))
+    @Modifying
+    // Con el proyecto bloqueado basta NOT EXISTS; la clave única (db/join-table-unique-keys.sql) descarta además cualquier duplicado
+    @Query(value = "INSERT IGNORE INTO technologies_used_in_projects (technologies_tech_id, projects_project_id) "
+            + "SELECT t.tech_id, :projectId FROM technologies t WHERE t.tech_id IN (:ids) AND NOT EXISTS ("
+            + "SELECT 1 FROM technologies_used_in_projects l WHERE l.technologies_tech_id = t.tech_id AND l.projects_project_id = :projectId)",
+            nativeQuery = true)
+    int linkToProject(int projectId, Collection<Integer> ids);
+    @Query("SELECT t.id FROM Technology t JOIN t.projectsTechnologies p WHERE p.id = :projectId")
+    List<Integer> findIdsByProjectId(int projectId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "technologies_used_in_projects"))
+    @Modifying
+    @Query(value = "DELETE FROM technologies_used_in_projects WHERE projects_project_id = :projectId AND technologies_tech_id IN (:ids)", nativeQuery = true)
+    int unlinkFromProject(int projectId, Collection<Integer> ids);
+    // Borrado por conjuntos: primero la tabla de unión y después las filas de las tecnologías
+    @Query("SELECT t.id FROM Technology t WHERE lower(t.name) LIKE lower(concat('%', :name, '%')) ORDER BY t.id")
+    List<Integer> findIdsByNameContaining(String name);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "technologies_used_in_projects"))
+    @Modifying
+    @Query(value = "DELETE FROM technologies_used_in_projects WHERE technologies_tech_id IN (:ids)", nativeQuery = true)
+    int unlinkAll(Collection<Integer> ids);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "technologies"))
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM technologies WHERE tech_id IN (:ids)", nativeQuery = true)
+    int deleteByIdIn(Collection<Integer> ids);
     
 } 
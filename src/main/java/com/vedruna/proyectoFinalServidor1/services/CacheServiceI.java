@@ -0,0 +1,20 @@
+package com.vedruna.proyectoFinalServidor1.services;
+
+import java.util.List;
+
+import com.vedruna.proyectoFinalServidor1.dto.CacheRegionStatsDTO;
+
+public interface CacheServiceI {
+
+    /**
+     * Returns the hit, miss and put counters of every second-level cache region.
+     * 
+     * @return the statistics of each region, ordered by region name
+     */
+    List<CacheRegionStatsDTO> regionStatistics();
+
+    /**
+     * Evicts every entry of every second-level cache region.
+     */
+    void evictAll();
+}
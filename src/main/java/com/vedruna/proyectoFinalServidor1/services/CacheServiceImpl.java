@@ -0,0 +1,55 @@
+package com.vedruna.proyectoFinalServidor1.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.vedruna.proyectoFinalServidor1.dto.CacheRegionStatsDTO;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class CacheServiceImpl implements CacheServiceI {
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory; // Acceso a la caché y a las estadísticas de Hibernate
+
+    /**
+     * Returns the hit, miss and put counters of every second-level cache region.
+     * The counters are only collected when hibernate.generate_statistics is enabled.
+     *
+     * @return the statistics of each region, ordered by region name.
+     */
+    @Override
+    public List<CacheRegionStatsDTO> regionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String[] regions = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+        List<CacheRegionStatsDTO> result = new ArrayList<>(regions.length);
+        for (String region : regions) {
+            CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+            long hits = stats.getHitCount();
+            long misses = stats.getMissCount();
+            double ratio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+            long elements = stats.getElementCountInMemory();
+            result.add(new CacheRegionStatsDTO(region, hits, misses, stats.getPutCount(), ratio,
+                    elements == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? -1 : elements));
+        }
+        return result;
+    }
+
+    /**
+     * Evicts every entry of every second-level cache region.
+     */
+    @Override
+    public void evictAll() {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+    }
+}
@@ -1,7 +1,18 @@
 package com.vedruna.proyectoFinalServidor1.services;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.vedruna.proyectoFinalServidor1.dto.AssociationResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.DeveloperDTO;
+import com.vedruna.proyectoFinalServidor1.index.DeveloperCollaborationGraph;
 import com.vedruna.proyectoFinalServidor1.persistance.model.Developer;
 
+import reactor.core.publisher.Flux;
+
 public interface DeveloperServiceI {
 
     // Método para guardar un nuevo desarrollador en la base de datos
@@ -10,6 +21,27 @@ public interface DeveloperServiceI {
     // Método para eliminar un desarrollador de la base de datos usando su ID
     boolean deleteDeveloper(Integer id);
 
+    // Método para eliminar varios desarrolladores, por IDs o por un filtro de nombre
+    BulkDeleteResultDTO deleteDevelopers(BulkDeleteDTO request);
+
+    // Método para leer todos los desarrolladores en streaming (R2DBC), al ritmo del cliente
+    Flux<DeveloperDTO> streamDevelopers();
+
     // Método para buscar un desarrollador en la base de datos por su ID
     Developer findById(Integer developerId);
+
+    // Método para asociar varios desarrolladores a un proyecto, ignorando los ya asociados
+    AssociationResultDTO associateDevelopersWithProject(int projectId, Collection<Integer> developerIds);
+
+    // Método para sustituir los desarrolladores de un proyecto sin cargar su colección
+    void replaceProjectDevelopers(int projectId, Collection<Integer> developerIds);
+
+    // Método para obtener los desarrolladores que han trabajado en algún proyecto con un desarrollador
+    List<DeveloperCollaborationGraph.Collaborator> findCollaborators(int developerId);
+
+    // Método para obtener los desarrolladores que más proyectos comparten con un desarrollador
+    List<DeveloperCollaborationGraph.Collaborator> findTopCollaborators(int developerId, int limit);
+
+    // Método para buscar la cadena de colaboraciones más corta entre dos desarrolladores
+    Optional<List<Integer>> findCollaborationPath(int fromDeveloperId, int toDeveloperId);
 }
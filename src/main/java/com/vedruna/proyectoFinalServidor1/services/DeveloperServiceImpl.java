@@ -1,53 +1,120 @@
 package com.vedruna.proyectoFinalServidor1.services;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.vedruna.proyectoFinalServidor1.dto.AssociationResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.DeveloperDTO;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLink;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLinksRemovedEvent;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperSavedEvent;
+import com.vedruna.proyectoFinalServidor1.events.DevelopersDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.index.DeveloperCollaborationGraph;
 import com.vedruna.proyectoFinalServidor1.persistance.model.Developer;
 import com.vedruna.proyectoFinalServidor1.persistance.model.Project;
 import com.vedruna.proyectoFinalServidor1.persistance.repository.DeveloperRepositoryI;
 import com.vedruna.proyectoFinalServidor1.persistance.repository.ProjectRepositoryI;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.ReactiveDeveloperRepository;
+
+import reactor.core.publisher.Flux;
 
 @Service
 public class DeveloperServiceImpl implements DeveloperServiceI {
 
+    // Máximo de colaboradores devueltos por la consulta de los principales
+    private static final int MAX_TOP_COLLABORATORS = 100;
+
     // Inyección de dependencias para los repositorios de Developer y Project
     @Autowired
     DeveloperRepositoryI developerRepository;
 
     @Autowired
     ProjectRepositoryI projectRepository;
+
+    @Autowired
+    ReactiveDeveloperRepository reactiveDeveloperRepository; // Lecturas en streaming con R2DBC
+
+    @Autowired
+    DeveloperCollaborationGraph collaborationGraph; // Grafo de colaboraciones en memoria
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher; // Notifica los cambios a las cachés e índices
+
+    @Value("${stream.batch-size:256}")
+    int streamBatchSize; // Filas leídas por consulta en los streams reactivos
     
     /**
-     * Saves a developer with the projects associated
+     * Saves a developer with the projects associated.
+     * A developer sent with the ID of an existing one replaces it, including its rows in
+     * the join table, so the links it had are read first and the ones that disappear are
+     * published as removed. Its own fields change in every project that embeds it, which
+     * is published too.
+     * The projects it had and the ones it gets are locked in ascending ID order before the
+     * links are compared, like the association endpoints lock their project, so the join
+     * rows cannot change under either of them.
+     * 
      * @param developer the developer to be saved
      */
     @Override
+    @Transactional
     public void saveDeveloper(Developer developer) {
-        // Lista para almacenar los proyectos que se gestionarán
-        List<Project> managedProjects = new ArrayList<>();
-        
-        // Recorre todos los proyectos asociados al desarrollador
-        for (Project project : developer.getProjectsDevelopers()) {
-            // Verifica si el proyecto existe en la base de datos
-            projectRepository.findById(project.getId()).ifPresentOrElse(
-                managedProjects::add,  // Si el proyecto existe, lo agrega a la lista de proyectos gestionados
-                () -> { 
-                    // Si no se encuentra el proyecto, lanza una excepción con el mensaje de error
-                    throw new IllegalArgumentException("No existe ningún proyecto con el ID: " + project.getId());
-                }
-            );
+        // Bloquea los proyectos que tenía y los que va a tener (un ID 0 es un desarrollador nuevo)
+        boolean replaced = developer.getId() != 0;
+        Set<Integer> requested = projectIds(developer.getProjectsDevelopers());
+        Set<Integer> touched = new TreeSet<>(requested);
+        if (replaced) {
+            touched.addAll(developerRepository.findProjectIdsByDeveloperId(developer.getId()));
         }
+
+        // Carga y bloquea todos los proyectos con una sola consulta
+        List<Project> managedProjects = managedProjects(requested, touched);
+
+        // Con los proyectos bloqueados, los vínculos actuales ya no cambian
+        Set<Integer> previous = replaced ? new HashSet<>(developerRepository.lockProjectIdsByDeveloperId(developer.getId())) : Set.of();
         
         // Asocia los proyectos gestionados con el desarrollador
         developer.setProjectsDevelopers(managedProjects);
         
-        // Guarda el desarrollador con los proyectos asociados
-        developerRepository.save(developer);
+        // Guarda el desarrollador con los proyectos asociados; save() devuelve la instancia gestionada, con el ID definitivo
+        int id = developerRepository.save(developer).getId();
+        Set<Integer> current = new HashSet<>();
+        List<DeveloperLink> added = new ArrayList<>();
+        for (Project project : managedProjects) {
+            current.add(project.getId());
+            if (!previous.contains(project.getId())) {
+                added.add(new DeveloperLink(id, project.getId()));
+            }
+        }
+        List<DeveloperLink> removed = new ArrayList<>();
+        for (Integer projectId : previous) {
+            if (!current.contains(projectId)) {
+                removed.add(new DeveloperLink(id, projectId));
+            }
+        }
+        if (replaced) {
+            eventPublisher.publishEvent(new DeveloperSavedEvent(id));
+        }
+        if (!removed.isEmpty()) {
+            eventPublisher.publishEvent(new DeveloperLinksRemovedEvent(removed));
+        }
+        eventPublisher.publishEvent(new DeveloperLinksAddedEvent(added));
     }
 
     /**
@@ -58,13 +125,11 @@ public class DeveloperServiceImpl implements DeveloperServiceI {
      * @throws IllegalArgumentException if no developer exists with the given ID
      */
     @Override
+    @Transactional
     public boolean deleteDeveloper(Integer id) {
-        // Busca el desarrollador por su ID
-        Optional<Developer> developer = developerRepository.findById(id);
-    
         // Si el desarrollador existe, se elimina
-        if (developer.isPresent()) {
-            developerRepository.deleteById(id); 
+        if (developerRepository.existsById(id)) {
+            deleteDeveloperIds(List.of(id));
             return true;
         } else {
             // Si no existe el desarrollador, lanza una excepción
@@ -72,6 +137,68 @@ public class DeveloperServiceImpl implements DeveloperServiceI {
         }
     }
 
+    /**
+     * Deletes a set of developers with set-based statements.
+     * The join table rows are removed with one DELETE and the developers with another,
+     * so neither the developers nor their projects are loaded.
+     * 
+     * @param request the IDs of the developers to delete, or a filter on name and surname
+     * @return the IDs that were deleted and the requested IDs that do not exist
+     * @throws IllegalArgumentException if both or neither IDs and filter are given, or a project filter is used
+     */
+    @Override
+    @Transactional
+    public BulkDeleteResultDTO deleteDevelopers(BulkDeleteDTO request) {
+        if (request.getState() != null || request.getTechnologies() != null) {
+            throw new IllegalArgumentException("Developers can only be filtered by name");
+        }
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (byIds == (request.getName() != null)) {
+            throw new IllegalArgumentException("Provide either a list of developer IDs or a filter");
+        }
+
+        List<Integer> deleted = new ArrayList<>();
+        List<Integer> missing = new ArrayList<>();
+        if (byIds) {
+            Set<Integer> requested = new LinkedHashSet<>(request.getIds());
+            requested.remove(null);
+            Set<Integer> existing = new HashSet<>(developerRepository.findExistingIds(requested));
+            for (Integer id : requested) {
+                if (existing.contains(id)) {
+                    deleted.add(id);
+                } else {
+                    missing.add(id);
+                }
+            }
+        } else {
+            deleted = developerRepository.findIdsByNameContaining(request.getName());  // Busca en nombre y apellido
+        }
+        deleteDeveloperIds(deleted);
+        return new BulkDeleteResultDTO(deleted, missing);
+    }
+
+    // Vacía la tabla de unión y borra los desarrolladores: dos sentencias sea cual sea el número de IDs
+    private void deleteDeveloperIds(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        developerRepository.unlinkAll(ids);
+        developerRepository.deleteByIdIn(ids);
+        eventPublisher.publishEvent(new DevelopersDeletedEvent(ids));
+    }
+
+    /**
+     * Streams every developer through R2DBC in keyset batches, read on demand.
+     * 
+     * @return the developers ordered by ID
+     */
+    @Override
+    public Flux<DeveloperDTO> streamDevelopers() {
+        return KeysetStreams.stream(streamBatchSize,
+                after -> reactiveDeveloperRepository.findAfter(after, streamBatchSize).collectList(),
+                DeveloperDTO::getId);
+    }
+
     /**
      * Finds a developer by their ID.
      * 
@@ -83,4 +210,190 @@ public class DeveloperServiceImpl implements DeveloperServiceI {
         // Busca y devuelve el desarrollador con el ID proporcionado
         return developerRepository.findById(developerId).orElse(null);
     }
+
+    /**
+     * Associates a set of developers with a project.
+     * The join rows are written with a single INSERT ... SELECT, so the project's
+     * collection is never loaded. The project row is locked first: every writer that
+     * links existing developers to a project takes the same lock, so the pairs read as
+     * missing are exactly the ones inserted, and the unique key of the join table keeps
+     * any other writer from duplicating a pair.
+     * 
+     * @param projectId the ID of the project
+     * @param developerIds the IDs of the developers to associate
+     * @return which IDs were added, which were already associated and which do not exist
+     * @throws IllegalArgumentException if the project with the given ID is not found
+     */
+    @Override
+    @Transactional
+    public AssociationResultDTO associateDevelopersWithProject(int projectId, Collection<Integer> developerIds) {
+        if (projectRepository.lockById(projectId).isEmpty()) {
+            throw new IllegalArgumentException("Project with ID " + projectId + " not found");
+        }
+        Set<Integer> requested = new LinkedHashSet<>(developerIds);
+        requested.remove(null);
+        if (requested.isEmpty()) {
+            return new AssociationResultDTO(projectId, List.of(), List.of(), List.of());
+        }
+
+        // Clasifica los IDs pedidos: inexistentes, ya asociados y nuevos
+        Set<Integer> existing = new HashSet<>(developerRepository.findExistingIds(requested));
+        Set<Integer> linked = existing.isEmpty() ? Set.of() : new HashSet<>(developerRepository.findIdsLinkedToProject(projectId, existing));
+        List<Integer> added = new ArrayList<>();
+        List<Integer> alreadyAssociated = new ArrayList<>();
+        List<Integer> notFound = new ArrayList<>();
+        for (Integer id : requested) {
+            if (!existing.contains(id)) {
+                notFound.add(id);
+            } else if (linked.contains(id)) {
+                alreadyAssociated.add(id);
+            } else {
+                added.add(id);
+            }
+        }
+
+        if (!added.isEmpty()) {
+            link(projectId, added);
+            List<DeveloperLink> links = new ArrayList<>();
+            for (Integer id : added) {
+                links.add(new DeveloperLink(id, projectId));
+            }
+            eventPublisher.publishEvent(new DeveloperLinksAddedEvent(links));
+        }
+        return new AssociationResultDTO(projectId, added, alreadyAssociated, notFound);
+    }
+
+    /**
+     * Replaces the developers associated with a project.
+     * Only the IDs of the current associations are read; the join rows that are no longer
+     * wanted are removed with one DELETE and the new ones added with one INSERT, so the
+     * project's collection is never loaded.
+     *
+     * The caller must hold the lock of the project row, as the merge patch does with its
+     * UPDATE or with {@code lockById}, so that the current associations it reads stay valid.
+     *
+     * @param projectId the ID of the project
+     * @param developerIds the IDs of every developer the project must end up with
+     * @throws IllegalArgumentException if any of the developers does not exist
+     */
+    @Override
+    @Transactional
+    public void replaceProjectDevelopers(int projectId, Collection<Integer> developerIds) {
+        Set<Integer> target = new LinkedHashSet<>(developerIds);
+        target.remove(null);
+        Set<Integer> existing = target.isEmpty() ? Set.of() : new HashSet<>(developerRepository.findExistingIds(target));
+        for (Integer id : target) {
+            if (!existing.contains(id)) {
+                throw new IllegalArgumentException("Developer with ID " + id + " not found");
+            }
+        }
+
+        Set<Integer> current = new HashSet<>(developerRepository.findIdsByProjectId(projectId));
+        List<Integer> removed = new ArrayList<>();
+        for (Integer id : current) {
+            if (!target.contains(id)) {
+                removed.add(id);
+            }
+        }
+        List<Integer> added = new ArrayList<>();
+        for (Integer id : target) {
+            if (!current.contains(id)) {
+                added.add(id);
+            }
+        }
+
+        if (!removed.isEmpty()) {
+            developerRepository.unlinkFromProject(projectId, removed);
+            List<DeveloperLink> links = new ArrayList<>();
+            for (Integer id : removed) {
+                links.add(new DeveloperLink(id, projectId));
+            }
+            eventPublisher.publishEvent(new DeveloperLinksRemovedEvent(links));
+        }
+        if (!added.isEmpty()) {
+            link(projectId, added);
+            List<DeveloperLink> links = new ArrayList<>();
+            for (Integer id : added) {
+                links.add(new DeveloperLink(id, projectId));
+            }
+            eventPublisher.publishEvent(new DeveloperLinksAddedEvent(links));
+        }
+    }
+
+    /**
+     * Finds the developers who have worked on at least one project with a developer.
+     * The collaborators are read from the in-memory collaboration graph, without SQL.
+     * 
+     * @param developerId the ID of the developer
+     * @return the collaborators ordered by ID, empty if the developer has none or does not exist
+     */
+    @Override
+    public List<DeveloperCollaborationGraph.Collaborator> findCollaborators(int developerId) {
+        return collaborationGraph.collaborators(developerId);
+    }
+
+    /**
+     * Finds the developers who share the most projects with a developer.
+     * 
+     * @param developerId the ID of the developer
+     * @param limit the maximum number of collaborators to return
+     * @return the collaborators ordered by shared projects
+     * @throws IllegalArgumentException if the limit is not between 1 and {@value #MAX_TOP_COLLABORATORS}
+     */
+    @Override
+    public List<DeveloperCollaborationGraph.Collaborator> findTopCollaborators(int developerId, int limit) {
+        if (limit < 1 || limit > MAX_TOP_COLLABORATORS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TOP_COLLABORATORS);
+        }
+        return collaborationGraph.topCollaborators(developerId, limit);
+    }
+
+    /**
+     * Finds a shortest chain of developers linking two developers, each one having
+     * worked on a project with the next.
+     * 
+     * @param fromDeveloperId the ID of the first developer
+     * @param toDeveloperId the ID of the last developer
+     * @return the developer IDs of the chain, or empty if the developers are not connected
+     */
+    @Override
+    public Optional<List<Integer>> findCollaborationPath(int fromDeveloperId, int toDeveloperId) {
+        return collaborationGraph.shortestPath(fromDeveloperId, toDeveloperId);
+    }
+
+    // Inserta los pares que faltan; con el proyecto bloqueado, todos deben insertarse
+    private void link(int projectId, List<Integer> developerIds) {
+        int inserted = developerRepository.linkToProject(projectId, developerIds);
+        if (inserted != developerIds.size()) {
+            // Otra escritura sin bloqueo se ha adelantado: se deshace la transacción antes de publicar nada
+            throw new IllegalStateException("Expected to link " + developerIds.size() + " developers to project " + projectId + ", linked " + inserted);
+        }
+    }
+
+    // Devuelve los proyectos gestionados con los IDs recibidos, o falla con el primero que no exista
+    // Los proyectos de locked (que incluye ids) se bloquean en orden de ID, el mismo en todas las transacciones
+    private List<Project> managedProjects(Set<Integer> ids, Set<Integer> locked) {
+        Map<Integer, Project> found = new HashMap<>();
+        for (Project project : locked.isEmpty() ? List.<Project>of() : projectRepository.lockAllById(locked)) {
+            found.put(project.getId(), project);
+        }
+        List<Project> managed = new ArrayList<>();
+        for (Integer id : ids) {
+            Project project = found.get(id);
+            if (project == null) {
+                throw new IllegalArgumentException("No existe ningún proyecto con el ID: " + id);
+            }
+            managed.add(project);
+        }
+        return managed;
+    }
+
+    // Un proyecto repetido se asocia una sola vez
+    private static Set<Integer> projectIds(List<Project> projects) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (Project project : projects) {
+            ids.add(project.getId());
+        }
+        return ids;
+    }
 }
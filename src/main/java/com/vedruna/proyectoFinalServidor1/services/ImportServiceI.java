@@ -0,0 +1,36 @@
+package com.vedruna.proyectoFinalServidor1.services;
+
+import java.io.InputStream;
+
+import com.vedruna.proyectoFinalServidor1.dto.ImportReportDTO;
+
+public interface ImportServiceI {
+
+    /**
+     * Imports projects from a JSON array or NDJSON body, with their state,
+     * technologies and developers referenced by ID. As in a single creation, a
+     * start date before today rejects the record.
+     * 
+     * @param in the request body
+     * @return the number of imported records and the errors of the rejected ones
+     */
+    ImportReportDTO importProjects(InputStream in);
+
+    /**
+     * Imports developers from a JSON array or NDJSON body, with the projects
+     * they worked on referenced by ID.
+     * 
+     * @param in the request body
+     * @return the number of imported records and the errors of the rejected ones
+     */
+    ImportReportDTO importDevelopers(InputStream in);
+
+    /**
+     * Imports technologies from a JSON array or NDJSON body, with the projects
+     * that use them referenced by ID.
+     * 
+     * @param in the request body
+     * @return the number of imported records and the errors of the rejected ones
+     */
+    ImportReportDTO importTechnologies(InputStream in);
+}
@@ -0,0 +1,423 @@
+package com.vedruna.proyectoFinalServidor1.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vedruna.proyectoFinalServidor1.dto.ImportErrorDTO;
+import com.vedruna.proyectoFinalServidor1.dto.ImportReportDTO;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLink;
+import com.vedruna.proyectoFinalServidor1.events.DeveloperLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectSavedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectStartDateChangedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectsStateChangedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLink;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologySavedEvent;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Developer;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Project;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Technology;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk import of projects, developers and technologies.
+ * Records are read one by one from the body, validated in chunks and inserted with
+ * JDBC statement batching (generated keys are read back from the batch). Each chunk
+ * runs in its own transaction; if a chunk fails, its records are retried one by one
+ * so a bad record is reported without discarding the rest of the file.
+ */
+@Service
+public class ImportServiceImpl implements ImportServiceI {
+
+    private static final String INSERT_PROJECT = "INSERT INTO projects (project_name, description, start_date, end_date, repository_url, demo_url, picture, status_status_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_DEVELOPER = "INSERT INTO developers (dev_name, dev_surname, email, linkedin_url, github_url) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_TECHNOLOGY = "INSERT INTO technologies (tech_id, tech_name) VALUES (?, ?)";
+    private static final String INSERT_TECHNOLOGY_LINK = "INSERT INTO technologies_used_in_projects (technologies_tech_id, projects_project_id) VALUES (?, ?)";
+    private static final String INSERT_DEVELOPER_LINK = "INSERT INTO developers_worked_on_projects (developers_dev_id, projects_project_id) VALUES (?, ?)";
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher; // Notifica los cambios a los índices en memoria
+
+    @Value("${import.chunk-size:500}")
+    int chunkSize; // Registros validados e insertados por transacción
+
+    @Override
+    public ImportReportDTO importProjects(InputStream in) {
+        return importRecords(in, Project.class, this::checkProjects, this::insertProjects);
+    }
+
+    @Override
+    public ImportReportDTO importDevelopers(InputStream in) {
+        return importRecords(in, Developer.class, this::checkDevelopers, this::insertDevelopers);
+    }
+
+    @Override
+    public ImportReportDTO importTechnologies(InputStream in) {
+        Set<Integer> seenIds = new HashSet<>();  // IDs ya leídos en este fichero
+        return importRecords(in, Technology.class, chunk -> checkTechnologies(chunk, seenIds), this::insertTechnologies);
+    }
+
+    /**
+     * Reads the body record by record and processes it in chunks.
+     *
+     * @param in the JSON array or NDJSON body
+     * @param type the entity class of the records
+     * @param checker checks the references of a chunk against the database
+     * @param inserter inserts a chunk of valid records
+     * @return the import report
+     */
+    private <T> ImportReportDTO importRecords(InputStream in, Class<T> type, ReferenceChecker<T> checker, ChunkInserter<T> inserter) {
+        ImportReportDTO report = new ImportReportDTO();
+        List<Indexed<T>> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        try (MappingIterator<T> records = objectMapper.readerFor(type).readValues(in)) {
+            while (true) {
+                T record;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    record = records.nextValue();
+                } catch (JsonMappingException e) {
+                    // Registro mal formado: se informa y se continúa con el siguiente
+                    report.getErrors().add(new ImportErrorDTO(index++, "Invalid record: " + e.getOriginalMessage()));
+                    continue;
+                }
+                chunk.add(new Indexed<>(index++, record));
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, checker, inserter, report);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            // JSON no válido: no se puede seguir leyendo el fichero
+            report.getErrors().add(new ImportErrorDTO(index, "Malformed input, import stopped: " + e.getMessage()));
+        }
+        processChunk(chunk, checker, inserter, report);
+        report.setReceived(index);
+        return report;
+    }
+
+    private <T> void processChunk(List<Indexed<T>> chunk, ReferenceChecker<T> checker, ChunkInserter<T> inserter, ImportReportDTO report) {
+        // 1. Validación de las anotaciones de la entidad
+        List<Indexed<T>> valid = new ArrayList<>(chunk.size());
+        for (Indexed<T> item : chunk) {
+            String error = validate(item.record());
+            if (error == null) {
+                valid.add(item);
+            } else {
+                report.getErrors().add(new ImportErrorDTO(item.index(), error));
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        // 2. Comprobación de las referencias con unas pocas consultas IN por lote
+        List<String> referenceErrors = checker.check(valid.stream().map(Indexed::record).toList());
+        List<Indexed<T>> accepted = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            if (referenceErrors.get(i) == null) {
+                accepted.add(valid.get(i));
+            } else {
+                report.getErrors().add(new ImportErrorDTO(valid.get(i).index(), referenceErrors.get(i)));
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // 3. Inserción del lote completo; si falla, se reintenta registro a registro
+        try {
+            transactionTemplate.executeWithoutResult(status -> inserter.insert(accepted.stream().map(Indexed::record).toList()));
+            report.setImported(report.getImported() + accepted.size());
+        } catch (DataAccessException e) {
+            for (Indexed<T> item : accepted) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> inserter.insert(List.of(item.record())));
+                    report.setImported(report.getImported() + 1);
+                } catch (DataAccessException ex) {
+                    report.getErrors().add(new ImportErrorDTO(item.index(), ex.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+    }
+
+    private String validate(Object record) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(record);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private List<String> checkProjects(List<Project> projects) {
+        Set<Integer> stateIds = new HashSet<>();
+        Set<Integer> technologyIds = new HashSet<>();
+        Set<Integer> developerIds = new HashSet<>();
+        for (Project project : projects) {
+            if (project.getStateProject() != null) {
+                stateIds.add(project.getStateProject().getId());
+            }
+            project.getTechnologies().forEach(t -> technologyIds.add(t.getId()));
+            project.getDevelopers().forEach(d -> developerIds.add(d.getId()));
+        }
+        Set<Integer> knownStates = existing("SELECT status_id FROM status WHERE status_id IN (:ids)", stateIds);
+        Set<Integer> knownTechnologies = existing("SELECT tech_id FROM technologies WHERE tech_id IN (:ids)", technologyIds);
+        Set<Integer> knownDevelopers = existing("SELECT dev_id FROM developers WHERE dev_id IN (:ids)", developerIds);
+
+        List<String> errors = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            String error = null;
+            if (project.getStateProject() != null && !knownStates.contains(project.getStateProject().getId())) {
+                error = "State with ID " + project.getStateProject().getId() + " not found";
+            }
+            for (Technology technology : project.getTechnologies()) {
+                if (error == null && !knownTechnologies.contains(technology.getId())) {
+                    error = "Technology with ID " + technology.getId() + " not found";
+                }
+            }
+            for (Developer developer : project.getDevelopers()) {
+                if (error == null && !knownDevelopers.contains(developer.getId())) {
+                    error = "Developer with ID " + developer.getId() + " not found";
+                }
+            }
+            errors.add(error);
+        }
+        return errors;
+    }
+
+    private List<String> checkDevelopers(List<Developer> developers) {
+        Set<Integer> projectIds = new HashSet<>();
+        developers.forEach(d -> d.getProjectsDevelopers().forEach(p -> projectIds.add(p.getId())));
+        Set<Integer> knownProjects = existing("SELECT project_id FROM projects WHERE project_id IN (:ids)", projectIds);
+
+        List<String> errors = new ArrayList<>(developers.size());
+        for (Developer developer : developers) {
+            errors.add(missingProject(developer.getProjectsDevelopers(), knownProjects));
+        }
+        return errors;
+    }
+
+    private List<String> checkTechnologies(List<Technology> technologies, Set<Integer> seenIds) {
+        Set<Integer> technologyIds = new HashSet<>();
+        Set<Integer> projectIds = new HashSet<>();
+        for (Technology technology : technologies) {
+            technologyIds.add(technology.getId());
+            technology.getProjectsTechnologies().forEach(p -> projectIds.add(p.getId()));
+        }
+        Set<Integer> usedIds = existing("SELECT tech_id FROM technologies WHERE tech_id IN (:ids)", technologyIds);
+        Set<Integer> knownProjects = existing("SELECT project_id FROM projects WHERE project_id IN (:ids)", projectIds);
+
+        List<String> errors = new ArrayList<>(technologies.size());
+        for (Technology technology : technologies) {
+            String error = missingProject(technology.getProjectsTechnologies(), knownProjects);
+            if (error == null && (usedIds.contains(technology.getId()) || !seenIds.add(technology.getId()))) {
+                error = "Technology ID " + technology.getId() + " is already in use";
+            }
+            errors.add(error);
+        }
+        return errors;
+    }
+
+    private static String missingProject(List<Project> projects, Set<Integer> knownProjects) {
+        for (Project project : projects) {
+            if (!knownProjects.contains(project.getId())) {
+                return "Project with ID " + project.getId() + " not found";
+            }
+        }
+        return null;
+    }
+
+    private void insertProjects(List<Project> projects) {
+        List<Integer> ids = insertWithKeys(INSERT_PROJECT, projects, (ps, p) -> {
+            ps.setString(1, p.getName());
+            ps.setString(2, p.getDescription());
+            ps.setDate(3, p.getStart_date());
+            ps.setDate(4, p.getEnd_date());
+            ps.setString(5, p.getRepository_url());
+            ps.setString(6, p.getDemo_url());
+            ps.setString(7, p.getPicture());
+            ps.setObject(8, p.getStateProject() == null ? null : p.getStateProject().getId());
+        });
+        List<Object[]> technologyRows = new ArrayList<>();
+        List<Object[]> developerRows = new ArrayList<>();
+        List<TechnologyLink> links = new ArrayList<>();
+        List<DeveloperLink> developerLinks = new ArrayList<>();
+        for (int i = 0; i < projects.size(); i++) {
+            int projectId = ids.get(i);
+            for (Integer technologyId : idsOf(projects.get(i).getTechnologies(), Technology::getId)) {
+                technologyRows.add(new Object[] {technologyId, projectId});
+                links.add(new TechnologyLink(technologyId, projectId));
+            }
+            for (Integer developerId : idsOf(projects.get(i).getDevelopers(), Developer::getId)) {
+                developerRows.add(new Object[] {developerId, projectId});
+                developerLinks.add(new DeveloperLink(developerId, projectId));
+            }
+        }
+        batchInsert(INSERT_TECHNOLOGY_LINK, technologyRows);
+        batchInsert(INSERT_DEVELOPER_LINK, developerRows);
+
+        // Los índices se actualizan cuando la transacción del lote confirma
+        Map<Integer, List<Integer>> projectsByState = new HashMap<>();
+        for (int i = 0; i < projects.size(); i++) {
+            Project project = projects.get(i);
+            eventPublisher.publishEvent(new ProjectSavedEvent(ids.get(i), project.getName()));
+            eventPublisher.publishEvent(new ProjectStartDateChangedEvent(ids.get(i),
+                    project.getStart_date() == null ? null : project.getStart_date().toLocalDate()));
+            if (project.getStateProject() != null) {
+                projectsByState.computeIfAbsent(project.getStateProject().getId(), id -> new ArrayList<>()).add(ids.get(i));
+            }
+        }
+        projectsByState.forEach((stateId, projectIds) -> eventPublisher.publishEvent(new ProjectsStateChangedEvent(projectIds, stateId)));
+        eventPublisher.publishEvent(new TechnologyLinksAddedEvent(links));
+        eventPublisher.publishEvent(new DeveloperLinksAddedEvent(developerLinks));
+    }
+
+    private void insertDevelopers(List<Developer> developers) {
+        List<Integer> ids = insertWithKeys(INSERT_DEVELOPER, developers, (ps, d) -> {
+            ps.setString(1, d.getName());
+            ps.setString(2, d.getSurname());
+            ps.setString(3, d.getEmail());
+            ps.setString(4, d.getLinkedin_url());
+            ps.setString(5, d.getGithub_url());
+        });
+        List<Object[]> rows = new ArrayList<>();
+        List<DeveloperLink> links = new ArrayList<>();
+        for (int i = 0; i < developers.size(); i++) {
+            for (Integer projectId : idsOf(developers.get(i).getProjectsDevelopers(), Project::getId)) {
+                rows.add(new Object[] {ids.get(i), projectId});
+                links.add(new DeveloperLink(ids.get(i), projectId));
+            }
+        }
+        batchInsert(INSERT_DEVELOPER_LINK, rows);
+
+        eventPublisher.publishEvent(new DeveloperLinksAddedEvent(links));
+    }
+
+    private void insertTechnologies(List<Technology> technologies) {
+        List<Object[]> technologyRows = new ArrayList<>();
+        List<Object[]> linkRows = new ArrayList<>();
+        List<TechnologyLink> links = new ArrayList<>();
+        for (Technology technology : technologies) {
+            technologyRows.add(new Object[] {technology.getId(), technology.getName()});
+            for (Integer projectId : idsOf(technology.getProjectsTechnologies(), Project::getId)) {
+                linkRows.add(new Object[] {technology.getId(), projectId});
+                links.add(new TechnologyLink(technology.getId(), projectId));
+            }
+        }
+        batchInsert(INSERT_TECHNOLOGY, technologyRows);
+        batchInsert(INSERT_TECHNOLOGY_LINK, linkRows);
+
+        for (Technology technology : technologies) {
+            eventPublisher.publishEvent(new TechnologySavedEvent(technology.getId(), technology.getName()));
+        }
+        eventPublisher.publishEvent(new TechnologyLinksAddedEvent(links));
+    }
+
+    // Inserta las filas en un único lote JDBC y devuelve las claves generadas en orden
+    private <T> List<Integer> insertWithKeys(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Integer>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (T row : rows) {
+                    setter.setValues(ps, row);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                List<Integer> keys = new ArrayList<>(rows.size());
+                try (ResultSet generated = ps.getGeneratedKeys()) {
+                    while (generated.next()) {
+                        keys.add(generated.getInt(1));
+                    }
+                }
+                if (keys.size() != rows.size()) {
+                    throw new DataRetrievalFailureException("Expected " + rows.size() + " generated keys but got " + keys.size());
+                }
+                return keys;
+            }
+        });
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    private Set<Integer> existing(String sql, Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList(sql, Map.of("ids", ids), Integer.class));
+    }
+
+    // IDs sin repetir de una lista de entidades referenciadas
+    private static <E> Set<Integer> idsOf(List<E> entities, ToIntFunction<E> id) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (E entity : entities) {
+            ids.add(id.applyAsInt(entity));
+        }
+        return ids;
+    }
+
+    private record Indexed<T>(int index, T record) {
+    }
+
+    @FunctionalInterface
+    private interface ReferenceChecker<T> {
+        // Devuelve un mensaje de error (o null) por cada registro, en el mismo orden
+        List<String> check(List<T> records);
+    }
+
+    @FunctionalInterface
+    private interface ChunkInserter<T> {
+        void insert(List<T> records);
+    }
+}
@@ -0,0 +1,36 @@
+package com.vedruna.proyectoFinalServidor1.services;
+
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Builds backpressured streams out of keyset-paginated batches.
+ * A batch is only queried when the subscriber has consumed the previous one, and no
+ * database connection is held between batches, so a slow client costs memory for one
+ * batch at most and never keeps a connection open while it reads.
+ */
+final class KeysetStreams {
+
+    private KeysetStreams() {
+    }
+
+    /**
+     * Streams every row by repeatedly loading the batch that follows the last ID read.
+     *
+     * @param batchSize the maximum number of rows per batch
+     * @param batchAfter loads the batch of rows whose ID is greater than the given one
+     * @param id extracts the ID used as the cursor of the next batch
+     * @return the rows of all batches, in ID order
+     */
+    static <T> Flux<T> stream(int batchSize, IntFunction<Mono<List<T>>> batchAfter, ToIntFunction<T> id) {
+        return batchAfter.apply(Integer.MIN_VALUE)
+                .expand(batch -> batch.size() < batchSize
+                        ? Mono.empty()  // Lote incompleto: no quedan más filas
+                        : batchAfter.apply(id.applyAsInt(batch.get(batch.size() - 1))))
+                .concatMapIterable(batch -> batch, 1);  // Se pide un lote cada vez
+    }
+}
@@ -0,0 +1,49 @@
+package com.vedruna.proyectoFinalServidor1.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursor tokens used by keyset pagination.
+ * The token wraps the last project ID returned, so clients cannot depend on its format.
+ */
+public final class ProjectCursor {
+
+    private static final String PREFIX = "p:";
+
+    private ProjectCursor() {
+    }
+
+    /**
+     * Builds the token that points right after the given project.
+     *
+     * @param lastId the ID of the last project of the current slice
+     * @return the opaque cursor token
+     */
+    public static String encode(int lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Reads the project ID stored in a cursor token.
+     *
+     * @param token the token received from the client, or null for the first slice
+     * @return the last ID already returned, or 0 when the token is null or empty
+     * @throws IllegalArgumentException if the token is not a valid cursor
+     */
+    public static int decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            if (raw.startsWith(PREFIX)) {
+                return Integer.parseInt(raw.substring(PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Se informa abajo con un mensaje genérico
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + token);
+    }
+}
@@ -1,12 +1,24 @@
 package com.vedruna.proyectoFinalServidor1.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.CursorPageDTO;
 import com.vedruna.proyectoFinalServidor1.dto.ProjectDTO;
+import com.vedruna.proyectoFinalServidor1.dto.StateTransitionDTO;
+import com.vedruna.proyectoFinalServidor1.dto.StateTransitionResultDTO;
 import com.vedruna.proyectoFinalServidor1.persistance.model.Project;
 
+import reactor.core.publisher.Flux;
+
 public interface ProjectServiceI {
 
     /**
@@ -19,13 +31,70 @@ public interface ProjectServiceI {
     Page<ProjectDTO> showAllProjects(int page, int size); 
 
     /**
-     * Retrieves a project by its name.
+     * Retrieves the slice of projects that follows the given cursor (keyset pagination).
      * 
-     * @param name the name of the project to search for
-     * @return the ProjectDTO of the project with the given name
+     * @param after the opaque cursor of the previous slice, or null for the first slice
+     * @param size the number of projects to display per slice, between 1 and 100
+     * @param withTotal whether to include the cached, approximate total of projects
+     * @return the projects of the slice and the cursor of the next one
+     */
+    CursorPageDTO<ProjectDTO> showProjectsAfter(String after, int size, boolean withTotal);
+
+    /**
+     * Streams every project, with its state, technologies and developers, through R2DBC.
+     * Projects are read in keyset batches on demand, so the stream follows the pace of
+     * the subscriber without holding a connection or the whole table.
+     * 
+     * @return the projects ordered by ID
+     */
+    Flux<ProjectDTO> streamProjects();
+
+    /**
+     * Retrieves the project whose name best matches the given text.
+     * 
+     * @param name the text contained in the name of the project to search for
+     * @return the ProjectDTO of the best ranked project
      */
     ProjectDTO showProjectByName(String name);
 
+    /**
+     * Returns the ETag of a page of projects without querying the database.
+     * 
+     * @param page the page number to retrieve (starting from 0)
+     * @param size the number of projects to display per page
+     * @param format the negotiated response format
+     * @return the ETag value of the page
+     */
+    String projectsETag(int page, int size, MediaType format);
+
+    /**
+     * Returns the ETag of the project found by name without querying the database.
+     * 
+     * @param name the name of the project to search for
+     * @param format the negotiated response format
+     * @return the ETag value, or null if no project matches
+     */
+    String projectETag(String name, MediaType format);
+
+    /**
+     * Returns the ETag of the project with the given ID without querying the database.
+     * 
+     * @param id the ID of the project
+     * @param format the negotiated response format
+     * @return the ETag value of the project
+     */
+    String projectETagById(int id, MediaType format);
+
+    /**
+     * Searches projects whose name contains the given text, best matches first.
+     * 
+     * @param name the text to look for in the project names
+     * @param page the page number to retrieve (starting from 0)
+     * @param size the number of projects to display per page
+     * @return a Page of ProjectDTO objects ranked by relevance
+     */
+    Page<ProjectDTO> searchProjectsByName(String name, int page, int size);
+
     /**
      * Saves a new project in the system.
      * 
@@ -41,6 +110,16 @@ public interface ProjectServiceI {
      */
     boolean deleteProject(Integer id);
 
+    /**
+     * Deletes a set of projects with set-based statements.
+     * The projects are given either as a list of IDs or as a filter
+     * (name, state and/or technologies used), never both.
+     * 
+     * @param request the projects to delete
+     * @return the IDs that were deleted and the requested IDs that do not exist
+     */
+    BulkDeleteResultDTO deleteProjects(BulkDeleteDTO request);
+
     /**
      * Moves a project to the testing state.
      * 
@@ -57,6 +136,16 @@ public interface ProjectServiceI {
      */
     boolean moveProjectToProduction(Integer id);
 
+    /**
+     * Moves a set of projects to another state with a single bulk update.
+     * The projects are given either as a list of IDs or as a filter
+     * (current state and/or technologies used), never both.
+     * 
+     * @param request the target state name and the projects to move
+     * @return the IDs that were moved and the requested IDs that do not exist
+     */
+    StateTransitionResultDTO changeProjectsState(StateTransitionDTO request);
+
     /**
      * Updates the details of an existing project.
      * 
@@ -66,6 +155,17 @@ public interface ProjectServiceI {
      */
     boolean updateProject(Integer id, Project project);
 
+    /**
+     * Applies a JSON Merge Patch (RFC 7396) to a project with a single UPDATE of the
+     * supplied columns. Technologies and developers are only touched when present.
+     * 
+     * @param id the ID of the project to patch
+     * @param patch the merge patch document
+     * @param ifMatch the If-Match header value, or null for an unconditional patch
+     * @return true if the project was patched, false if it does not exist
+     */
+    boolean patchProject(int id, JsonNode patch, String ifMatch);
+
     /**
      * Retrieves a project by its ID.
      * 
@@ -81,4 +181,26 @@ public interface ProjectServiceI {
      * @return a list of ProjectDTO objects of projects using the specified technology
      */
     List<ProjectDTO> getProjectsByTechnology(String techName);
+
+    /**
+     * Retrieves the projects that match a combination of technologies.
+     * 
+     * @param all names of the technologies that every project must use
+     * @param any names of the technologies of which each project must use at least one (ignored if empty)
+     * @param none names of the technologies that no project may use
+     * @param page the page number to retrieve (starting from 0)
+     * @param size the number of projects to display per page
+     * @return a Page of ProjectDTO objects ordered by ID
+     */
+    Page<ProjectDTO> filterProjectsByTechnologies(Collection<String> all, Collection<String> any, Collection<String> none, int page, int size);
+
+    /**
+     * Writes every project with its technologies, developers and state as
+     * newline-delimited JSON or one of the binary export formats, using constant memory.
+     * 
+     * @param out the stream the projects are written to
+     * @param format the media type of the export, one of {@code DataFormats.EXPORT_FORMATS}
+     * @throws IOException if writing to the stream fails
+     */
+    void exportProjects(OutputStream out, MediaType format) throws IOException;
 }
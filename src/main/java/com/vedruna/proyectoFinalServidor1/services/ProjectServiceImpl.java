@@ -1,29 +1,146 @@
 package com.vedruna.proyectoFinalServidor1.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.CursorPageDTO;
 import com.vedruna.proyectoFinalServidor1.dto.ProjectDTO;
+import com.vedruna.proyectoFinalServidor1.dto.StateTransitionDTO;
+import com.vedruna.proyectoFinalServidor1.dto.StateTransitionResultDTO;
+import com.vedruna.proyectoFinalServidor1.events.ProjectPatchedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectSavedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectStartDateChangedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectsDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectsStateChangedEvent;
+import com.vedruna.proyectoFinalServidor1.exceptions.PreconditionFailedException;
+import com.vedruna.proyectoFinalServidor1.index.ProjectCountCache;
+import com.vedruna.proyectoFinalServidor1.index.ProjectNameIndex;
+import com.vedruna.proyectoFinalServidor1.index.ProjectVersionTracker;
+import com.vedruna.proyectoFinalServidor1.index.StateRegistry;
+import com.vedruna.proyectoFinalServidor1.index.TechnologyBitmapIndex;
+import com.vedruna.proyectoFinalServidor1.json.DataFormats;
 import com.vedruna.proyectoFinalServidor1.persistance.model.Project;
-import com.vedruna.proyectoFinalServidor1.persistance.model.State;
 import com.vedruna.proyectoFinalServidor1.persistance.repository.ProjectRepositoryI;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.ReactiveDeveloperRepository;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.ReactiveProjectRepository;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.ReactiveTechnologyRepository;
 import com.vedruna.proyectoFinalServidor1.persistance.repository.StateRepositoryI;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 @Service
 public class ProjectServiceImpl implements ProjectServiceI {
 
+    // Columnas que admite el merge patch: nombre del atributo -> tipo
+    private static final Map<String, Class<?>> PATCHABLE_COLUMNS = Map.of(
+            "name", String.class,
+            "description", String.class,
+            "start_date", Date.class,
+            "end_date", Date.class,
+            "repository_url", String.class,
+            "demo_url", String.class,
+            "picture", String.class);
+
+    // IDs fijos de los estados de las transiciones individuales
+    private static final int TESTING_STATE_ID = 2;
+    private static final int PRODUCTION_STATE_ID = 3;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     @Autowired
     ProjectRepositoryI projectRepository;  // Repositorio para acceder a datos de proyectos
 
     @Autowired
     StateRepositoryI stateRepository; // Repositorio para acceder a datos de estados
 
+    @Autowired
+    ProjectNameIndex projectNameIndex; // Índice de trigramas sobre los nombres de los proyectos
+
+    @Autowired
+    TechnologyBitmapIndex technologyBitmapIndex; // Índice de mapas de bits tecnología -> proyectos
+
+    @Autowired
+    StateRegistry stateRegistry; // Copia en memoria de la tabla de estados
+
+    @Autowired
+    ProjectVersionTracker projectVersionTracker; // Contadores de versión para los ETags
+
+    @Autowired
+    ProjectCountCache projectCountCache; // Total de proyectos refrescado en segundo plano
+
+    @Autowired
+    ObjectMapper objectMapper; // Serializador JSON configurado por Spring
+
+    @Autowired
+    DataFormats dataFormats; // Formatos de la exportación además de JSON
+
+    @PersistenceContext
+    EntityManager entityManager; // Permite desvincular las entidades ya exportadas
+
+    @Value("${projects.export.batch-size:500}")
+    int exportBatchSize; // Proyectos cargados por lote durante la exportación
+
+    @Autowired
+    ReactiveProjectRepository reactiveProjectRepository; // Lecturas en streaming con R2DBC
+
+    @Autowired
+    ReactiveTechnologyRepository reactiveTechnologyRepository;
+
+    @Autowired
+    ReactiveDeveloperRepository reactiveDeveloperRepository;
+
+    @Value("${stream.batch-size:256}")
+    int streamBatchSize; // Filas leídas por consulta en los streams reactivos
+
+    @Autowired
+    TechnologyServiceI technologyService; // Sustitución de las tecnologías en los merge patch
+
+    @Autowired
+    DeveloperServiceI developerService; // Sustitución de los desarrolladores en los merge patch
+
+    @Autowired
+    Validator validator; // Valida los valores de los merge patch
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher; // Notifica los cambios a los índices en memoria
+
     /**
      * Retrieves all projects with pagination.
      *
@@ -32,33 +149,242 @@ public class ProjectServiceImpl implements ProjectServiceI {
      * @return a paginated list of projects as ProjectDTO objects.
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<ProjectDTO> showAllProjects(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);  // Crea un objeto Pageable con los parámetros de la paginación
-        Page<Project> projectPage = projectRepository.findAll(pageable);  // Recupera los proyectos con paginación
-        return projectPage.map(ProjectDTO::new);  // Convierte la lista de proyectos a DTOs antes de devolverla
+        Page<Integer> idPage = projectRepository.findPageOfIds(pageable);  // Recupera solo los IDs de la página
+        List<ProjectDTO> content = new ArrayList<>();
+        for (Project project : loadProjects(idPage.getContent())) {
+            content.add(toDTO(project));  // Las colecciones ya están cargadas: no hay consultas adicionales
+        }
+        return new PageImpl<>(content, pageable, idPage.getTotalElements());
     }
 
     /**
-     * Retrieves a project by its name.
+     * Retrieves the projects that come after the given cursor, ordered by ID.
+     * It uses keyset pagination, so deep slices cost the same as the first one
+     * and no count query is issued.
      *
-     * @param name the name of the project to find.
-     * @return the ProjectDTO of the project found.
-     * @throws IllegalArgumentException if no project is found with the given name.
+     * @param after the cursor returned by the previous slice, or null for the first one.
+     * @param size the number of items per slice.
+     * @param withTotal whether to include the cached (approximate) total of projects.
+     * @return the slice of projects with the cursor of the next one.
+     * @throws IllegalArgumentException if the size is not between 1 and {@value #MAX_CURSOR_PAGE_SIZE}
      */
     @Override
-    public ProjectDTO showProjectByName(String name) {
-        List<Project> projects = projectRepository.findAll();  // Recupera todos los proyectos
-        Project project = null;
-        for (Project p : projects) {  // Itera sobre todos los proyectos
-            if (p.getName().contains(name)) {  // Busca el proyecto por nombre
-                project = p;
-                break;
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProjectDTO> showProjectsAfter(String after, int size, boolean withTotal) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        int lastId = ProjectCursor.decode(after);
+        List<Integer> ids = projectRepository.findIdsAfter(lastId, Limit.of(size + 1));  // Uno de más para saber si hay siguiente
+        boolean hasNext = ids.size() > size;
+        List<Integer> sliceIds = hasNext ? ids.subList(0, size) : ids;
+
+        List<ProjectDTO> content = new ArrayList<>(sliceIds.size());
+        for (Project project : loadProjects(sliceIds)) {
+            content.add(toDTO(project));
+        }
+        String nextCursor = hasNext ? ProjectCursor.encode(sliceIds.get(sliceIds.size() - 1)) : null;
+        Long total = withTotal ? projectCountCache.getTotal() : null;
+        return new CursorPageDTO<>(content, size, hasNext, nextCursor, total);
+    }
+
+    /**
+     * Writes every project, with its state, technologies and developers, in the given
+     * format: newline-delimited JSON, a CBOR sequence, consecutive Smile values or
+     * length-delimited Protobuf messages. Project IDs are read through a forward-only
+     * cursor and the entities are loaded and detached in batches, so memory use does
+     * not grow with the size of the table.
+     *
+     * @param out the stream the projects are written to.
+     * @param format one of {@link DataFormats#EXPORT_FORMATS}.
+     * @throws IOException if writing to the stream fails.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProjects(OutputStream out, MediaType format) throws IOException {
+        List<Integer> batch = new ArrayList<>(exportBatchSize);
+        try (DataFormats.SequenceWriter writer = dataFormats.sequenceWriter(format, ProjectDTO.class, out)) {
+            try (Stream<Integer> ids = projectRepository.streamAllIds()) {
+                for (Integer id : (Iterable<Integer>) ids::iterator) {
+                    batch.add(id);
+                    if (batch.size() == exportBatchSize) {
+                        writeBatch(writer, batch);
+                    }
+                }
+            }
+            writeBatch(writer, batch);
+        }
+    }
+
+    /**
+     * Streams every project, with its state, technologies and developers, through R2DBC.
+     * Each keyset batch costs three queries (projects, then technologies and developers
+     * of the batch in parallel) and is only read once the previous one has been consumed.
+     *
+     * @return the projects ordered by ID.
+     */
+    @Override
+    public Flux<ProjectDTO> streamProjects() {
+        return KeysetStreams.stream(streamBatchSize, this::projectBatchAfter, ProjectDTO::getId);
+    }
+
+    private Mono<List<ProjectDTO>> projectBatchAfter(int after) {
+        return reactiveProjectRepository.findAfter(after, streamBatchSize).collectList().flatMap(rows -> {
+            if (rows.isEmpty()) {
+                return Mono.just(List.<ProjectDTO>of());
             }
+            Map<Integer, ProjectDTO> projects = new LinkedHashMap<>();
+            for (ReactiveProjectRepository.ProjectRow row : rows) {
+                ProjectDTO project = row.project();
+                if (row.stateId() != null) {  // El nombre del estado sale del registro en memoria
+                    project.setStateProjectName(stateRegistry.byId(row.stateId()).map(StateRegistry.Entry::name).orElse(null));
+                }
+                projects.put(project.getId(), project);
+            }
+            Mono<Void> technologies = reactiveTechnologyRepository.findByProjectIds(projects.keySet())
+                    .doOnNext(link -> projects.get(link.projectId()).getTechnologies().add(link.technology()))
+                    .then();
+            Mono<Void> developers = reactiveDeveloperRepository.findByProjectIds(projects.keySet())
+                    .doOnNext(link -> projects.get(link.projectId()).getDevelopers().add(link.developer()))
+                    .then();
+            return Mono.when(technologies, developers).thenReturn(List.copyOf(projects.values()));
+        });
+    }
+
+    // Carga un lote con el plan de consultas fijo, lo escribe y libera el contexto de persistencia
+    private void writeBatch(DataFormats.SequenceWriter writer, List<Integer> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (Project project : loadProjects(batch)) {
+            writer.write(toDTO(project));
+        }
+        writer.flush();  // Envía el lote al cliente
+        entityManager.clear();  // Desvincula las entidades del lote para no acumularlas en memoria
+        batch.clear();
+    }
+
+    /**
+     * Loads the given projects together with their technologies and developers
+     * using a fixed number of queries, whatever the number of IDs. The state is
+     * left as a reference: its name comes from the {@link StateRegistry}.
+     * Both fetch queries run in the same persistence context, so the second one
+     * completes the entities returned by the first.
+     *
+     * @param ids the IDs of the projects to load.
+     * @return the loaded projects, in the same order as the IDs (missing IDs are skipped).
+     */
+    private List<Project> loadProjects(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
-        if (project == null) {  // Si no se encuentra el proyecto
+        Map<Integer, Project> byId = new HashMap<>();
+        for (Project project : projectRepository.findWithTechnologiesByIdIn(ids)) {
+            byId.put(project.getId(), project);
+        }
+        projectRepository.findWithDevelopersByIdIn(ids);  // Inicializa la colección de desarrolladores
+        List<Project> ordered = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Project project = byId.get(id);
+            if (project != null) {
+                ordered.add(project);
+            }
+        }
+        return ordered;
+    }
+
+    // El nombre del estado sale del registro en memoria: no se inicializa el proxy del estado
+    private ProjectDTO toDTO(Project project) {
+        return new ProjectDTO(project, stateRegistry.nameOf(project.getStateProject()));
+    }
+
+    /**
+     * Returns the ETag of a page of projects, computed from the in-memory version
+     * counters without touching the database.
+     *
+     * @param page the page number (0-based index).
+     * @param size the number of items per page.
+     * @param format the negotiated response format, which each representation has in its ETag.
+     * @return the strong ETag value of the page.
+     */
+    @Override
+    public String projectsETag(int page, int size, MediaType format) {
+        return projectVersionTracker.listVersion() + "-" + page + "-" + size + DataFormats.etagSuffix(format);
+    }
+
+    /**
+     * Returns the ETag of the project that {@link #showProjectByName(String)} would return,
+     * resolving the name with the in-memory index, so the database is not touched.
+     *
+     * @param name the text contained in the name of the project.
+     * @param format the negotiated response format.
+     * @return the strong ETag value, or null if no project matches.
+     */
+    @Override
+    public String projectETag(String name, MediaType format) {
+        List<Integer> ids = projectNameIndex.search(name);
+        if (ids.isEmpty()) {
+            return null;
+        }
+        return projectETagById(ids.get(0), format);
+    }
+
+    /**
+     * Returns the ETag of the project with the given ID from the in-memory version counters.
+     *
+     * @param id the ID of the project.
+     * @param format the negotiated response format.
+     * @return the strong ETag value of the project.
+     */
+    @Override
+    public String projectETagById(int id, MediaType format) {
+        return id + "-" + projectVersionTracker.projectVersion(id) + DataFormats.etagSuffix(format);
+    }
+
+    /**
+     * Retrieves the project whose name best matches the given text.
+     *
+     * @param name the text contained in the name of the project to find.
+     * @return the ProjectDTO of the best ranked project.
+     * @throws IllegalArgumentException if no project is found with the given name.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectDTO showProjectByName(String name) {
+        List<Integer> ids = projectNameIndex.search(name);  // Consulta el índice en lugar de recorrer la tabla
+        List<Project> projects = ids.isEmpty() ? List.of() : loadProjects(ids.subList(0, 1));
+        if (projects.isEmpty()) {  // Si no se encuentra el proyecto
             throw new IllegalArgumentException("No project found with name containing: " + name);  // Lanza una excepción
         }
-        return new ProjectDTO(project);  // Devuelve el DTO del proyecto encontrado
+        return toDTO(projects.get(0));  // Devuelve el DTO del proyecto encontrado
+    }
+
+    /**
+     * Searches projects whose name contains the given text, ranked by relevance.
+     *
+     * @param name the text to look for in the project names.
+     * @param page the page number to fetch (0-based index).
+     * @param size the number of items per page.
+     * @return a paginated list of the matching projects as ProjectDTO objects.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProjectDTO> searchProjectsByName(String name, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        List<Integer> ids = projectNameIndex.search(name);  // IDs candidatos ya ordenados por relevancia
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + size, ids.size());
+        List<Integer> pageIds = ids.subList(from, to);
+
+        // Carga solo los proyectos de la página y respeta el orden del ranking
+        List<ProjectDTO> content = new ArrayList<>(pageIds.size());
+        for (Project project : loadProjects(pageIds)) {
+            content.add(toDTO(project));
+        }
+        return new PageImpl<>(content, pageable, ids.size());
     }
 
     /**
@@ -68,7 +394,12 @@ public class ProjectServiceImpl implements ProjectServiceI {
      */
     @Override
     public void saveProject(Project project) {
-        projectRepository.save(project);  // Guarda el proyecto en la base de datos
+        Project saved = projectRepository.save(project);  // Guarda el proyecto en la base de datos
+        eventPublisher.publishEvent(new ProjectSavedEvent(saved.getId(), saved.getName()));
+        eventPublisher.publishEvent(new ProjectStartDateChangedEvent(saved.getId(), localDate(saved.getStart_date())));
+        if (saved.getStateProject() != null) {
+            eventPublisher.publishEvent(new ProjectsStateChangedEvent(List.of(saved.getId()), saved.getStateProject().getId()));
+        }
     }
 
     /**
@@ -78,17 +409,89 @@ public class ProjectServiceImpl implements ProjectServiceI {
      * @return true if the project was successfully deleted, otherwise throws an exception.
      * @throws IllegalArgumentException if no project exists with the given ID.
      */
+    @Transactional
     public boolean deleteProject(Integer id) {
-        Optional<Project> project = projectRepository.findById(id);  // Busca el proyecto por ID
-
-        if (project.isPresent()) {  // Si el proyecto existe
-            projectRepository.deleteById(id);  // Elimina el proyecto
+        if (projectRepository.existsById(id)) {  // Si el proyecto existe
+            deleteProjectIds(List.of(id));  // Elimina sus asociaciones y el proyecto sin cargarlos
             return true;
         } else {
             throw new IllegalArgumentException("No project found with ID: " + id);  // Si el proyecto no existe, lanza una excepción
         }
     }
 
+    /**
+     * Deletes a set of projects with set-based statements.
+     * The projects are resolved to IDs first (the name and technology filters use the
+     * in-memory indexes); then both join tables and the project rows are cleared with one
+     * DELETE each, so no project, technology or developer is loaded.
+     *
+     * @param request the IDs of the projects to delete, or a filter.
+     * @return the IDs that were deleted and the requested IDs that do not exist.
+     * @throws IllegalArgumentException if both or neither IDs and filter are given, or the state does not exist.
+     */
+    @Override
+    @Transactional
+    public BulkDeleteResultDTO deleteProjects(BulkDeleteDTO request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byTechnologies = request.getTechnologies() != null && !request.getTechnologies().isEmpty();
+        boolean byFilter = request.getName() != null || request.getState() != null || byTechnologies;
+        if (byIds == byFilter) {
+            throw new IllegalArgumentException("Provide either a list of project IDs or a filter");
+        }
+
+        List<Integer> deleted = new ArrayList<>();
+        List<Integer> missing = new ArrayList<>();
+        if (byIds) {
+            Set<Integer> requested = new LinkedHashSet<>(request.getIds());
+            requested.remove(null);
+            Set<Integer> existing = new HashSet<>(projectRepository.findExistingIds(requested));
+            for (Integer id : requested) {
+                if (existing.contains(id)) {
+                    deleted.add(id);
+                } else {
+                    missing.add(id);
+                }
+            }
+        } else {
+            Integer stateId = request.getState() == null ? null : stateByName(request.getState()).id();
+            // El nombre y las tecnologías se resuelven en memoria con los índices
+            BitSet candidates = null;
+            if (request.getName() != null) {
+                candidates = new BitSet();
+                projectNameIndex.search(request.getName()).forEach(candidates::set);
+            }
+            if (byTechnologies) {
+                BitSet matching = technologyBitmapIndex.filter(request.getTechnologies(), List.of(), List.of());
+                if (candidates == null) {
+                    candidates = matching;
+                } else {
+                    candidates.and(matching);
+                }
+            }
+            if (candidates == null) {
+                deleted = projectRepository.findIdsByStateId(stateId);
+            } else if (!candidates.isEmpty()) {
+                List<Integer> ids = candidates.stream().boxed().toList();
+                deleted = stateId == null
+                        ? projectRepository.findExistingIds(ids)
+                        : projectRepository.findIdsByStateIdAndIdIn(stateId, ids);
+            }
+        }
+        deleteProjectIds(deleted);
+        return new BulkDeleteResultDTO(deleted, missing);
+    }
+
+    // Vacía las dos tablas de unión y borra los proyectos: tres sentencias sea cual sea el número de IDs
+    private void deleteProjectIds(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        projectRepository.unlinkTechnologies(ids);
+        projectRepository.unlinkDevelopers(ids);
+        projectRepository.deleteByIdIn(ids);
+        eventPublisher.publishEvent(new ProjectsDeletedEvent(ids));
+    }
+
     /**
      * Updates an existing project with new data.
      *
@@ -111,6 +514,8 @@ public class ProjectServiceImpl implements ProjectServiceI {
             projectToUpdate.get().setTechnologies(project.getTechnologies());
             projectToUpdate.get().setDevelopers(project.getDevelopers());
             projectRepository.save(projectToUpdate.get());  // Guarda el proyecto actualizado
+            eventPublisher.publishEvent(new ProjectSavedEvent(id, project.getName()));
+            eventPublisher.publishEvent(new ProjectStartDateChangedEvent(id, localDate(project.getStart_date())));
             return true;
         } else {
             return false;  // Si el proyecto no se encuentra, no se actualiza
@@ -118,29 +523,170 @@ public class ProjectServiceImpl implements ProjectServiceI {
     }
 
     /**
-     * Moves a project to the testing state.
+     * Applies a JSON Merge Patch to a project.
+     * The supplied columns are written with one dynamic JPQL UPDATE, so the project is not
+     * loaded and no collection is diffed. {@code technologies} and {@code developers}
+     * (arrays of IDs or of objects with an {@code id}) replace the associations through
+     * set-based DELETE/INSERT statements and are only processed when present.
+     * With an If-Match value the project row is locked first and the value is compared with
+     * the project's version counter, which is then advanced before the update.
      *
-     * @param id the ID of the project to move to testing.
-     * @return true if the project was successfully moved to testing, false if no such project exists.
+     * @param id the ID of the project to patch.
+     * @param patch the merge patch document.
+     * @param ifMatch the If-Match header value, or null for an unconditional patch.
+     * @return true if the project was patched, false if it does not exist.
+     * @throws IllegalArgumentException if the patch is malformed or fails validation.
+     * @throws PreconditionFailedException if the If-Match value does not match the current version.
      */
     @Override
-    public boolean moveProjectToTesting(Integer id) {
-        Optional<Project> projectOptional = projectRepository.findById(id);  // Busca el proyecto por ID
-        boolean isUpdated = false;
-        if (projectOptional.isPresent()) {  // Si el proyecto existe
-            Project project = projectOptional.get();
-            Optional<State> stateOptional = stateRepository.findById(2);  // Busca el estado de "testing" (ID 2)
-            if (stateOptional.isPresent()) {
-                project.setStateProject(stateOptional.get());  // Asigna el estado de "testing" al proyecto
-                projectRepository.save(project);  // Guarda el proyecto con el nuevo estado
-                isUpdated = true;
+    @Transactional
+    public boolean patchProject(int id, JsonNode patch, String ifMatch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("The patch must be a JSON object");
+        }
+
+        // Traduce el documento a columnas y asociaciones, validando cada valor
+        Map<String, Object> columns = new LinkedHashMap<>();
+        List<Integer> technologyIds = null;
+        List<Integer> developerIds = null;
+        Integer stateId = null;
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String key = field.getKey();
+            JsonNode value = field.getValue();
+            if (PATCHABLE_COLUMNS.containsKey(key)) {
+                columns.put(key, columnValue(key, value));
+            } else if (key.equals("stateProjectName")) {
+                if (!value.isTextual()) {
+                    throw new IllegalArgumentException("stateProjectName must be the name of a state");
+                }
+                stateId = stateByName(value.asText()).id();
+                columns.put("stateProject", stateRepository.getReferenceById(stateId));
+            } else if (key.equals("technologies")) {
+                technologyIds = idsOf(key, value);
+            } else if (key.equals("developers")) {
+                developerIds = idsOf(key, value);
             } else {
-                System.out.println("State with ID 2 does not exist.");
+                throw new IllegalArgumentException("Field cannot be patched: " + key);
+            }
+        }
+
+        if (ifMatch != null) {
+            if (projectRepository.lockById(id).isEmpty()) {
+                return false;
+            }
+            if (!etagMatches(ifMatch, id)) {
+                String current = projectETagById(id, MediaType.APPLICATION_JSON);
+                throw new PreconditionFailedException("The project has changed, current ETag is \"" + current + "\"");
+            }
+            projectVersionTracker.claim(id);  // Las peticiones con el mismo If-Match fallarán al obtener el bloqueo
+        }
+
+        if (!columns.isEmpty()) {
+            StringBuilder jpql = new StringBuilder("UPDATE Project p SET ");
+            for (String column : columns.keySet()) {
+                if (jpql.charAt(jpql.length() - 1) != ' ') {
+                    jpql.append(", ");
+                }
+                jpql.append("p.").append(column).append(" = :").append(column);
+            }
+            jpql.append(" WHERE p.id = :id");
+            Query update = entityManager.createQuery(jpql.toString()).setParameter("id", id);
+            columns.forEach(update::setParameter);
+            if (update.executeUpdate() == 0) {
+                return false;
+            }
+        } else if (ifMatch == null && projectRepository.lockById(id).isEmpty()) {
+            return false;  // El bloqueo protege también la sustitución de asociaciones
+        }
+
+        if (technologyIds != null) {
+            technologyService.replaceProjectTechnologies(id, technologyIds);
+        }
+        if (developerIds != null) {
+            developerService.replaceProjectDevelopers(id, developerIds);
+        }
+
+        eventPublisher.publishEvent(new ProjectPatchedEvent(id, Set.copyOf(columns.keySet())));
+        if (columns.containsKey("name")) {
+            eventPublisher.publishEvent(new ProjectSavedEvent(id, (String) columns.get("name")));
+        }
+        if (columns.containsKey("start_date")) {
+            eventPublisher.publishEvent(new ProjectStartDateChangedEvent(id, localDate((Date) columns.get("start_date"))));
+        }
+        if (stateId != null) {
+            eventPublisher.publishEvent(new ProjectsStateChangedEvent(List.of(id), stateId));
+        }
+        return true;
+    }
+
+    // Convierte y valida el valor de una columna con las mismas restricciones que la entidad
+    private Object columnValue(String column, JsonNode node) {
+        Object value;
+        if (node.isNull()) {
+            value = null;
+        } else if (PATCHABLE_COLUMNS.get(column) == String.class) {
+            if (!node.isTextual()) {
+                throw new IllegalArgumentException(column + " must be a string");
             }
+            value = node.asText();
         } else {
-            System.out.println("Project with ID " + id + " does not exist.");
+            value = objectMapper.convertValue(node, PATCHABLE_COLUMNS.get(column));
+        }
+        Set<ConstraintViolation<Project>> violations = validator.validateValue(Project.class, column, value);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(column + ": " + violations.iterator().next().getMessage());
+        }
+        return value;
+    }
+
+    private static LocalDate localDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+
+    private static List<Integer> idsOf(String field, JsonNode node) {
+        if (!node.isArray()) {
+            throw new IllegalArgumentException(field + " must be an array");
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (JsonNode element : node) {
+            JsonNode id = element.isObject() ? element.get("id") : element;
+            if (id == null || !id.canConvertToInt()) {
+                throw new IllegalArgumentException(field + " must contain IDs or objects with an id");
+            }
+            ids.add(id.asInt());
+        }
+        return ids;
+    }
+
+    // Comparación fuerte de If-Match (RFC 9110): "*" o alguna de las etiquetas indicadas.
+    // Vale la etiqueta de cualquier formato, porque todos representan la misma versión
+    private boolean etagMatches(String ifMatch, int id) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            for (MediaType format : DataFormats.RESPONSE_FORMATS) {
+                if (tag.equals("\"" + projectETagById(id, format) + "\"")) {
+                    return true;
+                }
+            }
         }
-        return isUpdated;  // Retorna si el proyecto fue actualizado exitosamente
+        return false;
+    }
+
+    /**
+     * Moves a project to the testing state.
+     *
+     * @param id the ID of the project to move to testing.
+     * @return true if the project was successfully moved to testing, false if no such project exists.
+     */
+    @Override
+    @Transactional
+    public boolean moveProjectToTesting(Integer id) {
+        return moveProjectTo(id, TESTING_STATE_ID);
     }
 
     /**
@@ -150,23 +696,91 @@ public class ProjectServiceImpl implements ProjectServiceI {
      * @return true if the project was successfully moved to production, false if no such project exists.
      */
     @Override
+    @Transactional
     public boolean moveProjectToProduction(Integer id) {
-        Optional<Project> projectOptional = projectRepository.findById(id);  // Busca el proyecto por ID
-        boolean isUpdated = false;
-        if (projectOptional.isPresent()) {  // Si el proyecto existe
-            Project project = projectOptional.get();
-            Optional<State> stateOptional = stateRepository.findById(3);  // Busca el estado de "production" (ID 3)
-            if (stateOptional.isPresent()) {
-                project.setStateProject(stateOptional.get());  // Asigna el estado de "production" al proyecto
-                projectRepository.save(project);  // Guarda el proyecto con el nuevo estado
-                isUpdated = true;
-            } else {
-                System.out.println("State with ID 3 does not exist.");
+        return moveProjectTo(id, PRODUCTION_STATE_ID);
+    }
+
+    // El estado se resuelve en memoria y el proyecto se actualiza sin cargarlo: una sola sentencia
+    private boolean moveProjectTo(Integer projectId, int stateId) {
+        if (stateRegistry.byId(stateId).isEmpty()) {
+            return false;  // El estado no existe
+        }
+        boolean moved = projectRepository.updateStateByIdIn(stateRepository.getReferenceById(stateId), List.of(projectId)) > 0;
+        if (moved) {
+            eventPublisher.publishEvent(new ProjectsStateChangedEvent(List.of(projectId), stateId));
+        }
+        return moved;
+    }
+
+    /**
+     * Moves a set of projects to another state.
+     * The IDs are resolved first (from the list or the filter) and then moved with one
+     * JPQL bulk update restricted to exactly those IDs, so the response lists precisely
+     * the projects that changed. States are resolved from the registry and no project
+     * entity is loaded.
+     *
+     * @param request the target state name and the projects to move.
+     * @return the IDs that were moved and the requested IDs that do not exist.
+     * @throws IllegalArgumentException if a state is unknown or the request has both or neither IDs and filter.
+     */
+    @Override
+    @Transactional
+    public StateTransitionResultDTO changeProjectsState(StateTransitionDTO request) {
+        if (request.getState() == null || request.getState().isBlank()) {
+            throw new IllegalArgumentException("The target state is required");
+        }
+        StateRegistry.Entry target = stateByName(request.getState());
+
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byTechnologies = request.getTechnologies() != null && !request.getTechnologies().isEmpty();
+        boolean byFilter = request.getFromState() != null || byTechnologies;
+        if (byIds == byFilter) {
+            throw new IllegalArgumentException("Provide either a list of project IDs or a filter");
+        }
+
+        List<Integer> moved;
+        List<Integer> missing = new ArrayList<>();
+        if (byIds) {
+            Set<Integer> requested = new LinkedHashSet<>(request.getIds());
+            requested.remove(null);
+            Set<Integer> existing = new HashSet<>(projectRepository.findExistingIds(requested));
+            moved = new ArrayList<>();
+            for (Integer id : requested) {
+                if (existing.contains(id)) {
+                    moved.add(id);
+                } else {
+                    missing.add(id);
+                }
             }
         } else {
-            System.out.println("Project with ID " + id + " does not exist.");
+            Integer fromStateId = request.getFromState() == null ? null : stateByName(request.getFromState()).id();
+            if (byTechnologies) {
+                // Las tecnologías se resuelven en memoria con el índice de mapas de bits
+                List<Integer> candidates = technologyBitmapIndex.filter(request.getTechnologies(), List.of(), List.of())
+                        .stream().boxed().toList();
+                if (candidates.isEmpty()) {
+                    moved = List.of();
+                } else if (fromStateId == null) {
+                    moved = projectRepository.findExistingIds(candidates);
+                } else {
+                    moved = projectRepository.findIdsByStateIdAndIdIn(fromStateId, candidates);
+                }
+            } else {
+                moved = projectRepository.findIdsByStateId(fromStateId);
+            }
+        }
+
+        if (!moved.isEmpty()) {
+            projectRepository.updateStateByIdIn(stateRepository.getReferenceById(target.id()), moved);  // Una única sentencia UPDATE
+            eventPublisher.publishEvent(new ProjectsStateChangedEvent(moved, target.id()));
         }
-        return isUpdated;  // Retorna si el proyecto fue actualizado exitosamente
+        return new StateTransitionResultDTO(target.name(), moved, missing);
+    }
+
+    private StateRegistry.Entry stateByName(String name) {
+        return stateRegistry.byName(name)
+                .orElseThrow(() -> new IllegalArgumentException("State not found: " + name));
     }
 
     /**
@@ -187,7 +801,47 @@ public class ProjectServiceImpl implements ProjectServiceI {
      * @return a list of projects that use the given technology.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getProjectsByTechnology(String techName) {
-        return projectRepository.findProjectsByTechnology(techName);  // Llama al repositorio para obtener los proyectos que usan una tecnología específica
+        BitSet matches = technologyBitmapIndex.filter(List.of(techName), List.of(), List.of());  // Resuelve el filtro en memoria
+        List<ProjectDTO> projects = new ArrayList<>();
+        for (Project project : loadProjects(idsOf(matches, 0, Integer.MAX_VALUE))) {
+            projects.add(toDTO(project));
+        }
+        return projects;
+    }
+
+    /**
+     * Retrieves the projects that match a combination of technologies.
+     *
+     * @param all names of the technologies that every project must use.
+     * @param any names of the technologies of which each project must use at least one (ignored if empty).
+     * @param none names of the technologies that no project may use.
+     * @param page the page number to fetch (0-based index).
+     * @param size the number of items per page.
+     * @return a paginated list of the matching projects, ordered by ID.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProjectDTO> filterProjectsByTechnologies(Collection<String> all, Collection<String> any, Collection<String> none, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        BitSet matches = technologyBitmapIndex.filter(all, any, none);  // Operaciones AND/OR/NOT sobre los mapas de bits
+        List<ProjectDTO> content = new ArrayList<>();
+        for (Project project : loadProjects(idsOf(matches, pageable.getOffset(), size))) {
+            content.add(toDTO(project));
+        }
+        return new PageImpl<>(content, pageable, matches.cardinality());
+    }
+
+    // Extrae los IDs de una página de un mapa de bits, en orden ascendente
+    private static List<Integer> idsOf(BitSet bits, long offset, int size) {
+        List<Integer> ids = new ArrayList<>();
+        long skipped = 0;
+        for (int id = bits.nextSetBit(0); id >= 0 && ids.size() < size; id = bits.nextSetBit(id + 1)) {
+            if (skipped++ >= offset) {
+                ids.add(id);
+            }
+        }
+        return ids;
     }
 }
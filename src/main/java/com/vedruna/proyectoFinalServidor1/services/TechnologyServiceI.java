@@ -1,7 +1,18 @@
 package com.vedruna.proyectoFinalServidor1.services;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.vedruna.proyectoFinalServidor1.dto.AssociationResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.TechnologyDTO;
+import com.vedruna.proyectoFinalServidor1.index.TechnologyCooccurrence;
 import com.vedruna.proyectoFinalServidor1.persistance.model.Technology;
 
+import reactor.core.publisher.Flux;
+
 public interface TechnologyServiceI {
 
     /**
@@ -19,6 +30,21 @@ public interface TechnologyServiceI {
      */
     boolean deleteTechnology(Integer id);
 
+    /**
+     * Deletes a set of technologies, given as a list of IDs or as a name filter.
+     * 
+     * @param request the technologies to delete.
+     * @return the IDs that were deleted and the requested IDs that do not exist.
+     */
+    BulkDeleteResultDTO deleteTechnologies(BulkDeleteDTO request);
+
+    /**
+     * Streams every technology through R2DBC, in ID order and at the pace of the subscriber.
+     * 
+     * @return the technologies ordered by ID.
+     */
+    Flux<TechnologyDTO> streamTechnologies();
+
     /**
      * Finds a technology by its ID.
      * 
@@ -34,4 +60,30 @@ public interface TechnologyServiceI {
      * @param technologyId the ID of the technology to be associated with the project.
      */
     void associateTechnologyWithProject(int projectId, int technologyId);
+
+    /**
+     * Associates a set of technologies with a project, ignoring those already associated.
+     * 
+     * @param projectId the ID of the project to associate the technologies with.
+     * @param technologyIds the IDs of the technologies to be associated with the project.
+     * @return the IDs added, already associated and not found.
+     */
+    AssociationResultDTO associateTechnologiesWithProject(int projectId, Collection<Integer> technologyIds);
+
+    /**
+     * Replaces the technologies associated with a project without loading its collection.
+     * 
+     * @param projectId the ID of the project.
+     * @param technologyIds the IDs of every technology the project must end up with.
+     */
+    void replaceProjectTechnologies(int projectId, Collection<Integer> technologyIds);
+
+    /**
+     * Finds the technologies most often used in the same projects as a technology.
+     * 
+     * @param name the name of the technology.
+     * @param limit the maximum number of technologies to return, between 1 and 100.
+     * @return the technologies ordered by shared projects, or empty if the technology does not exist.
+     */
+    Optional<List<TechnologyCooccurrence.Related>> findTechnologiesUsedWith(String name, int limit);
 }
@@ -1,58 +1,95 @@
 package com.vedruna.proyectoFinalServidor1.services;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.vedruna.proyectoFinalServidor1.dto.AssociationResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteDTO;
+import com.vedruna.proyectoFinalServidor1.dto.BulkDeleteResultDTO;
+import com.vedruna.proyectoFinalServidor1.dto.TechnologyDTO;
+import com.vedruna.proyectoFinalServidor1.events.TechnologiesDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.index.TechnologyCooccurrence;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLink;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksRemovedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologySavedEvent;
 import com.vedruna.proyectoFinalServidor1.persistance.model.Technology;
 import com.vedruna.proyectoFinalServidor1.persistance.model.Project;
 import com.vedruna.proyectoFinalServidor1.persistance.repository.TechnologyRepositoryI;
 import com.vedruna.proyectoFinalServidor1.persistance.repository.ProjectRepositoryI;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.ReactiveTechnologyRepository;
+
+import reactor.core.publisher.Flux;
 
 @Service
 public class TechnologyServiceImpl implements TechnologyServiceI {
 
+    // Máximo de tecnologías devueltas por la consulta "usada junto con"
+    private static final int MAX_USED_WITH = 100;
+
     @Autowired
     TechnologyRepositoryI technologyRepository;
 
     @Autowired
     ProjectRepositoryI projectRepository;
 
+    @Autowired
+    ReactiveTechnologyRepository reactiveTechnologyRepository; // Lecturas en streaming con R2DBC
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher; // Notifica los cambios a los índices en memoria
+
+    @Autowired
+    TechnologyCooccurrence technologyCooccurrence; // Matriz de tecnologías usadas juntas
+
+    @Value("${stream.batch-size:256}")
+    int streamBatchSize; // Filas leídas por consulta en los streams reactivos
+
     /**
      * Saves a technology with the projects associated.
      * This method ensures that a technology is saved along with its associated projects.
+     * The projects are locked in ascending ID order first, like the association endpoints
+     * lock their project, so the join rows cannot change under either of them.
      * 
      * @param technology the technology to be saved
      */
     @Override
+    @Transactional
     public void saveTechnology(Technology technology) {
         // Verifica si ya existe una tecnología con el mismo ID en la base de datos
         if (technologyRepository.existsById(technology.getId())) {
             throw new IllegalArgumentException("El ID de la tecnología ya está en uso");
         }
 
-        // Lista que gestionará los proyectos asociados a la tecnología
-        List<Project> managedProjects = new ArrayList<>();
-        
-        // Itera a través de los proyectos asociados a la tecnología
-        for (Project project : technology.getProjectsTechnologies()) {
-            // Verifica si el proyecto existe en la base de datos
-            projectRepository.findById(project.getId()).ifPresentOrElse(
-                managedProjects::add,  // Si existe, añade el proyecto a la lista
-                () -> { 
-                    throw new IllegalArgumentException("No existe ningún proyecto con el ID: " + project.getId());
-                }
-            );
-        }
+        // Carga y bloquea todos los proyectos asociados con una sola consulta
+        Set<Integer> projectIds = projectIds(technology.getProjectsTechnologies());
+        List<Project> managedProjects = managedProjects(projectIds, new TreeSet<>(projectIds));
         
         // Asocia los proyectos gestionados a la tecnología
         technology.setProjectsTechnologies(managedProjects);
         
         // Guarda la tecnología con los proyectos asociados en la base de datos
         technologyRepository.save(technology);
+        eventPublisher.publishEvent(new TechnologySavedEvent(technology.getId(), technology.getName()));
+        List<TechnologyLink> links = new ArrayList<>();
+        for (Project project : managedProjects) {
+            links.add(new TechnologyLink(technology.getId(), project.getId()));
+        }
+        eventPublisher.publishEvent(new TechnologyLinksAddedEvent(links));
     }
 
     /**
@@ -64,12 +101,11 @@ public class TechnologyServiceImpl implements TechnologyServiceI {
      * @throws IllegalArgumentException if no technology exists with the given ID
      */
     @Override
+    @Transactional
     public boolean deleteTechnology(Integer id) {
-        Optional<Technology> technology = technologyRepository.findById(id);
-    
-        if (technology.isPresent()) {
+        if (technologyRepository.existsById(id)) {
             // Elimina la tecnología si existe en la base de datos
-            technologyRepository.deleteById(id); 
+            deleteTechnologyIds(List.of(id));
             return true;
         } else {
             // Lanza excepción si la tecnología no existe
@@ -77,6 +113,68 @@ public class TechnologyServiceImpl implements TechnologyServiceI {
         }
     }
 
+    /**
+     * Deletes a set of technologies with set-based statements.
+     * The join table rows are removed with one DELETE and the technologies with another,
+     * so neither the technologies nor their projects are loaded.
+     * 
+     * @param request the IDs of the technologies to delete, or a name filter
+     * @return the IDs that were deleted and the requested IDs that do not exist
+     * @throws IllegalArgumentException if both or neither IDs and filter are given, or a project filter is used
+     */
+    @Override
+    @Transactional
+    public BulkDeleteResultDTO deleteTechnologies(BulkDeleteDTO request) {
+        if (request.getState() != null || request.getTechnologies() != null) {
+            throw new IllegalArgumentException("Technologies can only be filtered by name");
+        }
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (byIds == (request.getName() != null)) {
+            throw new IllegalArgumentException("Provide either a list of technology IDs or a filter");
+        }
+
+        List<Integer> deleted = new ArrayList<>();
+        List<Integer> missing = new ArrayList<>();
+        if (byIds) {
+            Set<Integer> requested = new LinkedHashSet<>(request.getIds());
+            requested.remove(null);
+            Set<Integer> existing = new HashSet<>(technologyRepository.findExistingIds(requested));
+            for (Integer id : requested) {
+                if (existing.contains(id)) {
+                    deleted.add(id);
+                } else {
+                    missing.add(id);
+                }
+            }
+        } else {
+            deleted = technologyRepository.findIdsByNameContaining(request.getName());
+        }
+        deleteTechnologyIds(deleted);
+        return new BulkDeleteResultDTO(deleted, missing);
+    }
+
+    // Vacía la tabla de unión y borra las tecnologías: dos sentencias sea cual sea el número de IDs
+    private void deleteTechnologyIds(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        technologyRepository.unlinkAll(ids);
+        technologyRepository.deleteByIdIn(ids);
+        eventPublisher.publishEvent(new TechnologiesDeletedEvent(ids));
+    }
+
+    /**
+     * Streams every technology through R2DBC in keyset batches, read on demand.
+     * 
+     * @return the technologies ordered by ID
+     */
+    @Override
+    public Flux<TechnologyDTO> streamTechnologies() {
+        return KeysetStreams.stream(streamBatchSize,
+                after -> reactiveTechnologyRepository.findAfter(after, streamBatchSize).collectList(),
+                TechnologyDTO::getId);
+    }
+
     /**
      * Finds a technology by its ID.
      * This method retrieves a technology from the database by its ID.
@@ -92,29 +190,181 @@ public class TechnologyServiceImpl implements TechnologyServiceI {
 
     /**
      * Associates a technology with a project.
-     * This method links a technology with a project, adding the technology to the project's list
-     * and the project to the technology's list of associated projects.
+     * This method delegates to the set-based association, so the project's collection
+     * is never loaded and repeated calls are harmless.
      *
      * @param technologyId the ID of the technology to associate
      * @param projectId the ID of the project to associate with
      * @throws IllegalArgumentException if the technology or project with the given IDs is not found
      */
     @Override
+    @Transactional
     public void associateTechnologyWithProject(int projectId, int technologyId) {
-        // Busca la tecnología por su ID
-        Technology technology = technologyRepository.findById(technologyId).orElseThrow(() -> 
-            new IllegalArgumentException("Technology with ID " + technologyId + " not found"));
-        
-        // Busca el proyecto por su ID
-        Project project = projectRepository.findById(projectId).orElseThrow(() -> 
-            new IllegalArgumentException("Project with ID " + projectId + " not found"));
-        
-        // Agrega la tecnología al proyecto y viceversa
-        project.getTechnologies().add(technology);
-        technology.getProjectsTechnologies().add(project);
-        
-        // Guarda ambos, el proyecto y la tecnología, después de la asociación
-        projectRepository.save(project);
-        technologyRepository.save(technology);
+        AssociationResultDTO result = associateTechnologiesWithProject(projectId, List.of(technologyId));
+        if (!result.getNotFound().isEmpty()) {
+            throw new IllegalArgumentException("Technology with ID " + technologyId + " not found");
+        }
+    }
+
+    /**
+     * Associates a set of technologies with a project.
+     * The join rows are written with a single INSERT ... SELECT, so the cost depends on
+     * the requested IDs and not on the size of the project's collection. The project row
+     * is locked first: every writer that links existing technologies to a project takes
+     * the same lock, so the pairs read as missing are exactly the ones inserted, and the
+     * unique key of the join table keeps any other writer from duplicating a pair.
+     *
+     * @param projectId the ID of the project
+     * @param technologyIds the IDs of the technologies to associate
+     * @return which IDs were added, which were already associated and which do not exist
+     * @throws IllegalArgumentException if the project with the given ID is not found
+     */
+    @Override
+    @Transactional
+    public AssociationResultDTO associateTechnologiesWithProject(int projectId, Collection<Integer> technologyIds) {
+        if (projectRepository.lockById(projectId).isEmpty()) {
+            throw new IllegalArgumentException("Project with ID " + projectId + " not found");
+        }
+        Set<Integer> requested = new LinkedHashSet<>(technologyIds);
+        requested.remove(null);
+        if (requested.isEmpty()) {
+            return new AssociationResultDTO(projectId, List.of(), List.of(), List.of());
+        }
+
+        // Clasifica los IDs pedidos: inexistentes, ya asociados y nuevos
+        Set<Integer> existing = new HashSet<>(technologyRepository.findExistingIds(requested));
+        Set<Integer> linked = existing.isEmpty() ? Set.of() : new HashSet<>(technologyRepository.findIdsLinkedToProject(projectId, existing));
+        List<Integer> added = new ArrayList<>();
+        List<Integer> alreadyAssociated = new ArrayList<>();
+        List<Integer> notFound = new ArrayList<>();
+        for (Integer id : requested) {
+            if (!existing.contains(id)) {
+                notFound.add(id);
+            } else if (linked.contains(id)) {
+                alreadyAssociated.add(id);
+            } else {
+                added.add(id);
+            }
+        }
+
+        if (!added.isEmpty()) {
+            link(projectId, added);
+            List<TechnologyLink> links = new ArrayList<>();
+            for (Integer id : added) {
+                links.add(new TechnologyLink(id, projectId));
+            }
+            eventPublisher.publishEvent(new TechnologyLinksAddedEvent(links));
+        }
+        return new AssociationResultDTO(projectId, added, alreadyAssociated, notFound);
+    }
+
+    /**
+     * Replaces the technologies associated with a project.
+     * Only the IDs of the current associations are read; the join rows that are no longer
+     * wanted are removed with one DELETE and the new ones added with one INSERT, so the
+     * project's collection is never loaded.
+     *
+     * The caller must hold the lock of the project row, as the merge patch does with its
+     * UPDATE or with {@code lockById}, so that the current associations it reads stay valid.
+     *
+     * @param projectId the ID of the project
+     * @param technologyIds the IDs of every technology the project must end up with
+     * @throws IllegalArgumentException if any of the technologies does not exist
+     */
+    @Override
+    @Transactional
+    public void replaceProjectTechnologies(int projectId, Collection<Integer> technologyIds) {
+        Set<Integer> target = new LinkedHashSet<>(technologyIds);
+        target.remove(null);
+        Set<Integer> existing = target.isEmpty() ? Set.of() : new HashSet<>(technologyRepository.findExistingIds(target));
+        for (Integer id : target) {
+            if (!existing.contains(id)) {
+                throw new IllegalArgumentException("Technology with ID " + id + " not found");
+            }
+        }
+
+        Set<Integer> current = new HashSet<>(technologyRepository.findIdsByProjectId(projectId));
+        List<Integer> removed = new ArrayList<>();
+        for (Integer id : current) {
+            if (!target.contains(id)) {
+                removed.add(id);
+            }
+        }
+        List<Integer> added = new ArrayList<>();
+        for (Integer id : target) {
+            if (!current.contains(id)) {
+                added.add(id);
+            }
+        }
+
+        if (!removed.isEmpty()) {
+            technologyRepository.unlinkFromProject(projectId, removed);
+            List<TechnologyLink> links = new ArrayList<>();
+            for (Integer id : removed) {
+                links.add(new TechnologyLink(id, projectId));
+            }
+            eventPublisher.publishEvent(new TechnologyLinksRemovedEvent(links));
+        }
+        if (!added.isEmpty()) {
+            link(projectId, added);
+            List<TechnologyLink> links = new ArrayList<>();
+            for (Integer id : added) {
+                links.add(new TechnologyLink(id, projectId));
+            }
+            eventPublisher.publishEvent(new TechnologyLinksAddedEvent(links));
+        }
+    }
+
+    // Inserta los pares que faltan; con el proyecto bloqueado, todos deben insertarse
+    private void link(int projectId, List<Integer> technologyIds) {
+        int inserted = technologyRepository.linkToProject(projectId, technologyIds);
+        if (inserted != technologyIds.size()) {
+            // Otra escritura sin bloqueo se ha adelantado: se deshace la transacción antes de publicar nada
+            throw new IllegalStateException("Expected to link " + technologyIds.size() + " technologies to project " + projectId + ", linked " + inserted);
+        }
+    }
+
+    // Devuelve los proyectos gestionados con los IDs recibidos, o falla con el primero que no exista
+    // Los proyectos de locked (que incluye ids) se bloquean en orden de ID, el mismo en todas las transacciones
+    private List<Project> managedProjects(Set<Integer> ids, Set<Integer> locked) {
+        Map<Integer, Project> found = new HashMap<>();
+        for (Project project : locked.isEmpty() ? List.<Project>of() : projectRepository.lockAllById(locked)) {
+            found.put(project.getId(), project);
+        }
+        List<Project> managed = new ArrayList<>();
+        for (Integer id : ids) {
+            Project project = found.get(id);
+            if (project == null) {
+                throw new IllegalArgumentException("No existe ningún proyecto con el ID: " + id);
+            }
+            managed.add(project);
+        }
+        return managed;
+    }
+
+    // Un proyecto repetido se asocia una sola vez
+    private static Set<Integer> projectIds(List<Project> projects) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (Project project : projects) {
+            ids.add(project.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Finds the technologies most often used in the same projects as a technology.
+     * The ranking is read from the in-memory co-occurrence matrix, without SQL.
+     * 
+     * @param name the name of the technology
+     * @param limit the maximum number of technologies to return
+     * @return the technologies ordered by shared projects, or empty if the technology does not exist
+     * @throws IllegalArgumentException if the limit is not between 1 and {@value #MAX_USED_WITH}
+     */
+    @Override
+    public Optional<List<TechnologyCooccurrence.Related>> findTechnologiesUsedWith(String name, int limit) {
+        if (limit < 1 || limit > MAX_USED_WITH) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_USED_WITH);
+        }
+        return technologyCooccurrence.usedWith(name, limit);
     }
 }
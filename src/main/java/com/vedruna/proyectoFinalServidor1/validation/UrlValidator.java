@@ -2,12 +2,13 @@ package com.vedruna.proyectoFinalServidor1.validation;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import java.util.regex.Pattern;
 
 public class UrlValidator implements ConstraintValidator<ValidUrl, String> {
 
-    // Expresión regular para validar el formato de una URL
-    private static final String URL_REGEX = "^(http|https)://[a-zA-Z0-9-_.]+(?:\\.[a-zA-Z]{2,})+(?:/[\\w-._~:/?#[\\]@!$&'()*+,;=.]+)*$";
+    // Caracteres ASCII permitidos en el host y en la ruta (la antigua expresión regular
+    // era ^(http|https)://[a-zA-Z0-9-_.]+(?:\.[a-zA-Z]{2,})+(?:/[\w-._~:/?#\[\]@!$&'()*+,;=.]+)*$)
+    private static final boolean[] HOST_CHARS = table("-._");
+    private static final boolean[] PATH_CHARS = table("-._~:/?#[]@!$&'()*+,;=");
 
     /**
      * Inicializa el validador. Este método se ejecuta cuando el validador es creado.
@@ -20,7 +21,7 @@ public class UrlValidator implements ConstraintValidator<ValidUrl, String> {
     }
 
     /**
-     * Evalúa si una URL es válida según el patrón definido.
+     * Evalúa si una URL es válida.
      * 
      * @param value   el valor (URL) que se debe validar
      * @param context contexto en el que se evalúa la restricción
@@ -33,7 +34,92 @@ public class UrlValidator implements ConstraintValidator<ValidUrl, String> {
             return true;
         }
 
-        // Si el valor no es nulo ni vacío, se valida con la expresión regular
-        return Pattern.matches(URL_REGEX, value);
+        // Si el valor no es nulo ni vacío, se analiza la URL
+        return isUrl(value);
+    }
+
+    /**
+     * Comprueba el formato de una URL en una sola pasada, sin reservar memoria.
+     * Acepta exactamente las mismas cadenas que la antigua expresión regular:
+     * esquema {@code http} o {@code https}, un host de letras, dígitos, '-', '_' y '.'
+     * que termina en un punto seguido de al menos dos letras y, opcionalmente, una ruta
+     * que empieza por '/' y tiene al menos un carácter más.
+     *
+     * @param value la cadena que se debe comprobar
+     * @return true si tiene formato de URL, false si no
+     */
+    static boolean isUrl(String value) {
+        int length = value.length();
+        int i;
+        if (value.startsWith("https://")) {
+            i = 8;
+        } else if (value.startsWith("http://")) {
+            i = 7;
+        } else {
+            return false;
+        }
+
+        // Host: hasta la primera '/' o el final de la cadena
+        int hostStart = i;
+        int lastDot = -1;
+        int tld = -1;  // Letras seguidas tras el último punto, -1 si aparece otro carácter
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '/') {
+                break;
+            }
+            if (!allowed(HOST_CHARS, c)) {
+                return false;
+            }
+            if (c == '.') {
+                lastDot = i;
+                tld = 0;
+            } else if (isLetter(c)) {
+                tld = tld >= 0 ? tld + 1 : -1;
+            } else {
+                tld = -1;
+            }
+        }
+        if (lastDot <= hostStart || tld < 2) {
+            return false;
+        }
+
+        // Ruta: vacía, o '/' seguida de al menos un carácter permitido
+        if (i == length) {
+            return true;
+        }
+        if (length - i < 2) {
+            return false;
+        }
+        for (i++; i < length; i++) {
+            if (!allowed(PATH_CHARS, value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean allowed(boolean[] table, char c) {
+        return c < table.length && table[c];
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    // Tabla ASCII con letras, dígitos y los símbolos indicados
+    private static boolean[] table(String symbols) {
+        boolean[] table = new boolean[128];
+        for (char c = '0'; c <= '9'; c++) {
+            table[c] = true;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            table[c] = true;
+            table[Character.toUpperCase(c)] = true;
+        }
+        for (int i = 0; i < symbols.length(); i++) {
+            table[symbols.charAt(i)] = true;
+        }
+        return table;
     }
 }
@@ -0,0 +1,41 @@
+-- Claves únicas de las tablas de unión (MySQL).
+-- La aplicación arranca con spring.jpa.hibernate.ddl-auto=validate, así que Hibernate no
+-- crea las claves declaradas en @JoinTable: hay que ejecutar este script una vez sobre los
+-- esquemas existentes, con la aplicación parada. Primero se eliminan los pares duplicados
+-- (se conserva una fila de cada par) y después se añade la clave.
+
+-- Tecnologías usadas en proyectos
+CREATE TEMPORARY TABLE duplicated_technology_links AS
+    SELECT technologies_tech_id, projects_project_id
+    FROM technologies_used_in_projects
+    GROUP BY technologies_tech_id, projects_project_id
+    HAVING COUNT(*) > 1;
+
+DELETE l FROM technologies_used_in_projects l
+    JOIN duplicated_technology_links d USING (technologies_tech_id, projects_project_id);
+
+INSERT INTO technologies_used_in_projects (technologies_tech_id, projects_project_id)
+    SELECT technologies_tech_id, projects_project_id FROM duplicated_technology_links;
+
+DROP TEMPORARY TABLE duplicated_technology_links;
+
+ALTER TABLE technologies_used_in_projects
+    ADD CONSTRAINT uk_technologies_used_in_projects UNIQUE (technologies_tech_id, projects_project_id);
+
+-- Desarrolladores que han trabajado en proyectos
+CREATE TEMPORARY TABLE duplicated_developer_links AS
+    SELECT developers_dev_id, projects_project_id
+    FROM developers_worked_on_projects
+    GROUP BY developers_dev_id, projects_project_id
+    HAVING COUNT(*) > 1;
+
+DELETE l FROM developers_worked_on_projects l
+    JOIN duplicated_developer_links d USING (developers_dev_id, projects_project_id);
+
+INSERT INTO developers_worked_on_projects (developers_dev_id, projects_project_id)
+    SELECT developers_dev_id, projects_project_id FROM duplicated_developer_links;
+
+DROP TEMPORARY TABLE duplicated_developer_links;
+
+ALTER TABLE developers_worked_on_projects
+    ADD CONSTRAINT uk_developers_worked_on_projects UNIQUE (developers_dev_id, projects_project_id);
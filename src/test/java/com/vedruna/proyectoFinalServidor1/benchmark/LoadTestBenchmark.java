@@ -0,0 +1,412 @@
+package com.vedruna.proyectoFinalServidor1.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vedruna.proyectoFinalServidor1.ProyectoFinalServidor1Application;
+import com.vedruna.proyectoFinalServidor1.index.DeveloperCollaborationGraph;
+import com.vedruna.proyectoFinalServidor1.index.ProjectCountCache;
+import com.vedruna.proyectoFinalServidor1.index.ProjectNameIndex;
+import com.vedruna.proyectoFinalServidor1.index.ProjectStatistics;
+import com.vedruna.proyectoFinalServidor1.index.StateRegistry;
+import com.vedruna.proyectoFinalServidor1.index.TechnologyBitmapIndex;
+import com.vedruna.proyectoFinalServidor1.index.TechnologyCooccurrence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * End-to-end load test: boots the application on a fresh schema, seeds a synthetic
+ * portfolio of configurable size and drives the REST API with a weighted read/write
+ * mix from a fixed number of concurrent clients.
+ * Run it with {@code mvn test -Pbenchmark -Dtest=LoadTestBenchmark}. Volumes go from
+ * {@code -Dloadtest.projects=1000} to ten million; technologies, developers and links
+ * per project have their own properties. By default it uses an in-memory H2 database
+ * in MySQL mode; {@code -Dloadtest.datasource.url} (plus {@code .username} and
+ * {@code .password}) points it to a local MySQL schema, which is dropped and created
+ * again, so never use a schema with real data. Large volumes need a matching heap
+ * ({@code -DargLine=-Xmx8g}), since the in-memory indexes hold every project.
+ * The results are printed and written to {@code target/load-test.json}; the test fails
+ * when the error rate goes over {@code loadtest.max-error-rate}.
+ */
+@Tag("benchmark")
+class LoadTestBenchmark {
+
+    private static final int PROJECTS = Integer.getInteger("loadtest.projects", 10_000);
+    private static final int TECHNOLOGIES = Integer.getInteger("loadtest.technologies", 100);
+    private static final int DEVELOPERS = Integer.getInteger("loadtest.developers", Math.max(10, PROJECTS / 10));
+    private static final int TECHNOLOGIES_PER_PROJECT = Integer.getInteger("loadtest.technologies-per-project", 3);
+    private static final int DEVELOPERS_PER_PROJECT = Integer.getInteger("loadtest.developers-per-project", 2);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 30);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+    private static final long SEED = Long.getLong("loadtest.seed", 42);
+
+    // Peso de cada operación en la mezcla (aproximadamente 80 % lecturas y 20 % escrituras)
+    private static final String MIX = System.getProperty("loadtest.mix",
+            "list=30,cursor=10,name=15,search=10,filter=15,create=6,patch=6,link=4,state=2,delete=2");
+
+    private static final List<String> OPERATIONS = List.of(
+            "list", "cursor", "name", "search", "filter", "create", "patch", "link", "state", "delete");
+
+    private static final Pattern CREATED_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private String base;
+    private int firstProjectId;
+
+    // Proyectos creados durante la prueba, los únicos que se borran
+    private final ConcurrentLinkedQueue<Integer> created = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger createdNames = new AtomicInteger();
+
+    @Test
+    void loadTest() throws Exception {
+        Map<String, Integer> weights = parseMix(MIX);
+        try (ConfigurableApplicationContext context = start()) {
+            base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+
+            long seedStart = System.nanoTime();
+            SyntheticDataGenerator.Seeded seeded = new SyntheticDataGenerator(context.getBean(DataSource.class), SEED)
+                    .generate(new SyntheticDataGenerator.Volumes(PROJECTS, TECHNOLOGIES, DEVELOPERS,
+                            TECHNOLOGIES_PER_PROJECT, DEVELOPERS_PER_PROJECT));
+            double seedSeconds = (System.nanoTime() - seedStart) / 1e9;
+            firstProjectId = seeded.firstProjectId();
+            refreshCaches(context);
+            System.out.printf(Locale.ROOT, "%nSeeded %,d rows in %.1f s (%,.0f rows/s)%n",
+                    seeded.rows(), seedSeconds, seeded.rows() / seedSeconds);
+
+            run(weights, WARMUP_SECONDS);  // Calienta el JIT, la caché y el pool de conexiones
+            Map<String, Recorder> recorders = run(weights, DURATION_SECONDS);
+
+            report(recorders, seeded, seedSeconds, context.getBean(MeterRegistry.class));
+            Recorder total = total(recorders);
+            double errorRate = total.errors() / (double) Math.max(1, total.count());
+            assertTrue(errorRate <= MAX_ERROR_RATE, String.format(Locale.ROOT, "error rate %.4f over %.4f", errorRate, MAX_ERROR_RATE));
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "logging.level.root=WARN",
+                "logging.level.com.vedruna.proyectoFinalServidor1.metrics=ERROR"));  // Los excesos de presupuesto se resumen al final
+        String url = System.getProperty("loadtest.datasource.url",
+                "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE");
+        properties.add("spring.datasource.url=" + url);
+        properties.add("spring.r2dbc.url=" + r2dbcUrl(url));
+        if (System.getProperty("loadtest.datasource.url") != null) {
+            String username = System.getProperty("loadtest.datasource.username", "root");
+            String password = System.getProperty("loadtest.datasource.password", "");
+            properties.add("spring.datasource.username=" + username);
+            properties.add("spring.datasource.password=" + password);
+            properties.add("spring.r2dbc.username=" + username);
+            properties.add("spring.r2dbc.password=" + password);
+        }
+        properties.add("spring.datasource.hikari.maximum-pool-size=" + Math.max(10, CONCURRENCY));
+        return new SpringApplicationBuilder(ProyectoFinalServidor1Application.class)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    // Los endpoints reactivos tienen que leer la misma base de datos que JPA
+    private static String r2dbcUrl(String jdbcUrl) {
+        if (jdbcUrl.startsWith("jdbc:h2:mem:")) {
+            return "r2dbc:h2:mem:///" + jdbcUrl.substring("jdbc:h2:mem:".length());
+        }
+        if (jdbcUrl.startsWith("jdbc:mysql:")) {
+            // Las opciones de Connector/J no son válidas en r2dbc-mysql
+            int query = jdbcUrl.indexOf('?');
+            return "r2dbc:" + jdbcUrl.substring("jdbc:".length(), query < 0 ? jdbcUrl.length() : query) + "?serverZoneId=UTC";
+        }
+        throw new IllegalArgumentException("Unsupported loadtest.datasource.url: " + jdbcUrl);
+    }
+
+    // Los índices en memoria se construyen al arrancar, antes de la carga de datos
+    private static void refreshCaches(ConfigurableApplicationContext context) {
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+        context.getBean(StateRegistry.class).refresh();
+        context.getBean(ProjectNameIndex.class).rebuild();
+        context.getBean(TechnologyBitmapIndex.class).rebuild();
+        context.getBean(ProjectStatistics.class).rebuild();
+        context.getBean(TechnologyCooccurrence.class).rebuild();
+        context.getBean(DeveloperCollaborationGraph.class).rebuild();
+        context.getBean(ProjectCountCache.class).refresh();
+    }
+
+    private Map<String, Recorder> run(Map<String, Integer> weights, int seconds) throws InterruptedException {
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        weights.keySet().forEach(operation -> recorders.put(operation, new Recorder()));
+        String[] wheel = wheel(weights);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        SplittableRandom seeds = new SplittableRandom(SEED);
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int c = 0; c < CONCURRENCY; c++) {
+            SplittableRandom random = seeds.split();
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    String operation = wheel[random.nextInt(wheel.length)];
+                    long sent = System.nanoTime();
+                    boolean ok;
+                    try {
+                        HttpResponse<String> response = client.send(request(operation, random), HttpResponse.BodyHandlers.ofString());
+                        ok = response.statusCode() / 100 == 2;
+                        if (ok && operation.equals("create")) {
+                            rememberCreated(response.body());
+                        }
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    recorders.get(operation).record(System.nanoTime() - sent, ok);
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(seconds + 600L, TimeUnit.SECONDS);
+        recorders.values().forEach(recorder -> recorder.elapsed = TimeUnit.SECONDS.toNanos(seconds));
+        return recorders;
+    }
+
+    private HttpRequest request(String operation, SplittableRandom random) {
+        int project = random.nextInt(PROJECTS);
+        switch (operation) {
+            case "list":
+                return get("/projects?page=" + random.nextInt(Math.max(1, Math.min(100, PROJECTS / 10))) + "&size=10");
+            case "cursor":
+                return get("/projects/cursor?size=10");
+            case "name":
+                return get("/projects/" + encode(SyntheticDataGenerator.projectName(project)));
+            case "search":
+                return get("/projects/search?name=" + encode(SyntheticDataGenerator.word(random.nextInt(16))) + "&size=10");
+            case "filter":
+                return get("/projects/tec?all=" + SyntheticDataGenerator.technologyName(skewed(random, TECHNOLOGIES)) + "&size=10");
+            case "create":
+                return create();
+            case "patch":
+                return HttpRequest.newBuilder(URI.create(base + "/projects/" + (firstProjectId + project)))
+                        .header("Content-Type", "application/merge-patch+json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"description\":\"Editado " + random.nextInt(1000) + "\"}"))
+                        .build();
+            case "link":
+                return HttpRequest.newBuilder(URI.create(base + "/technologies/used/" + (firstProjectId + project)))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("[" + (1 + skewed(random, TECHNOLOGIES)) + "]"))
+                        .build();
+            case "state":
+                return HttpRequest.newBuilder(URI.create(base + "/projects/totesting/" + (firstProjectId + project)))
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                        .build();
+            case "delete":
+                Integer id = created.poll();
+                return id == null ? create() : HttpRequest.newBuilder(URI.create(base + "/projects/" + id)).DELETE().build();
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    private HttpRequest create() {
+        String body = "{\"name\":\"Load test " + createdNames.incrementAndGet() + "\",\"description\":\"Creado en la prueba de carga\","
+                + "\"start_date\":\"" + LocalDate.now().plusDays(1) + "\",\"repository_url\":\"https://github.com/portfolio/load-test\"}";
+        return HttpRequest.newBuilder(URI.create(base + "/projects"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void rememberCreated(String body) {
+        Matcher matcher = CREATED_ID.matcher(body);
+        if (matcher.find()) {
+            created.add(Integer.parseInt(matcher.group(1)));
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(base + path)).GET().build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    // Los primeros valores son los más frecuentes, como las tecnologías más populares
+    private static int skewed(SplittableRandom random, int bound) {
+        return (int) (bound * Math.pow(random.nextDouble(), 2));
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2 || !OPERATIONS.contains(parts[0].trim())) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry '" + entry + "', operations are " + OPERATIONS);
+            }
+            int weight;
+            try {
+                weight = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid weight in loadtest.mix entry '" + entry + "'");
+            }
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in loadtest.mix entry '" + entry + "'");
+            }
+            weights.put(parts[0].trim(), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+
+    private static String[] wheel(Map<String, Integer> weights) {
+        List<String> wheel = new ArrayList<>();
+        weights.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(operation);
+            }
+        });
+        return wheel.toArray(String[]::new);
+    }
+
+    private static Recorder total(Map<String, Recorder> recorders) {
+        Recorder total = new Recorder();
+        recorders.values().forEach(recorder -> {
+            for (int i = 0; i < recorder.count; i++) {
+                total.record(recorder.latencies[i], true);
+            }
+            total.errors += recorder.errors;
+            total.elapsed = recorder.elapsed;
+        });
+        return total;
+    }
+
+    private void report(Map<String, Recorder> recorders, SyntheticDataGenerator.Seeded seeded, double seedSeconds,
+            MeterRegistry meterRegistry) throws Exception {
+        Map<String, Recorder> rows = new LinkedHashMap<>(recorders);
+        rows.put("total", total(recorders));
+
+        System.out.println();
+        System.out.printf("%-8s %9s %9s %9s %9s %9s %9s %8s%n", "op", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<String, Recorder> row : rows.entrySet()) {
+            Recorder recorder = row.getValue();
+            recorder.sort();
+            System.out.printf(Locale.ROOT, "%-8s %9d %9.0f %9.2f %9.2f %9.2f %9.2f %7.2f%%%n", row.getKey(), recorder.count,
+                    recorder.throughput(), recorder.percentile(0.50) / 1e6, recorder.percentile(0.95) / 1e6,
+                    recorder.percentile(0.99) / 1e6, recorder.percentile(1.0) / 1e6, recorder.errorRate() * 100);
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("requests", recorder.count);
+            json.put("throughput", Math.round(recorder.throughput()));
+            json.put("p50Ms", recorder.percentile(0.50) / 1e6);
+            json.put("p95Ms", recorder.percentile(0.95) / 1e6);
+            json.put("p99Ms", recorder.percentile(0.99) / 1e6);
+            json.put("maxMs", recorder.percentile(1.0) / 1e6);
+            json.put("errorRate", recorder.errorRate());
+            operations.put(row.getKey(), json);
+        }
+        System.out.printf("%d projects, %d technologies, %d developers, %d concurrent clients, %d s%n",
+                PROJECTS, TECHNOLOGIES, DEVELOPERS, CONCURRENCY, DURATION_SECONDS);
+
+        Map<String, Double> overBudget = new LinkedHashMap<>();
+        for (Counter counter : meterRegistry.find("hibernate.request.budget.exceeded").counters()) {
+            overBudget.put(counter.getId().getTag("handler"), counter.count());
+        }
+        if (!overBudget.isEmpty()) {
+            System.out.println("Requests over the query budget: " + overBudget);
+        }
+        System.out.println();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("volumes", Map.of("projects", PROJECTS, "technologies", TECHNOLOGIES, "developers", DEVELOPERS,
+                "technologiesPerProject", TECHNOLOGIES_PER_PROJECT, "developersPerProject", DEVELOPERS_PER_PROJECT));
+        result.put("seed", Map.of("rows", seeded.rows(), "seconds", seedSeconds));
+        result.put("concurrency", CONCURRENCY);
+        result.put("durationSeconds", DURATION_SECONDS);
+        result.put("mix", MIX);
+        result.put("operations", operations);
+        result.put("overQueryBudget", overBudget);
+        Path file = Path.of("target", "load-test.json");
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), result);
+    }
+
+    // Latencias de una operación; los clientes comparten el registro
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private long elapsed;
+
+        synchronized void record(long latency, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void sort() {
+            Arrays.sort(latencies, 0, count);
+        }
+
+        int count() {
+            return count;
+        }
+
+        int errors() {
+            return errors;
+        }
+
+        double throughput() {
+            return elapsed == 0 ? 0 : count * 1e9 / elapsed;
+        }
+
+        double errorRate() {
+            return count == 0 ? 0 : errors / (double) count;
+        }
+
+        long percentile(double fraction) {
+            return count == 0 ? 0 : latencies[Math.max(0, (int) Math.ceil(count * fraction) - 1)];
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.vedruna.proyectoFinalServidor1.benchmark;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+import javax.sql.DataSource;
+
+/**
+ * Fills an empty schema with a deterministic synthetic portfolio using batched JDBC
+ * inserts, fast enough for millions of rows.
+ * Project and developer IDs are generated by the database; the generator relies on a
+ * fresh schema so that they are contiguous, and checks it. Names are a function of
+ * the row index, so the load test can address existing rows without reading them back.
+ */
+class SyntheticDataGenerator {
+
+    static final String[] STATES = {"Development", "Testing", "Production"};
+
+    private static final String[] WORDS = {
+        "portfolio", "api", "gestor", "tienda", "blog", "chat", "agenda", "panel",
+        "reservas", "inventario", "spring", "react", "angular", "juego", "mapa", "clima"
+    };
+
+    private static final int BATCH_SIZE = 5000;
+
+    private final DataSource dataSource;
+    private final long seed;
+
+    SyntheticDataGenerator(DataSource dataSource, long seed) {
+        this.dataSource = dataSource;
+        this.seed = seed;
+    }
+
+    /**
+     * Number of rows to generate.
+     *
+     * @param projects projects
+     * @param technologies technologies
+     * @param developers developers
+     * @param technologiesPerProject technology links of each project
+     * @param developersPerProject developer links of each project
+     */
+    record Volumes(int projects, int technologies, int developers, int technologiesPerProject, int developersPerProject) {
+    }
+
+    /**
+     * IDs of the generated rows.
+     *
+     * @param firstProjectId the ID of the first project; the rest follow without gaps
+     * @param firstDeveloperId the ID of the first developer; the rest follow without gaps
+     * @param rows the total number of inserted rows, join rows included
+     */
+    record Seeded(int firstProjectId, int firstDeveloperId, long rows) {
+    }
+
+    static String projectName(int index) {
+        return "Project " + index + " " + WORDS[index % WORDS.length];
+    }
+
+    static String technologyName(int index) {
+        return "tech" + index;
+    }
+
+    static String word(int index) {
+        return WORDS[index % WORDS.length];
+    }
+
+    Seeded generate(Volumes volumes) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            long rows = 0;
+
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO status (status_name) VALUES (?)")) {
+                for (String state : STATES) {
+                    insert.setString(1, state);
+                    insert.addBatch();
+                }
+                rows += flush(connection, insert, STATES.length);
+            }
+            int stateId = firstId(connection, "status", "status_id");
+
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO technologies (tech_id, tech_name) VALUES (?, ?)")) {
+                for (int t = 0; t < volumes.technologies(); t++) {
+                    insert.setInt(1, t + 1);
+                    insert.setString(2, technologyName(t));
+                    insert.addBatch();
+                    rows += flushIfFull(connection, insert, t + 1);
+                }
+                rows += flush(connection, insert, volumes.technologies() % BATCH_SIZE);
+            }
+
+            SplittableRandom random = new SplittableRandom(seed);
+            LocalDate today = LocalDate.now();
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO projects (project_name, description, start_date, "
+                    + "end_date, repository_url, demo_url, picture, status_status_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (int p = 0; p < volumes.projects(); p++) {
+                    LocalDate start = today.minusDays(random.nextInt(2000));
+                    insert.setString(1, projectName(p));
+                    insert.setString(2, "Proyecto de " + word(p) + " número " + p);
+                    insert.setDate(3, Date.valueOf(start));
+                    insert.setDate(4, Date.valueOf(start.plusDays(30 + random.nextInt(700))));
+                    insert.setString(5, "https://github.com/portfolio/project-" + p);
+                    insert.setString(6, "https://project-" + p + ".example.com");
+                    insert.setString(7, "https://cdn.example.com/projects/" + p + ".png");
+                    insert.setInt(8, stateId + random.nextInt(STATES.length));
+                    insert.addBatch();
+                    rows += flushIfFull(connection, insert, p + 1);
+                }
+                rows += flush(connection, insert, volumes.projects() % BATCH_SIZE);
+            }
+            int firstProjectId = contiguousIds(connection, "projects", "project_id", volumes.projects());
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO developers (dev_name, dev_surname, email, linkedin_url, github_url) VALUES (?, ?, ?, ?, ?)")) {
+                for (int d = 0; d < volumes.developers(); d++) {
+                    insert.setString(1, "Dev" + d);
+                    insert.setString(2, "Surname" + d);
+                    insert.setString(3, "dev" + d + "@example.com");
+                    insert.setString(4, "https://www.linkedin.com/in/dev" + d);
+                    insert.setString(5, "https://github.com/dev" + d);
+                    insert.addBatch();
+                    rows += flushIfFull(connection, insert, d + 1);
+                }
+                rows += flush(connection, insert, volumes.developers() % BATCH_SIZE);
+            }
+            int firstDeveloperId = contiguousIds(connection, "developers", "dev_id", volumes.developers());
+
+            rows += links(connection, "INSERT INTO technologies_used_in_projects (technologies_tech_id, projects_project_id) VALUES (?, ?)",
+                    volumes.projects(), firstProjectId, volumes.technologiesPerProject(), 1, volumes.technologies(), random);
+            rows += links(connection, "INSERT INTO developers_worked_on_projects (developers_dev_id, projects_project_id) VALUES (?, ?)",
+                    volumes.projects(), firstProjectId, volumes.developersPerProject(), firstDeveloperId, volumes.developers(), random);
+            return new Seeded(firstProjectId, firstDeveloperId, rows);
+        }
+    }
+
+    // Enlaces sin repetir por proyecto; los primeros IDs son los más usados, como en la realidad
+    private static long links(Connection connection, String sql, int projects, int firstProjectId, int perProject,
+            int firstTargetId, int targets, SplittableRandom random) throws SQLException {
+        int links = Math.min(perProject, targets);
+        long rows = 0;
+        int pending = 0;
+        int[] chosen = new int[links];
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int p = 0; p < projects; p++) {
+                for (int l = 0; l < links; l++) {
+                    int target;
+                    do {
+                        target = (int) (targets * Math.pow(random.nextDouble(), 2));
+                    } while (contains(chosen, l, target));
+                    chosen[l] = target;
+                    insert.setInt(1, firstTargetId + target);
+                    insert.setInt(2, firstProjectId + p);
+                    insert.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        rows += flush(connection, insert, pending);
+                        pending = 0;
+                    }
+                }
+            }
+            rows += flush(connection, insert, pending);
+        }
+        return rows;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long flushIfFull(Connection connection, PreparedStatement insert, int added) throws SQLException {
+        return added % BATCH_SIZE == 0 ? flush(connection, insert, BATCH_SIZE) : 0;
+    }
+
+    private static long flush(Connection connection, PreparedStatement insert, int pending) throws SQLException {
+        if (pending > 0) {
+            insert.executeBatch();
+            connection.commit();
+        }
+        return pending;
+    }
+
+    private static int firstId(Connection connection, String table, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT MIN(" + column + ") FROM " + table)) {
+            result.next();
+            return result.getInt(1);
+        }
+    }
+
+    // Comprueba que los IDs generados no tienen huecos (la tabla tiene que estar vacía al empezar)
+    private static int contiguousIds(Connection connection, String table, String column, int expected) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT MIN(" + column + "), MAX(" + column + "), COUNT(*) FROM " + table)) {
+            result.next();
+            int min = result.getInt(1);
+            long span = result.getLong(2) - min + 1;
+            if (result.getLong(3) != expected || (expected > 0 && span != expected)) {
+                throw new IllegalStateException(table + " must be empty before seeding: expected " + expected
+                        + " contiguous IDs, found " + result.getLong(3) + " rows spanning " + span + " IDs");
+            }
+            return min;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.vedruna.proyectoFinalServidor1.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.vedruna.proyectoFinalServidor1.ProyectoFinalServidor1Application;
+
+/**
+ * Compares throughput and latency of the read endpoints with request handling on
+ * Tomcat's platform-thread pool and on virtual threads.
+ * Run it with {@code mvn test -Pbenchmark}. The virtual-thread mode needs a Java 21
+ * runtime and is skipped otherwise. By default each mode gets its own in-memory H2
+ * database; pass {@code -Dbenchmark.datasource.url} (plus {@code .username} and
+ * {@code .password}) to measure against MySQL, where the threads really wait on I/O.
+ */
+@Tag("benchmark")
+class ThreadingModeBenchmark {
+
+    private static final int PROJECTS = Integer.getInteger("benchmark.projects", 1000);
+    private static final int TECHNOLOGIES = 10;
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 256);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 10000);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("benchmark.warmup", 2000);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    @Test
+    void compareThreadingModes() throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            if (virtual && Runtime.version().feature() < 21) {
+                System.out.println("Virtual threads need Java 21, running on " + Runtime.version() + ": mode skipped");
+                continue;
+            }
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                String mode = Threading.VIRTUAL.isActive(context.getEnvironment()) ? "virtual" : "platform";
+                String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+                seed(base);
+                List<Endpoint> endpoints = List.of(
+                        new Endpoint("/projects", i -> base + "/projects?page=" + (i % (PROJECTS / 10)) + "&size=10"),
+                        new Endpoint("/projects/tec/{tech}", i -> base + "/projects/tec/tech" + (i % TECHNOLOGIES)));
+                for (Endpoint endpoint : endpoints) {
+                    run(endpoint.urls(), WARMUP_REQUESTS);  // Calienta el JIT, la caché y el pool de conexiones
+                    results.add(run(endpoint.urls(), REQUESTS).named(mode, endpoint.path()));
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-9s %-22s %10s %10s %10s %10s %7s%n", "mode", "endpoint", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result result : results) {
+            System.out.printf(Locale.ROOT, "%-9s %-22s %10.0f %10.2f %10.2f %10.2f %7d%n", result.mode(), result.path(),
+                    result.throughput(), result.p50() / 1e6, result.p99() / 1e6, result.max() / 1e6, result.errors());
+        }
+        System.out.printf("%d requests per run, %d concurrent clients, %d projects%n%n", REQUESTS, CONCURRENCY, PROJECTS);
+        for (Result result : results) {
+            assertEquals(0, result.errors(), result.mode() + " " + result.path());
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtual) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtual,
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                "logging.level.root=WARN"));
+        String url = System.getProperty("benchmark.datasource.url");
+        if (url == null) {
+            properties.add("spring.datasource.url=jdbc:h2:mem:benchmark-" + virtual + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE");
+        } else {
+            properties.add("spring.datasource.url=" + url);
+            properties.add("spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "root"));
+            properties.add("spring.datasource.password=" + System.getProperty("benchmark.datasource.password", ""));
+        }
+        return new SpringApplicationBuilder(ProyectoFinalServidor1Application.class)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    // Carga los datos con los endpoints de importación masiva
+    private void seed(String base) throws Exception {
+        StringBuilder projects = new StringBuilder();
+        for (int i = 0; i < PROJECTS; i++) {
+            projects.append("{\"name\":\"Project ").append(i).append("\",\"description\":\"Description ").append(i).append("\"}\n");
+        }
+        post(base + "/projects/import", "application/x-ndjson", projects.toString());
+
+        StringBuilder technologies = new StringBuilder("[");
+        for (int t = 0; t < TECHNOLOGIES; t++) {
+            technologies.append(t == 0 ? "" : ",").append("{\"id\":").append(t + 1).append(",\"name\":\"tech").append(t)
+                    .append("\",\"projectsTechnologies\":[");
+            for (int p = t + 1, n = 0; p <= PROJECTS; p += TECHNOLOGIES / 2, n++) {
+                technologies.append(n == 0 ? "" : ",").append("{\"id\":").append(p).append('}');
+            }
+            technologies.append("]}");
+        }
+        post(base + "/technologies/import", "application/json", technologies.append(']').toString());
+
+        StringBuilder developers = new StringBuilder("[");
+        for (int d = 0; d < 20; d++) {
+            developers.append(d == 0 ? "" : ",").append("{\"name\":\"Dev").append(d).append("\",\"surname\":\"Surname")
+                    .append(d).append("\",\"email\":\"dev").append(d).append("@example.com\",\"projectsDevelopers\":[");
+            for (int p = d + 1, n = 0; p <= PROJECTS; p += 20, n++) {
+                developers.append(n == 0 ? "" : ",").append("{\"id\":").append(p).append('}');
+            }
+            developers.append("]}");
+        }
+        post(base + "/developers/import", "application/json", developers.append(']').toString());
+    }
+
+    private void post(String url, String contentType, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+    }
+
+    // Lanza las peticiones con un número fijo de clientes concurrentes
+    private Result run(IntFunction<String> urls, int requests) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        long start = System.nanoTime();
+        for (int c = 0; c < CONCURRENCY; c++) {
+            clients.execute(() -> {
+                for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(urls.apply(i))).GET().build();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - sent;
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(10, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(null, null, requests * 1e9 / elapsed, percentile(latencies, 0.50),
+                percentile(latencies, 0.99), latencies[latencies.length - 1], errors.get());
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.max(0, (int) Math.ceil(sorted.length * fraction) - 1)];
+    }
+
+    private record Endpoint(String path, IntFunction<String> urls) {
+    }
+
+    private record Result(String mode, String path, double throughput, long p50, long p99, long max, int errors) {
+
+        Result named(String mode, String path) {
+            return new Result(mode, path, throughput, p50, p99, max, errors);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.vedruna.proyectoFinalServidor1.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.vedruna.proyectoFinalServidor1.dto.ProjectDTO;
+import com.vedruna.proyectoFinalServidor1.dto.ResponseDTO;
+import com.vedruna.proyectoFinalServidor1.json.DataFormats;
+
+/**
+ * Checks that the CBOR, Smile and Protobuf responses carry the same data as the JSON ones,
+ * with the same statement budgets.
+ */
+class DataFormatsQueryCountTest extends QueryCountTestSupport {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    DataFormats dataFormats;
+
+    @Override
+    int fixture() {
+        return 4;
+    }
+
+    private MvcResult fetch(int maxStatements, MockHttpServletRequestBuilder request, MediaType format) throws Exception {
+        MvcResult result = assertStatements(maxStatements, request.accept(format));
+        assertEquals(format, MediaType.parseMediaType(result.getResponse().getContentType()).removeQualityValue());
+        return result;
+    }
+
+    private void assertSameInEveryFormat(int maxStatements, ParameterizedTypeReference<?> type, Supplier<MockHttpServletRequestBuilder> request) throws Exception {
+        JsonNode json = objectMapper.readTree(fetch(maxStatements, request.get(), MediaType.APPLICATION_JSON).getResponse().getContentAsByteArray());
+        assertEquals(json, dataFormats.cbor().readTree(fetch(maxStatements, request.get(), MediaType.APPLICATION_CBOR).getResponse().getContentAsByteArray()));
+        assertEquals(json, dataFormats.smile().readTree(fetch(maxStatements, request.get(), DataFormats.SMILE).getResponse().getContentAsByteArray()));
+
+        // Protobuf no escribe nulos ni listas vacías, y las páginas llevan sus datos en "page"
+        ProtobufSchema schema = dataFormats.protobufSchema(dataFormats.protobufType(type.getType())).orElseThrow();
+        JsonNode protobuf = dataFormats.protobuf().readerFor(JsonNode.class).with(schema)
+                .readValue(fetch(maxStatements, request.get(), DataFormats.PROTOBUF).getResponse().getContentAsByteArray());
+        JsonNode expected = json;
+        if (Page.class.isAssignableFrom(objectMapper.constructType(type.getType()).getRawClass())) {
+            ObjectNode page = JsonNodeFactory.instance.objectNode();
+            page.set("content", json.get("content"));
+            page.putObject("page").put("size", json.get("size").asLong()).put("number", json.get("number").asLong())
+                    .put("totalElements", json.get("totalElements").asLong()).put("totalPages", json.get("totalPages").asLong());
+            expected = page;
+        }
+        assertEquals(normalize(expected), normalize(protobuf));
+    }
+
+    // Quita nulos y listas vacías, y trata todos los enteros como long
+    private static JsonNode normalize(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode normalized = JsonNodeFactory.instance.objectNode();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext();) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!field.getValue().isNull() && !(field.getValue().isArray() && field.getValue().isEmpty())) {
+                    normalized.set(field.getKey(), normalize(field.getValue()));
+                }
+            }
+            return normalized;
+        }
+        if (node.isArray()) {
+            List<JsonNode> elements = new ArrayList<>();
+            node.forEach(element -> elements.add(normalize(element)));
+            return JsonNodeFactory.instance.arrayNode().addAll(elements);
+        }
+        return node.isIntegralNumber() ? JsonNodeFactory.instance.numberNode(node.asLong()) : node;
+    }
+
+    @Test
+    void listsProjectsInEveryFormat() throws Exception {
+        assertSameInEveryFormat(4, new ParameterizedTypeReference<Page<ProjectDTO>>() {},
+                () -> get("/api/v1/projects").param("page", "2").param("size", "20"));
+    }
+
+    @Test
+    void listsProjectsByTechnologyInEveryFormat() throws Exception {
+        assertSameInEveryFormat(2, new ParameterizedTypeReference<ResponseDTO<List<ProjectDTO>>>() {},
+                () -> get("/api/v1/projects/tec/{tech}", technologyName(3)));
+    }
+
+    @Test
+    void showsProjectInEveryFormat() throws Exception {
+        assertSameInEveryFormat(2, new ParameterizedTypeReference<ResponseDTO<ProjectDTO>>() {},
+                () -> get("/api/v1/projects/{name}", projectName(7)));
+    }
+
+    @Test
+    void exportsProjectsInEveryFormat() throws Exception {
+        int budget = budgetOfExport();
+        byte[] ndjson = fetch(budget, get("/api/v1/projects/export"), MediaType.APPLICATION_NDJSON).getResponse().getContentAsByteArray();
+        List<JsonNode> expected = new ArrayList<>();
+        for (String line : new String(ndjson, StandardCharsets.UTF_8).split("\n")) {
+            expected.add(objectMapper.readTree(line));
+        }
+
+        byte[] cbor = fetch(budget, get("/api/v1/projects/export"), DataFormats.CBOR_SEQ).getResponse().getContentAsByteArray();
+        assertEquals(expected, dataFormats.cbor().readerFor(JsonNode.class).readValues(cbor).readAll());
+        byte[] smile = fetch(budget, get("/api/v1/projects/export"), DataFormats.SMILE).getResponse().getContentAsByteArray();
+        assertEquals(expected, dataFormats.smile().readerFor(JsonNode.class).readValues(smile).readAll());
+
+        byte[] protobuf = fetch(budget, get("/api/v1/projects/export"), DataFormats.PROTOBUF).getResponse().getContentAsByteArray();
+        ProtobufSchema schema = dataFormats.protobufSchema(objectMapper.constructType(ProjectDTO.class)).orElseThrow();
+        List<JsonNode> messages = new ArrayList<>();
+        InputStream in = new ByteArrayInputStream(protobuf);
+        for (int length = readVarint(in); length >= 0; length = readVarint(in)) {
+            messages.add(normalize(dataFormats.protobuf().readerFor(JsonNode.class).with(schema).readValue(in.readNBytes(length))));
+        }
+        assertEquals(expected.stream().map(DataFormatsQueryCountTest::normalize).toList(), messages);
+    }
+
+    // Longitud de un mensaje delimitado, o -1 al final del flujo
+    private static int readVarint(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0;; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                return -1;
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    @Test
+    void prefersJsonWhenAnyFormatIsAccepted() throws Exception {
+        MvcResult result = assertStatements(4, get("/api/v1/projects").accept(MediaType.ALL));
+        assertEquals(MediaType.APPLICATION_JSON, MediaType.parseMediaType(result.getResponse().getContentType()));
+        assertTrue(result.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+        result = assertStatements(budgetOfExport(), get("/api/v1/projects/export").header(HttpHeaders.ACCEPT, "*/*"));
+        assertEquals(MediaType.APPLICATION_NDJSON, MediaType.parseMediaType(result.getResponse().getContentType()));
+        result = assertStatements(budgetOfExport(), get("/api/v1/projects/export")
+                .header(HttpHeaders.ACCEPT, "application/x-ndjson;q=0.5, application/x-protobuf"));
+        assertEquals(DataFormats.PROTOBUF, MediaType.parseMediaType(result.getResponse().getContentType()));
+    }
+
+    @Test
+    void eachFormatHasItsOwnETag() throws Exception {
+        // El ETag sigue a la negociación real de los convertidores, también con comodines y calidades
+        Map<MediaType, String> etags = new HashMap<>();
+        for (String accept : List.of("application/json", "*/*", "*/*, application/cbor", "application/cbor;q=0.5, application/json",
+                DataFormats.PROTOBUF_VALUE + ", " + DataFormats.SMILE_VALUE, "text/html, application/*;q=0.8", "application/x-jackson-smile;q=0.9, */*;q=0.1")) {
+            MvcResult result = mockMvc.perform(get("/api/v1/projects/{name}", projectName(20)).header(HttpHeaders.ACCEPT, accept))
+                    .andExpect(status().isOk()).andReturn();
+            MediaType format = MediaType.parseMediaType(result.getResponse().getContentType()).removeQualityValue();
+            String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+            assertEquals(etags.computeIfAbsent(format, key -> etag), etag, accept);
+            assertStatements(0, status().isNotModified(), get("/api/v1/projects/{name}", projectName(20))
+                    .header(HttpHeaders.ACCEPT, accept).header(HttpHeaders.IF_NONE_MATCH, etag));
+        }
+        assertEquals(Set.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, DataFormats.SMILE, DataFormats.PROTOBUF), etags.keySet());
+        assertEquals(4, new HashSet<>(etags.values()).size());
+
+        // El ETag de JSON no revalida la representación CBOR, ni en las páginas
+        mockMvc.perform(get("/api/v1/projects/{name}", projectName(20)).accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, etags.get(MediaType.APPLICATION_JSON))).andExpect(status().isOk());
+        String page = mockMvc.perform(get("/api/v1/projects")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/v1/projects").accept(DataFormats.SMILE).header(HttpHeaders.IF_NONE_MATCH, page))
+                .andExpect(status().isOk());
+    }
+
+    private int budgetOfExport() {
+        return 1 + 2 * batches(projectRepository.count());
+    }
+
+    @Test
+    void refusesProtobufForResponsesWithoutMessage() throws Exception {
+        mockMvc.perform(get("/api/v1/states").accept(DataFormats.PROTOBUF)).andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/api/v1/states").accept(MediaType.APPLICATION_CBOR)).andExpect(status().isOk());
+    }
+
+    @Test
+    void publishedSchemaMatchesTheDTOs() throws Exception {
+        String generated = dataFormats.protobufSchema(objectMapper.constructType(ProjectDTO.class)).orElseThrow().getSource().toString();
+        try (InputStream published = getClass().getResourceAsStream("/static/protobuf/ProjectDTO.proto")) {
+            assertEquals(messages(generated), messages(new String(published.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+    }
+
+    // Los mensajes anidados se generan en un orden que no está garantizado
+    private static List<String> messages(String schema) {
+        return Arrays.stream(schema.split("(?=// Message for )")).map(String::strip).sorted().toList();
+    }
+}
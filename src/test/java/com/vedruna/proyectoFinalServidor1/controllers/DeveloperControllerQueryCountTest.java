@@ -0,0 +1,208 @@
+package com.vedruna.proyectoFinalServidor1.controllers;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.jayway.jsonpath.JsonPath;
+import com.vedruna.proyectoFinalServidor1.index.DeveloperCollaborationGraph;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.DeveloperLinkView;
+
+class DeveloperControllerQueryCountTest extends QueryCountTestSupport {
+
+    @Override
+    int fixture() {
+        return 3;
+    }
+
+    @Test
+    void createsDeveloperWithProjects() throws Exception {
+        assertStatements(3, status().isCreated(), json(post("/api/v1/developers"),
+                "{\"name\":\"Created\",\"surname\":\"Developer\",\"email\":\"created@example.com\",\"projectsDevelopers\":"
+                        + projectRefs(0, 20) + "}"));
+    }
+
+    @Test
+    void streamsDevelopers() throws Exception {
+        assertStatements(batches(developerRepository.count()), get("/api/v1/developers/stream").accept(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Test
+    void importsDevelopers() throws Exception {
+        String body = IntStream.range(0, 20)
+                .mapToObj(i -> "{\"name\":\"Imported" + i + "\",\"surname\":\"Developer\",\"email\":\"imported" + i
+                        + "@example.com\",\"projectsDevelopers\":" + projectRefs(i * 5, i * 5 + 10) + "}")
+                .collect(Collectors.joining(",", "[", "]"));
+        MvcResult result = assertStatements(3, json(post("/api/v1/developers/import"), body));
+        jsonPath("$.data.imported").value(20).match(result);
+    }
+
+    @Test
+    void deletesDeveloper() throws Exception {
+        assertStatements(3, delete("/api/v1/developers/{id}", developerIds.get(DEVELOPERS - 1)));
+    }
+
+    @Test
+    void deletesDevelopersInBulk() throws Exception {
+        assertStatements(3, json(delete("/api/v1/developers"), "{\"ids\":" + developerIds.subList(20, 25) + "}"));
+    }
+
+    @Test
+    void addsDeveloperToProject() throws Exception {
+        assertStatements(4, post("/api/v1/developers/worked/{developerId}/{projectId}", developerIds.get(0), projectIds.get(1)));
+        assertStatements(1, status().isBadRequest(), post("/api/v1/developers/worked/{developerId}/{projectId}", developerIds.get(0), -1));
+    }
+
+    @Test
+    void addsDevelopersToProject() throws Exception {
+        assertStatements(4, json(post("/api/v1/developers/worked/{projectId}", projectIds.get(2)), developerIds.subList(0, 10).toString()));
+    }
+
+    @Test
+    void replacingDeveloperUnlinksItsOldProjects() throws Exception {
+        // El desarrollador 14 trabaja en los proyectos 1, 16, 31...; se sustituye por uno con solo el proyecto 190
+        int developer = developerIds.get(14);
+        mockMvc.perform(json(post("/api/v1/developers"), "{\"id\":" + developer + ",\"name\":\"Replaced\",\"surname\":\"Developer\","
+                + "\"email\":\"replaced@example.com\",\"projectsDevelopers\":" + projectRefs(190, 191) + "}"))
+                .andExpect(status().isCreated());
+        assertEquals(List.of(projectIds.get(190)), transactionTemplate.execute(status -> developerRepository.findProjectIdsByDeveloperId(developer)));
+        assertEquals(1, projectStatistics.projectsOfDeveloper(developer));
+        Map<Integer, Integer> actual = collaborationGraph.collaborators(developer).stream()
+                .collect(Collectors.toMap(DeveloperCollaborationGraph.Collaborator::id, DeveloperCollaborationGraph.Collaborator::projects));
+        assertEquals(collaborations().getOrDefault(developer, Map.of()), actual);
+    }
+
+    @Test
+    void replacingDeveloperChangesProjectETags() throws Exception {
+        // El desarrollador 15 trabaja en el proyecto 195 y lo conserva: solo cambian sus datos
+        String etag = mockMvc.perform(get("/api/v1/projects/{name}", projectName(195))).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(json(post("/api/v1/developers"), "{\"id\":" + developerIds.get(15) + ",\"name\":\"Renamed\",\"surname\":\"Developer\","
+                + "\"email\":\"renamed@example.com\",\"projectsDevelopers\":" + projectRefs(195, 196) + "}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/v1/projects/{name}", projectName(195)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.data.developers[*].name", hasItem("Renamed")));
+    }
+
+    @Test
+    void linksEachPairOnce() throws Exception {
+        int project = projectIds.get(180);
+        int developer = developerIds.get(12);
+        MvcResult result = assertStatements(4, json(post("/api/v1/developers/worked/{projectId}", project), List.of(developer).toString()));
+        jsonPath("$.data.added").value(equalTo(List.of(developer))).match(result);
+        result = assertStatements(3, json(post("/api/v1/developers/worked/{projectId}", project), List.of(developer).toString()));
+        jsonPath("$.data.alreadyAssociated").value(equalTo(List.of(developer))).match(result);
+        // Una escritura que no comprueba antes los pares no puede duplicar la fila
+        assertEquals(Integer.valueOf(0), transactionTemplate.execute(status -> developerRepository.linkToProject(project, List.of(developer))));
+        assertEquals(List.of(developer), transactionTemplate.execute(status -> developerRepository.findIdsLinkedToProject(project, List.of(developer))));
+    }
+
+    @Test
+    void listsCollaborators() throws Exception {
+        // Los desarrolladores 0 a 9 y 20 a 29 se modifican o se borran en otras pruebas de esta clase
+        int developer = developerIds.get(13);
+        Map<Integer, Integer> expected = new TreeMap<>(collaborations().get(developer));
+        MvcResult result = assertStatements(0, get("/api/v1/developers/{id}/collaborators", developer));
+        jsonPath("$.data[*].id").value(equalTo(List.copyOf(expected.keySet()))).match(result);
+        jsonPath("$.data[*].projects").value(equalTo(List.copyOf(expected.values()))).match(result);
+
+        List<Integer> top = expected.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(3).map(Map.Entry::getKey).toList();
+        result = assertStatements(0, get("/api/v1/developers/{id}/collaborators/top", developer).param("limit", "3"));
+        jsonPath("$.data[*].id").value(equalTo(top)).match(result);
+        assertStatements(0, status().isBadRequest(), get("/api/v1/developers/{id}/collaborators/top", developer).param("limit", "0"));
+    }
+
+    @Test
+    void collaborationsFollowAssociations() throws Exception {
+        // Los desarrolladores 10 y 25 trabajan en los proyectos 170 y 175
+        mockMvc.perform(json(post("/api/v1/developers/worked/{projectId}", projectIds.get(170)), List.of(developerIds.get(11)).toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/projects/{id}", projectIds.get(175))).andExpect(status().isOk());
+        Map<Integer, Map<Integer, Integer>> collaborations = collaborations();
+        for (int developer : List.of(developerIds.get(10), developerIds.get(11), developerIds.get(25), developerIds.get(26))) {
+            Map<Integer, Integer> actual = collaborationGraph.collaborators(developer).stream()
+                    .collect(Collectors.toMap(DeveloperCollaborationGraph.Collaborator::id, DeveloperCollaborationGraph.Collaborator::projects));
+            assertEquals(collaborations.getOrDefault(developer, Map.of()), actual);
+        }
+
+        int from = developerIds.get(26);
+        int to = developerIds.get(25);
+        MvcResult result = assertStatements(0, get("/api/v1/developers/{id}/path/{otherId}", from, to));
+        List<Integer> path = JsonPath.read(result.getResponse().getContentAsString(), "$.data");
+        assertEquals(distance(collaborations, from, to) + 1, path.size());
+        assertEquals(from, path.get(0));
+        assertEquals(to, path.get(path.size() - 1));
+        for (int i = 1; i < path.size(); i++) {
+            assertTrue(collaborations.get(path.get(i - 1)).containsKey(path.get(i)));
+        }
+        assertStatements(0, status().isNotFound(), get("/api/v1/developers/{id}/path/{otherId}", from, -1));
+    }
+
+    // Proyectos compartidos por cada par de desarrolladores, calculados desde la tabla de unión
+    private Map<Integer, Map<Integer, Integer>> collaborations() {
+        return transactionTemplate.execute(status -> {
+            Map<Integer, Set<Integer>> developersOfProject = new HashMap<>();
+            try (Stream<DeveloperLinkView> links = developerRepository.streamAllLinks()) {
+                links.forEach(link -> developersOfProject.computeIfAbsent(link.getProjectId(), id -> new HashSet<>()).add(link.getDeveloperId()));
+            }
+            Map<Integer, Map<Integer, Integer>> counts = new HashMap<>();
+            for (Set<Integer> developers : developersOfProject.values()) {
+                for (Integer developer : developers) {
+                    for (Integer other : developers) {
+                        if (!developer.equals(other)) {
+                            counts.computeIfAbsent(developer, id -> new HashMap<>()).merge(other, 1, Integer::sum);
+                        }
+                    }
+                }
+            }
+            return counts;
+        });
+    }
+
+    // Distancia en colaboraciones entre dos desarrolladores, con una búsqueda en anchura simple
+    private static int distance(Map<Integer, Map<Integer, Integer>> collaborations, int from, int to) {
+        Map<Integer, Integer> distances = new HashMap<>(Map.of(from, 0));
+        ArrayDeque<Integer> queue = new ArrayDeque<>(List.of(from));
+        while (!queue.isEmpty()) {
+            int developer = queue.poll();
+            for (int other : collaborations.getOrDefault(developer, Map.of()).keySet()) {
+                if (distances.putIfAbsent(other, distances.get(developer) + 1) == null) {
+                    queue.add(other);
+                }
+            }
+        }
+        return distances.getOrDefault(to, -1);
+    }
+
+    private String projectRefs(int from, int to) {
+        return projectIds.subList(from, to).stream().map(id -> "{\"id\":" + id + "}").collect(Collectors.joining(",", "[", "]"));
+    }
+}
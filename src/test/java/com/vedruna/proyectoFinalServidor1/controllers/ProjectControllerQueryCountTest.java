@@ -0,0 +1,137 @@
+package com.vedruna.proyectoFinalServidor1.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+class ProjectControllerQueryCountTest extends QueryCountTestSupport {
+
+    @Override
+    int fixture() {
+        return 1;
+    }
+
+    @Test
+    void listsProjects() throws Exception {
+        assertStatements(4, get("/api/v1/projects").param("page", "2").param("size", "20"));
+    }
+
+    @Test
+    void listsProjectsByCursor() throws Exception {
+        assertStatements(3, get("/api/v1/projects/cursor").param("size", "20").param("withTotal", "true"));
+        assertStatements(0, status().isBadRequest(), get("/api/v1/projects/cursor").param("size", "101"));
+        assertStatements(0, status().isBadRequest(), get("/api/v1/projects/cursor").param("size", String.valueOf(Integer.MAX_VALUE)));
+    }
+
+    @Test
+    void exportsProjects() throws Exception {
+        assertStatements(1 + 2 * batches(projectRepository.count()), get("/api/v1/projects/export"));
+    }
+
+    @Test
+    void streamsProjects() throws Exception {
+        assertStatements(3 * batches(projectRepository.count()), get("/api/v1/projects/stream").accept(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Test
+    void searchesProjectsByName() throws Exception {
+        assertStatements(2, get("/api/v1/projects/search").param("name", prefix() + " project 1").param("size", "20"));
+    }
+
+    @Test
+    void showsProjectByName() throws Exception {
+        assertStatements(2, get("/api/v1/projects/{name}", projectName(7)));
+    }
+
+    @Test
+    void createsProject() throws Exception {
+        assertStatements(1, status().isCreated(), json(post("/api/v1/projects"), project(prefix() + " created")));
+    }
+
+    @Test
+    void importsProjects() throws Exception {
+        String body = IntStream.range(0, 50)
+                .mapToObj(i -> "{\"name\":\"" + prefix() + " imported " + i + "\",\"description\":\"Imported " + i + "\"}")
+                .collect(Collectors.joining("\n"));
+        MvcResult result = assertStatements(1, post("/api/v1/projects/import").contentType(MediaType.APPLICATION_NDJSON).content(body));
+        jsonPath("$.data.imported").value(50).match(result);
+    }
+
+    @Test
+    void importRejectsStartDatesBeforeToday() throws Exception {
+        // La misma regla que POST /projects, comprobada con @FutureOrPresent en cada registro
+        String body = "{\"name\":\"" + prefix() + " past\",\"description\":\"Past\",\"start_date\":\"" + LocalDate.now().minusDays(1) + "\"}\n"
+                + "{\"name\":\"" + prefix() + " future\",\"description\":\"Future\",\"start_date\":\"" + LocalDate.now().plusDays(1) + "\"}";
+        MvcResult result = assertStatements(1, post("/api/v1/projects/import").contentType(MediaType.APPLICATION_NDJSON).content(body));
+        jsonPath("$.data.imported").value(1).match(result);
+        jsonPath("$.data.errors[0].index").value(0).match(result);
+        jsonPath("$.data.errors[0].message").value("start_date: The start date cannot be before today").match(result);
+    }
+
+    @Test
+    void deletesProject() throws Exception {
+        assertStatements(4, delete("/api/v1/projects/{id}", projectIds.get(PROJECTS - 1)));
+    }
+
+    @Test
+    void deletesProjectsInBulk() throws Exception {
+        assertStatements(4, json(delete("/api/v1/projects"), "{\"ids\":" + projectIds.subList(150, 170) + "}"));
+    }
+
+    @Test
+    void updatesProject() throws Exception {
+        assertStatements(2, json(put("/api/v1/projects/{id}", projectIds.get(10)), project(prefix() + " updated")));
+    }
+
+    @Test
+    void patchesProject() throws Exception {
+        assertStatements(1, patch("/api/v1/projects/{id}", projectIds.get(11))
+                .contentType("application/merge-patch+json")
+                .content("{\"description\":\"Patched\",\"demo_url\":\"https://demo.example.com\"}"));
+    }
+
+    @Test
+    void movesProjectToTesting() throws Exception {
+        assertStatements(1, patch("/api/v1/projects/totesting/{id}", projectIds.get(12)));
+    }
+
+    @Test
+    void movesProjectToProduction() throws Exception {
+        assertStatements(1, patch("/api/v1/projects/toprod/{id}", projectIds.get(13)));
+    }
+
+    @Test
+    void changesProjectsState() throws Exception {
+        assertStatements(2, json(patch("/api/v1/projects/state"), "{\"state\":\"Testing\",\"ids\":" + projectIds.subList(20, 40) + "}"));
+    }
+
+    @Test
+    void filtersProjectsByTechnologies() throws Exception {
+        assertStatements(2, get("/api/v1/projects/tec")
+                .param("any", technologyName(0), technologyName(1))
+                .param("none", technologyName(2))
+                .param("size", "20"));
+    }
+
+    @Test
+    void listsProjectsByTechnology() throws Exception {
+        assertStatements(2, get("/api/v1/projects/tec/{tech}", technologyName(3)));
+    }
+
+    private static String project(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"A project\",\"start_date\":\"" + LocalDate.now().plusDays(1)
+                + "\",\"repository_url\":\"https://github.com/portfolio/project\",\"demo_url\":\"https://demo.example.com\"}";
+    }
+}
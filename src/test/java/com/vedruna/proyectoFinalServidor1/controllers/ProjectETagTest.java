@@ -0,0 +1,124 @@
+package com.vedruna.proyectoFinalServidor1.controllers;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Conditional GETs of projects: an unchanged page or project answers 304 without SQL,
+ * and every kind of write gives the affected representations a new ETag.
+ */
+class ProjectETagTest extends QueryCountTestSupport {
+
+    @Override
+    int fixture() {
+        return 6;
+    }
+
+    // Los índices de 20 a 99 no son parte del nombre de ningún otro proyecto de la clase
+
+    @Test
+    void unchangedPageIsNotModified() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/projects").param("page", "1").param("size", "5"))
+                .andExpect(status().isOk()).andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertStatements(0, status().isNotModified(), get("/api/v1/projects").param("page", "1").param("size", "5")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        // Otra página tiene otra versión
+        mockMvc.perform(get("/api/v1/projects").param("page", "2").param("size", "5").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unchangedProjectIsNotModified() throws Exception {
+        String etag = etag(20);
+        assertStatements(0, status().isNotModified(), get("/api/v1/projects/{name}", projectName(20)).header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertStatements(0, status().isNotModified(), get("/api/v1/projects/{name}", projectName(20)).header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag));
+    }
+
+    @Test
+    void putChangesETag() throws Exception {
+        String etag = etag(21);
+        String page = pageETag();
+        mockMvc.perform(json(put("/api/v1/projects/{id}", projectIds.get(21)), project(projectName(21)))).andExpect(status().isOk());
+        assertModified(21, etag);
+        mockMvc.perform(get("/api/v1/projects").param("page", "0").param("size", "5").header(HttpHeaders.IF_NONE_MATCH, page))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void patchChangesETag() throws Exception {
+        String etag = etag(22);
+        String patched = mockMvc.perform(patch("/api/v1/projects/{id}", projectIds.get(22)).contentType("application/merge-patch+json")
+                .content("{\"description\":\"Patched\"}"))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(patched, assertModified(22, etag));
+    }
+
+    @Test
+    void technologyLinkChangesETag() throws Exception {
+        // La tecnología 1 no la usa el proyecto 23: (23 + 1) % 7 != 0
+        String etag = etag(23);
+        mockMvc.perform(json(post("/api/v1/technologies/used/{projectId}", projectIds.get(23)), List.of(technologyIds.get(1)).toString()))
+                .andExpect(status().isOk());
+        assertModified(23, etag);
+    }
+
+    @Test
+    void developerLinkChangesETag() throws Exception {
+        // El desarrollador 1 no trabaja en el proyecto 24: (24 + 1) % 15 != 0
+        String etag = etag(24);
+        mockMvc.perform(json(post("/api/v1/developers/worked/{projectId}", projectIds.get(24)), List.of(developerIds.get(1)).toString()))
+                .andExpect(status().isOk());
+        assertModified(24, etag);
+    }
+
+    @Test
+    void stateChangeChangesETag() throws Exception {
+        String etag = etag(25);
+        mockMvc.perform(patch("/api/v1/projects/totesting/{id}", projectIds.get(25))).andExpect(status().isOk());
+        etag = assertModified(25, etag);
+        mockMvc.perform(json(patch("/api/v1/projects/state"), "{\"state\":\"Production\",\"ids\":" + List.of(projectIds.get(25)) + "}"))
+                .andExpect(status().isOk());
+        assertModified(25, etag);
+    }
+
+    private String etag(int project) throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/projects/{name}", projectName(project))).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private String pageETag() throws Exception {
+        return mockMvc.perform(get("/api/v1/projects").param("page", "0").param("size", "5")).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    // Comprueba que el ETag anterior ya no vale y devuelve el nuevo
+    private String assertModified(int project, String etag) throws Exception {
+        return mockMvc.perform(get("/api/v1/projects/{name}", projectName(project)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static String project(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"Updated\",\"start_date\":\"" + LocalDate.now().plusDays(1)
+                + "\",\"repository_url\":\"https://github.com/portfolio/updated\"}";
+    }
+}
@@ -0,0 +1,102 @@
+package com.vedruna.proyectoFinalServidor1.controllers;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * JSON Merge Patch (RFC 7396) semantics of {@code PATCH /projects/{id}} and its If-Match
+ * precondition.
+ */
+class ProjectMergePatchTest extends QueryCountTestSupport {
+
+    @Override
+    int fixture() {
+        return 7;
+    }
+
+    // Los índices de 20 a 99 no son parte del nombre de ningún otro proyecto de la clase
+
+    @Test
+    void absentFieldsAreKeptAndNullClearsThem() throws Exception {
+        patchProject(30, "{\"demo_url\":\"https://demo.example.com\",\"picture\":\"picture.png\"}").andExpect(status().isOk());
+        patchProject(30, "{\"demo_url\":null}").andExpect(status().isOk());
+        show(30)
+                .andExpect(jsonPath("$.data.demo_url").value(nullValue()))
+                .andExpect(jsonPath("$.data.picture").value("picture.png"))
+                .andExpect(jsonPath("$.data.description").value("Description 30"))
+                .andExpect(jsonPath("$.data.repository_url").value("https://github.com/portfolio/" + prefix().toLowerCase() + "-30"));
+    }
+
+    @Test
+    void associationsReplaceTheWholeSet() throws Exception {
+        patchProject(31, "{\"technologies\":[" + technologyIds.get(2) + "," + technologyIds.get(3) + "],\"developers\":[{\"id\":" + developerIds.get(4) + "}]}")
+                .andExpect(status().isOk());
+        show(31)
+                .andExpect(jsonPath("$.data.technologies[*].id").value(containsInAnyOrder(technologyIds.get(2), technologyIds.get(3))))
+                .andExpect(jsonPath("$.data.developers[*].id").value(containsInAnyOrder(developerIds.get(4))));
+
+        // Un documento sin las asociaciones no las toca; un array vacío las elimina
+        patchProject(31, "{\"description\":\"Only the description\"}").andExpect(status().isOk());
+        show(31).andExpect(jsonPath("$.data.technologies[*].id").value(containsInAnyOrder(technologyIds.get(2), technologyIds.get(3))));
+        patchProject(31, "{\"technologies\":[]}").andExpect(status().isOk());
+        show(31)
+                .andExpect(jsonPath("$.data.technologies").value(empty()))
+                .andExpect(jsonPath("$.data.developers[*].id").value(containsInAnyOrder(developerIds.get(4))));
+    }
+
+    @Test
+    void invalidDocumentsAreRejectedWithoutChanges() throws Exception {
+        patchProject(32, "{\"description\":\"Changed\",\"owner\":\"someone\"}").andExpect(status().isBadRequest());
+        patchProject(32, "{\"name\":5}").andExpect(status().isBadRequest());
+        patchProject(32, "{\"repository_url\":\"not a url\"}").andExpect(status().isBadRequest());
+        patchProject(32, "{\"technologies\":[-1]}").andExpect(status().isBadRequest());
+        patchProject(32, "[]").andExpect(status().isBadRequest());
+        show(32).andExpect(jsonPath("$.data.description").value("Description 32"));
+        mockMvc.perform(patch("/api/v1/projects/{id}", -1).contentType("application/merge-patch+json").content("{\"description\":\"Missing\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void staleIfMatchIsRejected() throws Exception {
+        String etag = show(33).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String patched = patchProject(33, "{\"description\":\"First\"}", etag).andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        patchProject(33, "{\"description\":\"Second\"}", etag).andExpect(status().isPreconditionFailed());
+        show(33).andExpect(jsonPath("$.data.description").value("First"));
+
+        patchProject(33, "{\"description\":\"Third\"}", "\"stale\", " + patched).andExpect(status().isOk());
+        patchProject(33, "{\"description\":\"Fourth\"}", "*").andExpect(status().isOk());
+        show(33).andExpect(jsonPath("$.data.description").value("Fourth"));
+
+        // El ETag de otro formato identifica la misma versión
+        String cbor = mockMvc.perform(get("/api/v1/projects/{name}", projectName(33)).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        patchProject(33, "{\"description\":\"Fifth\"}", cbor).andExpect(status().isOk());
+        patchProject(33, "{\"description\":\"Sixth\"}", cbor).andExpect(status().isPreconditionFailed());
+    }
+
+    private ResultActions patchProject(int project, String document) throws Exception {
+        return mockMvc.perform(patch("/api/v1/projects/{id}", projectIds.get(project)).contentType("application/merge-patch+json").content(document));
+    }
+
+    private ResultActions patchProject(int project, String document, String ifMatch) throws Exception {
+        return mockMvc.perform(patch("/api/v1/projects/{id}", projectIds.get(project)).contentType("application/merge-patch+json")
+                .header(HttpHeaders.IF_MATCH, ifMatch).content(document));
+    }
+
+    private ResultActions show(int project) throws Exception {
+        return mockMvc.perform(get("/api/v1/projects/{name}", projectName(project))).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,221 @@
+package com.vedruna.proyectoFinalServidor1.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vedruna.proyectoFinalServidor1.ProyectoFinalServidor1Application;
+import com.vedruna.proyectoFinalServidor1.index.DeveloperCollaborationGraph;
+import com.vedruna.proyectoFinalServidor1.index.ProjectCountCache;
+import com.vedruna.proyectoFinalServidor1.index.ProjectNameIndex;
+import com.vedruna.proyectoFinalServidor1.index.ProjectStatistics;
+import com.vedruna.proyectoFinalServidor1.index.StateRegistry;
+import com.vedruna.proyectoFinalServidor1.index.TechnologyBitmapIndex;
+import com.vedruna.proyectoFinalServidor1.index.TechnologyCooccurrence;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Developer;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Project;
+import com.vedruna.proyectoFinalServidor1.persistance.model.State;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Technology;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.DeveloperRepositoryI;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.ProjectRepositoryI;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.StateRepositoryI;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.TechnologyRepositoryI;
+
+/**
+ * Base class of the query-count regression tests.
+ * Each test class seeds its own portfolio (projects named after the class prefix, with
+ * technologies and developers linked to every project) in a database separate from the
+ * other tests, and every request is checked against a fixed statement budget that does
+ * not depend on the fixture size, so an N+1, a full-table scan into memory or a
+ * per-element lookup loop makes the test fail.
+ */
+@SpringBootTest(classes = {ProyectoFinalServidor1Application.class, StatementCounter.class}, properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+        "spring.r2dbc.url=r2dbc:h2:mem:///querycount;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+        "stream.batch-size=" + QueryCountTestSupport.BATCH_SIZE,
+        "projects.export.batch-size=" + QueryCountTestSupport.BATCH_SIZE})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class QueryCountTestSupport {
+
+    static final int PROJECTS = 200;
+    static final int TECHNOLOGIES = 20;
+    static final int DEVELOPERS = 30;
+    static final int TECHNOLOGIES_PER_PROJECT = 3;
+    static final int DEVELOPERS_PER_PROJECT = 2;
+    static final int BATCH_SIZE = 50;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ProjectRepositoryI projectRepository;
+
+    @Autowired
+    TechnologyRepositoryI technologyRepository;
+
+    @Autowired
+    DeveloperRepositoryI developerRepository;
+
+    @Autowired
+    StateRepositoryI stateRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    StateRegistry stateRegistry;
+
+    @Autowired
+    ProjectNameIndex projectNameIndex;
+
+    @Autowired
+    TechnologyBitmapIndex technologyBitmapIndex;
+
+    @Autowired
+    ProjectCountCache projectCountCache;
+
+    @Autowired
+    ProjectStatistics projectStatistics;
+
+    @Autowired
+    TechnologyCooccurrence technologyCooccurrence;
+
+    @Autowired
+    DeveloperCollaborationGraph collaborationGraph;
+
+    // Datos de esta clase de prueba
+    final List<Integer> projectIds = new ArrayList<>();
+    final List<Integer> technologyIds = new ArrayList<>();
+    final List<Integer> developerIds = new ArrayList<>();
+
+    /**
+     * Number of this class's fixture; it keeps the technology IDs, which are assigned
+     * by hand, apart from those of the other classes.
+     */
+    abstract int fixture();
+
+    String prefix() {
+        return getClass().getSimpleName().replace("QueryCountTest", "");
+    }
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> seedPortfolio());
+        // Los datos se insertan con los repositorios, sin los eventos que mantienen los índices
+        stateRegistry.refresh();
+        projectNameIndex.rebuild();
+        technologyBitmapIndex.rebuild();
+        projectCountCache.refresh();
+        projectStatistics.rebuild();
+        technologyCooccurrence.rebuild();
+        collaborationGraph.rebuild();
+    }
+
+    private void seedPortfolio() {
+        if (stateRepository.count() == 0) {
+            for (String name : List.of("Development", "Testing", "Production")) {
+                State state = new State();
+                state.setName(name);
+                stateRepository.save(state);
+            }
+        }
+        State development = stateRepository.findAll().get(0);
+
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < PROJECTS; i++) {
+            Project project = new Project();
+            project.setName(projectName(i));
+            project.setDescription("Description " + i);
+            project.setStart_date(Date.valueOf(LocalDate.now().plusDays(1)));
+            project.setRepository_url("https://github.com/portfolio/" + prefix().toLowerCase() + "-" + i);
+            project.setStateProject(development);
+            projects.add(projectRepository.save(project));
+            projectIds.add(project.getId());
+        }
+
+        for (int t = 0; t < TECHNOLOGIES; t++) {
+            Technology technology = new Technology();
+            technology.setId(fixture() * 1000 + t);
+            technology.setName(technologyName(t));
+            for (int i = 0; i < PROJECTS; i++) {
+                if ((i + t) % (TECHNOLOGIES / TECHNOLOGIES_PER_PROJECT + 1) == 0) {
+                    technology.getProjectsTechnologies().add(projects.get(i));
+                }
+            }
+            technologyRepository.save(technology);
+            technologyIds.add(technology.getId());
+        }
+
+        for (int d = 0; d < DEVELOPERS; d++) {
+            Developer developer = new Developer();
+            developer.setName(prefix() + "Dev" + d);
+            developer.setSurname("Surname" + d);
+            developer.setEmail(prefix().toLowerCase() + "dev" + d + "@example.com");
+            for (int i = 0; i < PROJECTS; i++) {
+                if ((i + d) % (DEVELOPERS / DEVELOPERS_PER_PROJECT) == 0) {
+                    developer.getProjectsDevelopers().add(projects.get(i));
+                }
+            }
+            developerIds.add(developerRepository.save(developer).getId());
+        }
+    }
+
+    // Lotes que necesita una lectura por keyset: el último, incompleto o vacío, cierra el recorrido
+    static int batches(long rows) {
+        return (int) (rows / BATCH_SIZE) + 1;
+    }
+
+    String projectName(int index) {
+        return prefix() + " project " + index;
+    }
+
+    String technologyName(int index) {
+        return prefix() + "Tech" + index;
+    }
+
+    /**
+     * Performs the request, waiting for asynchronous responses, and checks its status and
+     * the number of SQL statements it sent.
+     *
+     * @param maxStatements the statement budget of the request
+     * @param expectedStatus the expected response status
+     * @param request the request to perform
+     * @return the result of the request
+     */
+    MvcResult assertStatements(int maxStatements, ResultMatcher expectedStatus, MockHttpServletRequestBuilder request) throws Exception {
+        StatementCounter.reset();
+        MvcResult started = mockMvc.perform(request).andReturn();
+        MvcResult result = started.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(started)).andReturn() : started;
+        long statements = StatementCounter.count();
+        expectedStatus.match(result);
+        assertTrue(statements <= maxStatements, () -> started.getRequest().getMethod() + " " + started.getRequest().getRequestURI()
+                + " sent " + statements + " SQL statements, budget is " + maxStatements);
+        return result;
+    }
+
+    MvcResult assertStatements(int maxStatements, MockHttpServletRequestBuilder request) throws Exception {
+        return assertStatements(maxStatements, status().is2xxSuccessful(), request);
+    }
+
+    static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+}
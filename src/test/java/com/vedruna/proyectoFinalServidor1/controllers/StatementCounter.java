@@ -0,0 +1,97 @@
+package com.vedruna.proyectoFinalServidor1.controllers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.ConnectionFactory;
+
+/**
+ * Counts every SQL statement sent to the database, wherever it comes from: JPA,
+ * {@code JdbcTemplate} or R2DBC.
+ * The JDBC data source and the R2DBC connection factory are wrapped in proxies, so
+ * asynchronous work (the NDJSON export, the reactive streams) is counted as well.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class StatementCounter {
+
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    private static final AtomicLong STATEMENTS = new AtomicLong();
+
+    static void reset() {
+        STATEMENTS.set(0);
+    }
+
+    static long count() {
+        return STATEMENTS.get();
+    }
+
+    @Bean
+    static BeanPostProcessor statementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+                    return new CountingDataSource(dataSource);
+                }
+                if (bean instanceof ConnectionFactory connectionFactory) {
+                    return ProxyConnectionFactory.builder(connectionFactory)
+                            .listener(new ProxyExecutionListener() {
+                                @Override
+                                public void afterQuery(QueryExecutionInfo execution) {
+                                    STATEMENTS.addAndGet(execution.getQueries().size());
+                                }
+                            })
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Cada sentencia preparada o creada cuenta una vez, aunque se ejecute por lotes
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        private static Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(StatementCounter.class.getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        if (STATEMENT_METHODS.contains(method.getName())) {
+                            STATEMENTS.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.vedruna.proyectoFinalServidor1.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.vedruna.proyectoFinalServidor1.index.ProjectStatistics;
+
+/**
+ * Checks that the statistics are served without SQL and that the counters follow the
+ * writes of the other endpoints, as verified by the reconciliation against the database.
+ */
+class StatsControllerQueryCountTest extends QueryCountTestSupport {
+
+    @Override
+    int fixture() {
+        return 5;
+    }
+
+    @Test
+    void servesStatisticsFromMemory() throws Exception {
+        MvcResult result = assertStatements(0, get("/api/v1/stats/technologies"));
+        jsonPath("$.data[?(@.id == " + technologyIds.get(0) + ")].projects").value(projectStatistics.projectsWithTechnology(technologyIds.get(0)))
+                .match(result);
+        assertStatements(0, get("/api/v1/stats/technologies/{id}", technologyIds.get(0)));
+        assertStatements(0, get("/api/v1/stats/states"));
+        assertStatements(0, get("/api/v1/stats/states/{id}", stateRegistry.all().get(0).id()));
+        assertStatements(0, get("/api/v1/stats/developers"));
+        assertStatements(0, get("/api/v1/stats/developers/{id}", developerIds.get(0)));
+        assertStatements(0, get("/api/v1/stats/months").param("from", "2000-01").param("to", "2100-12"));
+        assertStatements(0, get("/api/v1/stats/months/{month}", YearMonth.now().toString()));
+        assertStatements(0, get("/api/v1/stats/projects"));
+        assertStatements(0, status().isBadRequest(), get("/api/v1/stats/months/{month}", "2024-13"));
+    }
+
+    @Test
+    void countsFollowWrites() throws Exception {
+        int technology = technologyIds.get(TECHNOLOGIES - 1);
+        int developer = developerIds.get(DEVELOPERS - 1);
+        int testing = stateRegistry.byName("Testing").orElseThrow().id();
+        YearMonth month = YearMonth.from(LocalDate.now().plusYears(50));
+        int projects = projectStatistics.projects();
+        int withTechnology = projectStatistics.projectsWithTechnology(technology);
+        int ofDeveloper = projectStatistics.projectsOfDeveloper(developer);
+        int inTesting = projectStatistics.projectsInState(testing);
+        int inMonth = projectStatistics.projectsStartedIn(month);
+
+        // Proyecto nuevo, asociado a una tecnología y a un desarrollador y movido a Testing
+        mockMvc.perform(json(post("/api/v1/projects"), "{\"name\":\"" + prefix() + " created\",\"description\":\"A project\","
+                + "\"start_date\":\"" + month.atDay(1) + "\",\"repository_url\":\"https://github.com/portfolio/stats\"}"))
+                .andExpect(status().isCreated());
+        int created = projectRepository.findByName(prefix() + " created").orElseThrow().getId();
+        mockMvc.perform(post("/api/v1/technologies/used/{projectId}/{technologyId}", created, technology)).andExpect(status().is2xxSuccessful());
+        mockMvc.perform(post("/api/v1/developers/worked/{developerId}/{projectId}", developer, created)).andExpect(status().is2xxSuccessful());
+        mockMvc.perform(patch("/api/v1/projects/totesting/{id}", created)).andExpect(status().is2xxSuccessful());
+        assertEquals(List.of(projects + 1, withTechnology + 1, ofDeveloper + 1, inTesting + 1, inMonth + 1),
+                List.of(projectStatistics.projects(), projectStatistics.projectsWithTechnology(technology),
+                        projectStatistics.projectsOfDeveloper(developer), projectStatistics.projectsInState(testing),
+                        projectStatistics.projectsStartedIn(month)));
+
+        // Cambio de fecha con un merge patch y borrado
+        mockMvc.perform(patch("/api/v1/projects/{id}", created).contentType("application/merge-patch+json")
+                .content("{\"start_date\":\"" + month.plusMonths(1).atDay(1) + "\"}")).andExpect(status().is2xxSuccessful());
+        assertEquals(inMonth, projectStatistics.projectsStartedIn(month));
+        assertEquals(1, projectStatistics.projectsStartedIn(month.plusMonths(1)));
+        mockMvc.perform(delete("/api/v1/projects/{id}", created)).andExpect(status().is2xxSuccessful());
+        assertEquals(List.of(projects, withTechnology, ofDeveloper, inTesting, 0),
+                List.of(projectStatistics.projects(), projectStatistics.projectsWithTechnology(technology),
+                        projectStatistics.projectsOfDeveloper(developer), projectStatistics.projectsInState(testing),
+                        projectStatistics.projectsStartedIn(month.plusMonths(1))));
+
+        assertEquals(new ProjectStatistics.Drift(0, 0, 0, 0), projectStatistics.reconcile());
+    }
+
+    @Test
+    void reconciliationRepairsDrift() throws Exception {
+        int technology = technologyIds.get(TECHNOLOGIES - 2);
+        int project = projectIds.get(0);
+        int before = projectStatistics.projectsWithTechnology(technology);
+
+        // Una fila escrita sin pasar por los servicios no publica ningún evento
+        int linked = transactionTemplate.execute(status -> technologyRepository.linkToProject(project, List.of(technology)));
+        assertEquals(1, linked);
+        assertEquals(before, projectStatistics.projectsWithTechnology(technology));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/stats/reconcile")).andExpect(status().isOk()).andReturn();
+        jsonPath("$.data.technologies").value(1).match(result);
+        assertEquals(before + 1, projectStatistics.projectsWithTechnology(technology));
+        assertEquals(new ProjectStatistics.Drift(0, 0, 0, 0), projectStatistics.reconcile());
+    }
+}
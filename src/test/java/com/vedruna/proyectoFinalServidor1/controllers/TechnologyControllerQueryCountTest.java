@@ -0,0 +1,122 @@
+package com.vedruna.proyectoFinalServidor1.controllers;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.vedruna.proyectoFinalServidor1.index.TechnologyCooccurrence;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.TechnologyLinkView;
+
+class TechnologyControllerQueryCountTest extends QueryCountTestSupport {
+
+    @Override
+    int fixture() {
+        return 2;
+    }
+
+    @Test
+    void createsTechnologyUsedInProjects() throws Exception {
+        assertStatements(5, status().isCreated(), json(post("/api/v1/technologies"),
+                "{\"id\":2900,\"name\":\"" + prefix() + "Created\",\"projectsTechnologies\":" + projectRefs(0, 20) + "}"));
+    }
+
+    @Test
+    void streamsTechnologies() throws Exception {
+        assertStatements(batches(technologyRepository.count()), get("/api/v1/technologies/stream").accept(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Test
+    void importsTechnologies() throws Exception {
+        String body = IntStream.range(0, 20)
+                .mapToObj(i -> "{\"id\":" + (2500 + i) + ",\"name\":\"" + prefix() + "Imported" + i + "\",\"projectsTechnologies\":"
+                        + projectRefs(i * 5, i * 5 + 10) + "}")
+                .collect(Collectors.joining(",", "[", "]"));
+        MvcResult result = assertStatements(4, json(post("/api/v1/technologies/import"), body));
+        jsonPath("$.data.imported").value(20).match(result);
+    }
+
+    @Test
+    void deletesTechnology() throws Exception {
+        assertStatements(3, delete("/api/v1/technologies/{id}", technologyIds.get(TECHNOLOGIES - 1)));
+    }
+
+    @Test
+    void deletesTechnologiesInBulk() throws Exception {
+        assertStatements(3, json(delete("/api/v1/technologies"), "{\"ids\":" + technologyIds.subList(10, 15) + "}"));
+    }
+
+    @Test
+    void associatesTechnologyWithProject() throws Exception {
+        assertStatements(4, post("/api/v1/technologies/used/{projectId}/{technologyId}", projectIds.get(1), technologyIds.get(0)));
+    }
+
+    @Test
+    void associatesTechnologiesWithProject() throws Exception {
+        assertStatements(4, json(post("/api/v1/technologies/used/{projectId}", projectIds.get(2)), technologyIds.subList(0, 10).toString()));
+    }
+
+    @Test
+    void listsTechnologiesUsedWith() throws Exception {
+        // Las tecnologías 10 a 14 y 19 se borran en otras pruebas de esta clase
+        MvcResult result = assertStatements(0, get("/api/v1/technologies/{name}/used-with", technologyName(1)).param("limit", "3"));
+        List<Integer> expected = usedWith(technologyIds.get(1)).entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(3).map(Map.Entry::getKey).toList();
+        assertFalse(expected.isEmpty());
+        jsonPath("$.data[*].id").value(equalTo(expected)).match(result);
+        assertStatements(0, status().isNotFound(), get("/api/v1/technologies/{name}/used-with", prefix() + "Missing"));
+        assertStatements(0, status().isBadRequest(), get("/api/v1/technologies/{name}/used-with", technologyName(5)).param("limit", "0"));
+    }
+
+    @Test
+    void technologiesUsedWithFollowAssociations() throws Exception {
+        int technology = technologyIds.get(6);
+        mockMvc.perform(json(post("/api/v1/technologies/used/{projectId}", projectIds.get(160)), technologyIds.subList(5, 9).toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/projects/{id}", projectIds.get(150))).andExpect(status().isOk());
+        Map<Integer, Integer> actual = technologyCooccurrence.usedWith(technologyName(6), TECHNOLOGIES + 100).orElseThrow().stream()
+                .filter(related -> related.id() / 1000 == fixture())
+                .collect(Collectors.toMap(TechnologyCooccurrence.Related::id, TechnologyCooccurrence.Related::projects));
+        assertEquals(usedWith(technology), actual);
+    }
+
+    // Proyectos compartidos con cada tecnología de esta clase, calculados desde la tabla de unión
+    private Map<Integer, Integer> usedWith(int technology) {
+        return transactionTemplate.execute(status -> {
+            Map<Integer, Set<Integer>> technologiesOfProject = new HashMap<>();
+            try (Stream<TechnologyLinkView> links = technologyRepository.streamAllLinks()) {
+                links.forEach(link -> technologiesOfProject.computeIfAbsent(link.getProjectId(), id -> new HashSet<>()).add(link.getTechnologyId()));
+            }
+            Map<Integer, Integer> counts = new HashMap<>();
+            for (Set<Integer> technologies : technologiesOfProject.values()) {
+                if (technologies.contains(technology)) {
+                    technologies.stream().filter(other -> other != technology && other / 1000 == fixture())
+                            .forEach(other -> counts.merge(other, 1, Integer::sum));
+                }
+            }
+            return counts;
+        });
+    }
+
+    private String projectRefs(int from, int to) {
+        return projectIds.subList(from, to).stream().map(id -> "{\"id\":" + id + "}").collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.vedruna.proyectoFinalServidor1.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.vedruna.proyectoFinalServidor1.events.ProjectsDeletedEvent;
+
+/**
+ * Checks which projects the trigram index returns and in which order.
+ */
+class ProjectNameIndexTest {
+
+    private final ProjectNameIndex index = new ProjectNameIndex();
+
+    ProjectNameIndexTest() {
+        index.put(1, "Portfolio");
+        index.put(2, "Portfolio API");
+        index.put(3, "My portfolio");
+        index.put(4, "Myportfolio app");
+        index.put(5, "Web portfolio v2");
+        index.put(6, "Web portfolio");
+        index.put(7, "Blog");
+        index.put(8, "Shop");
+        index.put(9, "Shop");
+        index.put(10, "Gestión de Álbumes");
+    }
+
+    @Test
+    void ranksExactThenPrefixThenWordStartThenInside() {
+        // Empates: primero la posición, después la longitud del nombre y por último el ID
+        assertEquals(List.of(1, 2, 3, 6, 5, 4), index.search("portfolio"));
+        assertEquals(List.of(8, 9), index.search("Shop"));
+    }
+
+    @Test
+    void ignoresCaseAndAccents() {
+        assertEquals(List.of(1, 2, 3, 6, 5, 4), index.search("PORTFOLIO"));
+        assertEquals(List.of(10), index.search("gestion"));
+        assertEquals(List.of(10), index.search("ÁLBUM"));
+        assertEquals(List.of(10), index.search("de albumes"));
+    }
+
+    @Test
+    void answersShortQueriesByScanningNames() {
+        assertEquals(List.of(7), index.search("bl"));
+        assertEquals(List.of(10, 1, 2, 4, 3, 6, 5), index.search("io"));
+        assertEquals(List.of(), index.search(""));
+        assertEquals(List.of(), index.search(null));
+    }
+
+    @Test
+    void verifiesCandidatesSharingEveryTrigram() {
+        // "abcde" tiene todos sus trigramas en el nombre, pero no es una subcadena
+        index.put(11, "abcd bcde");
+        assertEquals(List.of(), index.search("abcde"));
+        assertEquals(List.of(11), index.search("abcd b"));
+        assertEquals(List.of(), index.search("missing"));
+    }
+
+    @Test
+    void followsRenamesAndDeletions() {
+        index.put(1, "Renamed");
+        index.onProjectsDeleted(new ProjectsDeletedEvent(List.of(2, 8)));
+        assertEquals(List.of(3, 6, 5, 4), index.search("portfolio"));
+        assertEquals(List.of(1), index.search("renamed"));
+        assertEquals(List.of(9), index.search("shop"));
+    }
+}
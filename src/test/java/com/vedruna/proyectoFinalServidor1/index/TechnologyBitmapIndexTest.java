@@ -0,0 +1,87 @@
+package com.vedruna.proyectoFinalServidor1.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.vedruna.proyectoFinalServidor1.events.ProjectSavedEvent;
+import com.vedruna.proyectoFinalServidor1.events.ProjectsDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologiesDeletedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLink;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksAddedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologyLinksRemovedEvent;
+import com.vedruna.proyectoFinalServidor1.events.TechnologySavedEvent;
+
+/**
+ * Checks which projects the all/any/none technology filters return.
+ */
+class TechnologyBitmapIndexTest {
+
+    private final TechnologyBitmapIndex index = new TechnologyBitmapIndex();
+
+    // Java: 1, 2, 3, 4; Spring: 3, 4, 5; React: 4, 6, 7; el proyecto 8 no usa ninguna
+    TechnologyBitmapIndexTest() {
+        for (int project = 1; project <= 8; project++) {
+            index.onProjectSaved(new ProjectSavedEvent(project, "Project " + project));
+        }
+        index.onTechnologySaved(new TechnologySavedEvent(1, "Java"));
+        index.onTechnologySaved(new TechnologySavedEvent(2, "Spring"));
+        index.onTechnologySaved(new TechnologySavedEvent(3, "React"));
+        index.onTechnologyLinksAdded(new TechnologyLinksAddedEvent(List.of(
+                new TechnologyLink(1, 1), new TechnologyLink(1, 2), new TechnologyLink(1, 3), new TechnologyLink(1, 4),
+                new TechnologyLink(2, 3), new TechnologyLink(2, 4), new TechnologyLink(2, 5),
+                new TechnologyLink(3, 4), new TechnologyLink(3, 6), new TechnologyLink(3, 7))));
+    }
+
+    @Test
+    void emptyFilterMatchesEveryProject() {
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8), filter(List.of(), List.of(), List.of()));
+    }
+
+    @Test
+    void combinesAllAnyAndNone() {
+        assertEquals(List.of(3, 4), filter(List.of("Java", "Spring"), List.of(), List.of()));
+        assertEquals(List.of(3, 4, 5, 6, 7), filter(List.of(), List.of("Spring", "React"), List.of()));
+        assertEquals(List.of(5, 6, 7, 8), filter(List.of(), List.of(), List.of("Java")));
+        assertEquals(List.of(1, 2), filter(List.of("Java"), List.of(), List.of("Spring")));
+        assertEquals(List.of(5, 6, 7), filter(List.of(), List.of("Spring", "React"), List.of("Java")));
+        assertEquals(List.of(3), filter(List.of("Java"), List.of("Spring", "React"), List.of("React")));
+        assertEquals(List.of(8), filter(List.of(), List.of(), List.of("Java", "Spring", "React")));
+    }
+
+    @Test
+    void handlesUnknownTechnologies() {
+        // En all no coincide con nada; en any y none se ignora
+        assertEquals(List.of(), filter(List.of("Java", "Cobol"), List.of(), List.of()));
+        assertEquals(List.of(), filter(List.of(), List.of("Cobol"), List.of()));
+        assertEquals(List.of(4, 6, 7), filter(List.of(), List.of("Cobol", "React"), List.of()));
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8), filter(List.of(), List.of(), List.of("Cobol")));
+    }
+
+    @Test
+    void ignoresCaseAndSurroundingSpaces() {
+        assertEquals(List.of(1, 2, 3, 4), filter(List.of(" JAVA "), List.of(), List.of()));
+        assertEquals(List.of(4, 6, 7), filter(List.of(), List.of("react"), List.of()));
+    }
+
+    @Test
+    void followsLinkRemovalsRenamesAndDeletions() {
+        index.onTechnologyLinksRemoved(new TechnologyLinksRemovedEvent(List.of(new TechnologyLink(1, 1))));
+        index.onProjectsDeleted(new ProjectsDeletedEvent(List.of(4)));
+        assertEquals(List.of(2, 3), filter(List.of("Java"), List.of(), List.of()));
+
+        index.onTechnologySaved(new TechnologySavedEvent(1, "Kotlin"));
+        assertEquals(List.of(), filter(List.of("Java"), List.of(), List.of()));
+        assertEquals(List.of(2, 3), filter(List.of("Kotlin"), List.of(), List.of()));
+
+        index.onTechnologiesDeleted(new TechnologiesDeletedEvent(List.of(2)));
+        assertEquals(List.of(), filter(List.of("Spring"), List.of(), List.of()));
+        assertEquals(List.of(1, 2, 3, 5, 6, 7, 8), filter(List.of(), List.of(), List.of("Spring")));
+    }
+
+    private List<Integer> filter(List<String> all, List<String> any, List<String> none) {
+        return index.filter(all, any, none).stream().boxed().toList();
+    }
+}
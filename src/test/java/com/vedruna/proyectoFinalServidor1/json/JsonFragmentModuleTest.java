@@ -0,0 +1,118 @@
+package com.vedruna.proyectoFinalServidor1.json;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.vedruna.proyectoFinalServidor1.dto.DeveloperDTO;
+import com.vedruna.proyectoFinalServidor1.dto.ProjectDTO;
+import com.vedruna.proyectoFinalServidor1.dto.TechnologyDTO;
+import com.vedruna.proyectoFinalServidor1.events.TechnologiesDeletedEvent;
+
+/**
+ * Checks that the fragment module and Blackbird write exactly the bytes of the regular
+ * serializers, whatever the cache holds.
+ */
+class JsonFragmentModuleTest {
+
+    private final ObjectMapper regular = Jackson2ObjectMapperBuilder.json().build();
+    private final JsonFragmentModule module = new JsonFragmentModule();
+    private final ObjectMapper fast = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule(), module).build();
+
+    private final Random random = new Random(42);
+    private final List<TechnologyDTO> technologies = new ArrayList<>();
+    private final List<DeveloperDTO> developers = new ArrayList<>();
+
+    JsonFragmentModuleTest() {
+        // Nombres con comillas, barras, caracteres de control y no ASCII para forzar los escapes
+        String[] names = {"Java", "C#", "Node \"js\"", "a\\b", "tab\there", "línea\nnueva", "日本語", "emoji 😀", "", "</script>"};
+        for (int i = 0; i < 40; i++) {
+            technologies.add(new TechnologyDTO(i + 1, names[i % names.length] + i));
+        }
+        for (int i = 0; i < 30; i++) {
+            developers.add(new DeveloperDTO(i + 1, names[(i + 3) % names.length], "Pérez " + i, "dev" + i + "@example.com",
+                    i % 3 == 0 ? null : "https://www.linkedin.com/in/dev" + i, i % 4 == 0 ? null : "https://github.com/dev" + i));
+        }
+    }
+
+    private Page<ProjectDTO> page(int size) {
+        List<ProjectDTO> content = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            LocalDate start = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(500));
+            content.add(new ProjectDTO(i + 1, "Project " + i, "Descripción \"" + i + "\"", Date.valueOf(start),
+                    i % 5 == 0 ? null : Date.valueOf(start.plusDays(90)), "https://github.com/portfolio/p" + i,
+                    i % 2 == 0 ? null : "https://p" + i + ".example.com", null, i % 7 == 0 ? null : "Development",
+                    sample(technologies, random.nextInt(6)), i % 9 == 0 ? null : sample(developers, random.nextInt(4))));
+        }
+        return new PageImpl<>(content, PageRequest.of(1, size), 1000);
+    }
+
+    private <T> List<T> sample(List<T> values, int count) {
+        List<T> sample = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            sample.add(values.get(random.nextInt(values.size())));
+        }
+        return sample;
+    }
+
+    private void assertSameOutput(Object value) throws Exception {
+        byte[] expected = regular.writeValueAsBytes(value);
+        assertArrayEquals(expected, fast.writeValueAsBytes(value));
+        assertEquals(regular.writeValueAsString(value), fast.writeValueAsString(value));
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        fast.writeValue(stream, value);
+        assertArrayEquals(expected, stream.toByteArray());
+    }
+
+    @Test
+    void pagesAreIdenticalWithColdAndWarmFragments() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            assertSameOutput(page(round % 2 == 0 ? 10 : 100));
+        }
+        assertEquals(technologies.size() + developers.size(), module.fragments());
+    }
+
+    @Test
+    void changedEntitiesAreRenderedAgain() throws Exception {
+        Page<ProjectDTO> page = page(50);
+        assertSameOutput(page);
+        technologies.get(0).setName("Renamed");
+        developers.get(0).setEmail("changed@example.com");
+        developers.get(1).setGithub_url(null);
+        assertSameOutput(page);
+        assertSameOutput(new TechnologyDTO(1, "Another instance"));
+    }
+
+    @Test
+    void otherWriterSettingsBypassTheFragments() throws Exception {
+        Page<ProjectDTO> page = page(30);
+        assertSameOutput(page);
+        assertEquals(regular.writerWithDefaultPrettyPrinter().writeValueAsString(page),
+                fast.writerWithDefaultPrettyPrinter().writeValueAsString(page));
+        assertArrayEquals(regular.writer().with(JsonWriteFeature.ESCAPE_NON_ASCII).writeValueAsBytes(page),
+                fast.writer().with(JsonWriteFeature.ESCAPE_NON_ASCII).writeValueAsBytes(page));
+    }
+
+    @Test
+    void deletedTechnologiesAreEvicted() throws Exception {
+        assertSameOutput(technologies);
+        module.onTechnologiesDeleted(new TechnologiesDeletedEvent(List.of(1, 2, 3)));
+        assertEquals(technologies.size() - 3, module.fragments());
+        assertSameOutput(technologies);
+    }
+}
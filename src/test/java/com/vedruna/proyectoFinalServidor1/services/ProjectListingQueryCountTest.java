@@ -0,0 +1,137 @@
+package com.vedruna.proyectoFinalServidor1.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vedruna.proyectoFinalServidor1.dto.ProjectDTO;
+import com.vedruna.proyectoFinalServidor1.index.StateRegistry;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Developer;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Project;
+import com.vedruna.proyectoFinalServidor1.persistance.model.State;
+import com.vedruna.proyectoFinalServidor1.persistance.model.Technology;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.DeveloperRepositoryI;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.ProjectRepositoryI;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.StateRepositoryI;
+import com.vedruna.proyectoFinalServidor1.persistance.repository.TechnologyRepositoryI;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProjectListingQueryCountTest {
+
+    private static final int PROJECTS = 60;
+
+    @Autowired
+    ProjectServiceI projectService;
+
+    @Autowired
+    ProjectRepositoryI projectRepository;
+
+    @Autowired
+    StateRepositoryI stateRepository;
+
+    @Autowired
+    TechnologyRepositoryI technologyRepository;
+
+    @Autowired
+    DeveloperRepositoryI developerRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    StateRegistry stateRegistry;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> seedPortfolio());
+        stateRegistry.refresh();  // Los estados se insertan después del arranque
+    }
+
+    private void seedPortfolio() {
+        State state = new State();
+        state.setName("Development");
+        state = stateRepository.save(state);
+
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < PROJECTS; i++) {
+            Project project = new Project();
+            project.setName("Project " + i);
+            project.setDescription("Description " + i);
+            project.setStart_date(Date.valueOf(LocalDate.now().plusDays(1)));
+            project.setStateProject(state);
+            projects.add(projectRepository.save(project));
+        }
+
+        for (int t = 0; t < 4; t++) {
+            Technology technology = new Technology();
+            technology.setId(1000 + t);
+            technology.setName("Tech " + t);
+            for (int i = t; i < PROJECTS; i += 2) {
+                technology.getProjectsTechnologies().add(projects.get(i));
+            }
+            technologyRepository.save(technology);
+        }
+
+        for (int d = 0; d < 5; d++) {
+            Developer developer = new Developer();
+            developer.setName("Dev" + d);
+            developer.setSurname("Surname" + d);
+            for (int i = d; i < PROJECTS; i += 3) {
+                developer.getProjectsDevelopers().add(projects.get(i));
+            }
+            developerRepository.save(developer);
+        }
+    }
+
+    @Test
+    void pageQueryCountDoesNotDependOnPageSize() {
+        long small = statementsFor(2);
+        long medium = statementsFor(10);
+        long large = statementsFor(40);
+
+        assertTrue(small <= 4, "expected at most 4 statements, got " + small);
+        assertEquals(small, medium);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void pageContainsFullyLoadedProjects() {
+        Page<ProjectDTO> page = projectService.showAllProjects(0, 10);
+
+        assertEquals(10, page.getContent().size());
+        assertEquals(PROJECTS, page.getTotalElements());
+        for (ProjectDTO project : page.getContent()) {
+            assertEquals("Development", project.getStateProjectName());
+            assertFalse(project.getTechnologies().isEmpty());
+            assertFalse(project.getDevelopers().isEmpty());
+        }
+    }
+
+    private long statementsFor(int size) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        projectService.showAllProjects(0, size);
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,132 @@
+package com.vedruna.proyectoFinalServidor1.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class UrlValidatorTest {
+
+    // Expresión regular que usaba UrlValidator, como referencia para el fuzzing
+    private static final Pattern OLD_REGEX = Pattern.compile(
+            "^(http|https)://[a-zA-Z0-9-_.]+(?:\\.[a-zA-Z]{2,})+(?:/[\\w-._~:/?#\\[\\]@!$&'()*+,;=.]+)*$");
+
+    // Caracteres con los que se generan las entradas: válidos, separadores y algunos prohibidos
+    private static final String ALPHABET = "abcXYZ019.-_/:?#[]@!$&'()*+,;=~% \"\\{}\u00e9\n\t";
+
+    private final UrlValidator validator = new UrlValidator();
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("corpus")
+    void conformsToCorpus(boolean valid, String url) {
+        assertEquals(valid, validator.isValid(url, null));
+        assertEquals(valid, OLD_REGEX.matcher(url).matches(), "corpus disagrees with the old regex");
+    }
+
+    @Test
+    void acceptsMissingValues() {
+        assertTrue(validator.isValid(null, null));
+        assertTrue(validator.isValid("", null));
+    }
+
+    @Test
+    void matchesOldRegexOnRandomInputs() {
+        Random random = new Random(42);
+        List<String> seeds = new ArrayList<>();
+        corpus().forEach(arguments -> seeds.add((String) arguments.get()[1]));
+        for (int i = 0; i < 200_000; i++) {
+            String input = i % 2 == 0
+                    ? mutate(seeds.get(random.nextInt(seeds.size())), random)
+                    : (random.nextBoolean() ? "https://" : "http://") + randomString(random, random.nextInt(24));
+            assertEquals(OLD_REGEX.matcher(input).matches(), UrlValidator.isUrl(input), () -> "input: " + input);
+        }
+    }
+
+    @Test
+    void runsInLinearTimeOnHostileInputs() {
+        String host = "a".repeat(1_000_000);
+        String path = "/a".repeat(500_000);
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            assertFalse(validator.isValid("https://" + host + "!", null));
+            assertFalse(validator.isValid("https://" + host.replace('a', '.') + "a", null));
+            assertFalse(validator.isValid("https://example.com" + path + " ", null));
+            assertTrue(validator.isValid("https://example.com" + path, null));
+        });
+    }
+
+    // Inserta, borra o sustituye algunos caracteres de una URL del corpus
+    private static String mutate(String url, Random random) {
+        StringBuilder result = new StringBuilder(url);
+        for (int edits = 1 + random.nextInt(3); edits > 0; edits--) {
+            int position = random.nextInt(result.length() + 1);
+            switch (random.nextInt(3)) {
+                case 0 -> result.insert(position, ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                case 1 -> {
+                    if (position < result.length()) {
+                        result.deleteCharAt(position);
+                    }
+                }
+                default -> {
+                    if (position < result.length()) {
+                        result.setCharAt(position, ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                    }
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            result.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return result.toString();
+    }
+
+    static Stream<Arguments> corpus() {
+        List<Arguments> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                UrlValidatorTest.class.getResourceAsStream("/validation/url-corpus.txt"), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                entries.add(Arguments.of(line.charAt(0) == '+', unescape(line.substring(2))));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return entries.stream();
+    }
+
+    // Traduce las secuencias de escape Unicode del corpus
+    private static String unescape(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            if (value.startsWith("\\u", i) && i + 6 <= value.length()) {
+                result.append((char) Integer.parseInt(value.substring(i + 2, i + 6), 16));
+                i += 5;
+            } else {
+                result.append(value.charAt(i));
+            }
+        }
+        return result.toString();
+    }
+}